@@ -1,9 +1,7 @@
 package com.aldegwin.budgetplanner;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
 
 @SpringBootApplication
 public class BudgetPlannerApplication {
@@ -11,9 +9,4 @@ public class BudgetPlannerApplication {
     public static void main(String[] args) {
         SpringApplication.run(BudgetPlannerApplication.class, args);
     }
-
-    @Bean
-    public ModelMapper modelMapper() {
-        return new ModelMapper();
-    }
 }
@@ -0,0 +1,18 @@
+package com.aldegwin.budgetplanner.communication.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BalancePointDTO {
+    private LocalDate date;
+    private BigDecimal balance;
+}
@@ -1,5 +1,6 @@
 package com.aldegwin.budgetplanner.communication.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -40,4 +41,9 @@ public class BudgetDTO {
     private List<ExpenseDTO> expenses;
 
     private List<BudgetDayDTO> budgetDays;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BudgetDaySeriesDTO budgetDaySeries;
+
+    private boolean recalculationPending;
 }
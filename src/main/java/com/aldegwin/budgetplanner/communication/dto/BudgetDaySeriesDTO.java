@@ -0,0 +1,26 @@
+package com.aldegwin.budgetplanner.communication.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Columnar form of a budget's day series. Day {@code i} is {@code startDate + i}; its balance is
+ * the running sum of {@code amounts[0..i]} divided by {@code 10^scale}. {@code descriptions} only
+ * holds the days, keyed by offset, whose description differs from the default "Balance on ...".
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BudgetDaySeriesDTO {
+    private LocalDate startDate;
+    private int count;
+    private int scale;
+    private long[] amounts;
+    private Map<Integer, String> descriptions;
+}
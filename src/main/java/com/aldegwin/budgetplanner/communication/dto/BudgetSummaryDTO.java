@@ -0,0 +1,25 @@
+package com.aldegwin.budgetplanner.communication.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BudgetSummaryDTO {
+    private Long id;
+    private String name;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private BigDecimal amount;
+    private BigDecimal currentBalance;
+    private BigDecimal incomeTotal;
+    private BigDecimal expenseTotal;
+
+}
@@ -0,0 +1,21 @@
+package com.aldegwin.budgetplanner.communication.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CategoryAggregateDTO<E extends Enum<E>> {
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private Map<E, BigDecimal> totals;
+    private BigDecimal total;
+}
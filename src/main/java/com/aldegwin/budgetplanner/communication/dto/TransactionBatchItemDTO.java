@@ -0,0 +1,38 @@
+package com.aldegwin.budgetplanner.communication.dto;
+
+import com.aldegwin.budgetplanner.model.constant.TransactionKind;
+import com.aldegwin.budgetplanner.util.annotations.ValidEnum;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One income or expense of a batch. {@code type} holds an income or an expense type
+ * depending on {@code kind}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TransactionBatchItemDTO {
+    @NotNull(message = "The transaction kind cannot be null")
+    @ValidEnum(enumClass = TransactionKind.class, message = "Incorrect transaction kind")
+    private String kind;
+
+    @Min(value = 1, message = "The transaction must be greater than or equal to 1")
+    @NotNull(message = "Transaction amount cannot be null")
+    private BigDecimal amount;
+
+    @NotNull(message = "Transaction date cannot be null")
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    private String description;
+
+    @NotNull(message = "The transaction type cannot be null")
+    private String type;
+}
@@ -0,0 +1,15 @@
+package com.aldegwin.budgetplanner.communication.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TransactionBatchResultDTO {
+    private int incomes;
+    private int expenses;
+}
@@ -1,6 +1,5 @@
 package com.aldegwin.budgetplanner.communication.dto;
 
-import com.aldegwin.budgetplanner.model.Budget;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -29,5 +28,5 @@ public class UserDTO {
     @NotNull(message = "The mail cannot be null")
     @Email(message = "Must have the format of an email address")
     private String email;
-    private List<Budget> budgets;
+    private List<BudgetSummaryDTO> budgets;
 }
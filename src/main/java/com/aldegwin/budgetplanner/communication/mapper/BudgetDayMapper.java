@@ -0,0 +1,60 @@
+package com.aldegwin.budgetplanner.communication.mapper;
+
+import com.aldegwin.budgetplanner.communication.dto.BudgetDayDTO;
+import com.aldegwin.budgetplanner.communication.dto.BudgetDaySeriesDTO;
+import com.aldegwin.budgetplanner.model.BudgetDay;
+import com.aldegwin.budgetplanner.util.calculation.BudgetBalanceKernel;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+@Component
+public class BudgetDayMapper {
+    public BudgetDayDTO toDto(BudgetDay budgetDay) {
+        return new BudgetDayDTO(
+                budgetDay.getId(),
+                budgetDay.getDayDate(),
+                budgetDay.getAmount(),
+                budgetDay.getDescription());
+    }
+
+    /**
+     * Encodes days ordered by date into a {@link BudgetDaySeriesDTO}. A missing day keeps the
+     * balance of the day before it.
+     */
+    public BudgetDaySeriesDTO toSeries(Stream<BudgetDay> budgetDays) {
+        List<BudgetDay> days = budgetDays.toList();
+        if(days.isEmpty())
+            return new BudgetDaySeriesDTO(null, 0, 0, new long[0], Map.of());
+
+        int scale = days.stream()
+                .mapToInt(budgetDay -> Math.max(budgetDay.getAmount().scale(), 0))
+                .max()
+                .orElse(0);
+
+        LocalDate startDate = days.get(0).getDayDate();
+        int count = (int) ChronoUnit.DAYS.between(startDate, days.get(days.size() - 1).getDayDate()) + 1;
+
+        long[] amounts = new long[count];
+        Map<Integer, String> descriptions = new TreeMap<>();
+
+        long previousAmount = 0;
+        for(BudgetDay budgetDay : days) {
+            int offset = (int) ChronoUnit.DAYS.between(startDate, budgetDay.getDayDate());
+            long amount = BudgetBalanceKernel.toMinorUnits(budgetDay.getAmount(), scale);
+            amounts[offset] = amount - previousAmount;
+            previousAmount = amount;
+
+            if(!Objects.equals(budgetDay.getDescription(), BudgetDay.getDefaultDescription(budgetDay.getDayDate())))
+                descriptions.put(offset, budgetDay.getDescription());
+        }
+
+        return new BudgetDaySeriesDTO(startDate, count, scale, amounts, descriptions);
+    }
+}
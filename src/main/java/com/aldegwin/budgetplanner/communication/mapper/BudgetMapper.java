@@ -0,0 +1,65 @@
+package com.aldegwin.budgetplanner.communication.mapper;
+
+import com.aldegwin.budgetplanner.communication.dto.BudgetDTO;
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.BudgetDay;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class BudgetMapper {
+    private final IncomeMapper incomeMapper;
+    private final ExpenseMapper expenseMapper;
+    private final BudgetDayMapper budgetDayMapper;
+
+    /**
+     * Budget days are passed separately because they come from the active
+     * {@code BudgetCalculatingService} rather than from the entity itself.
+     */
+    public BudgetDTO toDto(Budget budget, Stream<BudgetDay> budgetDays, boolean recalculationPending) {
+        return toDto(budget, budgetDays, recalculationPending, false);
+    }
+
+    /**
+     * With {@code columnarDays} the days are sent as a single {@code budgetDaySeries}
+     * instead of one object per day.
+     */
+    public BudgetDTO toDto(Budget budget, Stream<BudgetDay> budgetDays, boolean recalculationPending,
+                           boolean columnarDays) {
+        return BudgetDTO.builder()
+                .id(budget.getId())
+                .name(budget.getName())
+                .amount(budget.getAmount())
+                .startDate(budget.getStartDate())
+                .endDate(budget.getEndDate())
+                .description(budget.getDescription())
+                .incomes(budget.getIncomes() == null ? null : budget.getIncomes().stream()
+                        .map(incomeMapper::toDto)
+                        .toList())
+                .expenses(budget.getExpenses() == null ? null : budget.getExpenses().stream()
+                        .map(expenseMapper::toDto)
+                        .toList())
+                .budgetDays(columnarDays ? null : budgetDays.map(budgetDayMapper::toDto).toList())
+                .budgetDaySeries(columnarDays ? budgetDayMapper.toSeries(budgetDays) : null)
+                .recalculationPending(recalculationPending)
+                .build();
+    }
+
+    /**
+     * Nested incomes, expenses and days in a request body are ignored: they are managed
+     * through their own endpoints.
+     */
+    public Budget toEntity(BudgetDTO budgetDTO) {
+        return Budget.builder()
+                .id(budgetDTO.getId())
+                .name(budgetDTO.getName())
+                .amount(budgetDTO.getAmount())
+                .startDate(budgetDTO.getStartDate())
+                .endDate(budgetDTO.getEndDate())
+                .description(budgetDTO.getDescription())
+                .build();
+    }
+}
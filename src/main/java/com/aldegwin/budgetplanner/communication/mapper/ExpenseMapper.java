@@ -0,0 +1,28 @@
+package com.aldegwin.budgetplanner.communication.mapper;
+
+import com.aldegwin.budgetplanner.communication.dto.ExpenseDTO;
+import com.aldegwin.budgetplanner.model.Expense;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ExpenseMapper {
+    public ExpenseDTO toDto(Expense expense) {
+        return new ExpenseDTO(
+                expense.getId(),
+                expense.getAmount(),
+                expense.getExpenseDate(),
+                expense.getDescription(),
+                expense.getExpenseType() == null ? null : expense.getExpenseType().name());
+    }
+
+    public Expense toEntity(ExpenseDTO expenseDTO) {
+        return Expense.builder()
+                .id(expenseDTO.getId())
+                .amount(expenseDTO.getAmount())
+                .expenseDate(expenseDTO.getExpenseDate())
+                .description(expenseDTO.getDescription())
+                .expenseType(expenseDTO.getExpenseType() == null ? null : ExpenseType.valueOf(expenseDTO.getExpenseType()))
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.aldegwin.budgetplanner.communication.mapper;
+
+import com.aldegwin.budgetplanner.communication.dto.IncomeDTO;
+import com.aldegwin.budgetplanner.model.Income;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IncomeMapper {
+    public IncomeDTO toDto(Income income) {
+        return new IncomeDTO(
+                income.getId(),
+                income.getAmount(),
+                income.getIncomeDate(),
+                income.getDescription(),
+                income.getIncomeType() == null ? null : income.getIncomeType().name());
+    }
+
+    public Income toEntity(IncomeDTO incomeDTO) {
+        return Income.builder()
+                .id(incomeDTO.getId())
+                .amount(incomeDTO.getAmount())
+                .incomeDate(incomeDTO.getIncomeDate())
+                .description(incomeDTO.getDescription())
+                .incomeType(incomeDTO.getIncomeType() == null ? null : IncomeType.valueOf(incomeDTO.getIncomeType()))
+                .build();
+    }
+}
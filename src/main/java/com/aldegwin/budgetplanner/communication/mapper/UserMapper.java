@@ -0,0 +1,44 @@
+package com.aldegwin.budgetplanner.communication.mapper;
+
+import com.aldegwin.budgetplanner.communication.dto.BudgetSummaryDTO;
+import com.aldegwin.budgetplanner.communication.dto.UserDTO;
+import com.aldegwin.budgetplanner.communication.request.UserRegistrationRequest;
+import com.aldegwin.budgetplanner.model.User;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class UserMapper {
+    public UserDTO toDto(User user) {
+        return toDto(user, null);
+    }
+
+    /**
+     * Budgets are passed in as summaries rather than read from the entity, so the DTO holds
+     * no lazy collections once the transaction that loaded the user ends.
+     */
+    public UserDTO toDto(User user, List<BudgetSummaryDTO> budgets) {
+        return new UserDTO(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                budgets);
+    }
+
+    public User toEntity(UserDTO userDTO) {
+        return User.builder()
+                .id(userDTO.getId())
+                .username(userDTO.getUsername())
+                .email(userDTO.getEmail())
+                .build();
+    }
+
+    public User toEntity(UserRegistrationRequest req) {
+        return User.builder()
+                .username(req.getUsername())
+                .password(req.getPassword())
+                .email(req.getEmail())
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.aldegwin.budgetplanner.communication.request;
+
+import com.aldegwin.budgetplanner.model.constant.AggregationPeriod;
+import com.aldegwin.budgetplanner.util.annotations.ValidEnum;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+public class AnalyticsRequest {
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    @ValidEnum(enumClass = AggregationPeriod.class, ignoreCase = true, message = "Incorrect aggregation period")
+    private String groupBy = AggregationPeriod.MONTH.name();
+}
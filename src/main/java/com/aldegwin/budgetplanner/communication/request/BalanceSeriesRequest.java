@@ -0,0 +1,29 @@
+package com.aldegwin.budgetplanner.communication.request;
+
+import com.aldegwin.budgetplanner.model.constant.BalanceResolution;
+import com.aldegwin.budgetplanner.util.annotations.ValidEnum;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+public class BalanceSeriesRequest {
+    public static final int DEFAULT_POINTS = 300;
+    public static final int MAX_POINTS = 5000;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    @ValidEnum(enumClass = BalanceResolution.class, ignoreCase = true, message = "Incorrect balance resolution")
+    private String resolution = BalanceResolution.DAY.name();
+
+    @Min(value = 3, message = "The number of points must be at least 3")
+    @Max(value = MAX_POINTS, message = "The number of points must be at most " + MAX_POINTS)
+    private int points = DEFAULT_POINTS;
+}
@@ -0,0 +1,29 @@
+package com.aldegwin.budgetplanner.communication.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+public class TransactionPageRequest {
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate afterDate;
+
+    private Long afterId;
+
+    @Min(value = 1, message = "The page limit must be at least 1")
+    @Max(value = MAX_LIMIT, message = "The page limit must be at most " + MAX_LIMIT)
+    private int limit = DEFAULT_LIMIT;
+}
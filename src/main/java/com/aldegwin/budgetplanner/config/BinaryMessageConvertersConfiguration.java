@@ -0,0 +1,40 @@
+package com.aldegwin.budgetplanner.config;
+
+import com.aldegwin.budgetplanner.util.serialization.CompactBinaryModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Serves every DTO as CBOR ({@code application/cbor}) or Smile ({@code application/x-jackson-smile})
+ * when the client asks for it in {@code Accept}. JSON stays the default. Both mappers are
+ * configured by the same builder as the JSON one, so {@code spring.jackson.*} applies to them too.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class BinaryMessageConvertersConfiguration implements WebMvcConfigurer {
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+
+        converters.add(new MappingJackson2CborHttpMessageConverter(configure(new CBORMapper())));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(configure(new SmileMapper())));
+    }
+
+    private ObjectMapper configure(ObjectMapper objectMapper) {
+        objectMapperBuilder.configure(objectMapper);
+        return objectMapper.registerModule(new CompactBinaryModule());
+    }
+}
@@ -0,0 +1,20 @@
+package com.aldegwin.budgetplanner.config;
+
+import com.aldegwin.budgetplanner.util.serialization.CsvHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Accepts {@code text/csv} request bodies, so bulk imports can post a spreadsheet export
+ * as it is instead of converting it to JSON first.
+ */
+@Configuration
+public class CsvMessageConverterConfiguration implements WebMvcConfigurer {
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new CsvHttpMessageConverter());
+    }
+}
@@ -0,0 +1,38 @@
+package com.aldegwin.budgetplanner.controller;
+
+import com.aldegwin.budgetplanner.communication.dto.CategoryAggregateDTO;
+import com.aldegwin.budgetplanner.communication.request.AnalyticsRequest;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+import com.aldegwin.budgetplanner.service.AnalyticsService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/users/{user_id}/budgets/{budget_id}/analytics")
+public class AnalyticsRestController {
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/expenses")
+    public ResponseEntity<List<CategoryAggregateDTO<ExpenseType>>> getExpenseAnalytics(
+            @PathVariable("user_id") Long user_id,
+            @PathVariable("budget_id") Long budget_id,
+            @Valid AnalyticsRequest analyticsRequest) {
+        return ResponseEntity.ok()
+                .body(analyticsService.aggregateExpenses(user_id, budget_id, analyticsRequest));
+    }
+
+    @GetMapping("/incomes")
+    public ResponseEntity<List<CategoryAggregateDTO<IncomeType>>> getIncomeAnalytics(
+            @PathVariable("user_id") Long user_id,
+            @PathVariable("budget_id") Long budget_id,
+            @Valid AnalyticsRequest analyticsRequest) {
+        return ResponseEntity.ok()
+                .body(analyticsService.aggregateIncomes(user_id, budget_id, analyticsRequest));
+    }
+}
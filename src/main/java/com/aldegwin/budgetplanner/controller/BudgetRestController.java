@@ -1,19 +1,23 @@
 package com.aldegwin.budgetplanner.controller;
 
 
+import com.aldegwin.budgetplanner.communication.dto.BalancePointDTO;
 import com.aldegwin.budgetplanner.communication.dto.BudgetDTO;
+import com.aldegwin.budgetplanner.communication.request.BalanceSeriesRequest;
 import com.aldegwin.budgetplanner.exception.IdConflictException;
-import com.aldegwin.budgetplanner.model.Budget;
-import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
+import com.aldegwin.budgetplanner.service.BudgetCommandService;
 import com.aldegwin.budgetplanner.service.BudgetService;
-import com.aldegwin.budgetplanner.service.ExpenseService;
-import com.aldegwin.budgetplanner.service.IncomeService;
+import com.aldegwin.budgetplanner.service.BudgetStreamService;
+import com.aldegwin.budgetplanner.util.serialization.RepresentationETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.List;
@@ -24,44 +28,66 @@ import java.util.Objects;
 @RequestMapping("/users/{user_id}/budgets")
 @RequiredArgsConstructor
 public class BudgetRestController {
+    private final BudgetCommandService budgetCommandService;
     private final BudgetService budgetService;
-    private final BudgetCalculatingService budgetCalculatingService;
-    private final IncomeService incomeService;
-    private final ExpenseService expenseService;
-    private final ModelMapper modelMapper;
+    private final BudgetStreamService budgetStreamService;
+    private final RepresentationETags representationETags;
 
     @GetMapping
-    public ResponseEntity<List<BudgetDTO>> getAllBudgets(@PathVariable("user_id") Long user_id) {
-        List<BudgetDTO> budgets =
-                ((List<Budget>) budgetService.findAll(user_id)).stream()
-                        .map(this::getBudgetDto)
-                        .toList();
+    public ResponseEntity<List<?>> getAllBudgets(@PathVariable("user_id") Long user_id,
+                                                 @RequestParam(name = "expand", defaultValue = "false")
+                                                 boolean expand,
+                                                 @RequestParam(name = "columnarDays", defaultValue = "false")
+                                                 boolean columnarDays) {
+        List<?> budgets = budgetCommandService.findAll(user_id, expand, columnarDays);
         return ResponseEntity.ok()
-            .contentType(MediaType.APPLICATION_JSON)
             .body(budgets);
     }
 
     @GetMapping("/{budget_id}")
     public ResponseEntity<BudgetDTO> getBudgetById(@PathVariable("user_id") Long user_id,
-                                                  @PathVariable("budget_id") Long budget_id) {
-        BudgetDTO budgetDTO = getBudgetDto(budgetService.findById(user_id, budget_id));
+                                                  @PathVariable("budget_id") Long budget_id,
+                                                  @RequestParam(name = "columnarDays", defaultValue = "false")
+                                                  boolean columnarDays,
+                                                  NativeWebRequest webRequest) {
+        return budgetCommandService.findById(user_id, budget_id, columnarDays,
+                        representationETags.isNotModified(webRequest))
+                .map(budgetDTO -> ResponseEntity.ok()
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(budgetDTO))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .build());
+    }
+
+    @GetMapping("/{budget_id}/stream")
+    public ResponseEntity<StreamingResponseBody> streamBudgetById(@PathVariable("user_id") Long user_id,
+                                                                  @PathVariable("budget_id") Long budget_id) {
+        budgetService.findById(user_id, budget_id);
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
-                .body(budgetDTO);
+                .body(outputStream -> budgetStreamService.writeBudget(user_id, budget_id, outputStream));
+    }
+
+    @GetMapping("/{budget_id}/balance")
+    public ResponseEntity<List<BalancePointDTO>> getBudgetBalance(@PathVariable("user_id") Long user_id,
+                                                                  @PathVariable("budget_id") Long budget_id,
+                                                                  @Valid BalanceSeriesRequest seriesRequest) {
+        return ResponseEntity.ok()
+                .body(budgetService.getBalanceSeries(user_id, budget_id, seriesRequest));
     }
 
     @PostMapping
     public ResponseEntity<BudgetDTO> createBudget(@RequestBody @Valid BudgetDTO budgetDTO,
                                                  @PathVariable("user_id") Long user_id,
                                                  UriComponentsBuilder uriComponentsBuilder) {
-        Budget budget = budgetService.save(user_id, getBudgetFromDto(budgetDTO));
-        budgetCalculatingService.createBudgetDays(budget);
+        BudgetDTO savedBudgetDTO = budgetCommandService.save(user_id, budgetDTO);
 
         return ResponseEntity
                 .created(uriComponentsBuilder
                         .path("/users/{user_id}/budgets/{budget_id}")
-                        .build(Map.of("user_id", user_id, "budget_id", budget.getId())))
-                .body(getBudgetDto(budget));
+                        .build(Map.of("user_id", user_id, "budget_id", savedBudgetDTO.getId())))
+                .body(savedBudgetDTO);
     }
 
     @PutMapping("/{budget_id}")
@@ -72,31 +98,19 @@ public class BudgetRestController {
         if(!Objects.equals(budget_id, budgetDTO.getId()))
             throw new IdConflictException("Budget ID in path does not match Budget ID in request body");
 
-        Budget budget = budgetService.update(user_id, getBudgetFromDto(budgetDTO));
-        incomeService.deleteUnnecessaryIncomesForBudget(budget);
-        expenseService.deleteUnnecessaryExpensesForBudget(budget);
+        BudgetDTO updatedBudgetDTO = budgetCommandService.update(user_id, budgetDTO);
 
         return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(getBudgetDto(budget));
+                .body(updatedBudgetDTO);
     }
 
     @DeleteMapping("/{budget_id}")
     public ResponseEntity<Map<String, String>> deleteBudget(@PathVariable("user_id") Long user_id,
                                                             @PathVariable("budget_id") Long budget_id) {
-        budgetService.deleteById(user_id, budget_id);
+        budgetCommandService.deleteById(user_id, budget_id);
 
         String message = String.format("Resource /users/%d/budgets/%d was deleted", user_id, budget_id);
         return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_JSON)
                 .body(Map.of("message", message));
     }
-
-    private BudgetDTO getBudgetDto(Budget budget) {
-        return modelMapper.map(budget, BudgetDTO.class);
-    }
-
-    private Budget getBudgetFromDto(BudgetDTO budgetDTO) {
-        return modelMapper.map(budgetDTO, Budget.class);
-    }
 }
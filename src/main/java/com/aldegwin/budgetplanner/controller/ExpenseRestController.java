@@ -1,17 +1,23 @@
 package com.aldegwin.budgetplanner.controller;
 
 import com.aldegwin.budgetplanner.communication.dto.ExpenseDTO;
+import com.aldegwin.budgetplanner.communication.request.TransactionPageRequest;
 import com.aldegwin.budgetplanner.exception.IdConflictException;
-import com.aldegwin.budgetplanner.model.Expense;
-import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
 import com.aldegwin.budgetplanner.service.BudgetService;
-import com.aldegwin.budgetplanner.service.ExpenseService;
+import com.aldegwin.budgetplanner.service.BudgetStreamService;
+import com.aldegwin.budgetplanner.service.ExpenseCommandService;
+import com.aldegwin.budgetplanner.util.serialization.RepresentationETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.List;
@@ -22,21 +28,33 @@ import java.util.Objects;
 @RequiredArgsConstructor
 @RequestMapping("/users/{user_id}/budgets/{budget_id}/expenses")
 public class ExpenseRestController {
-    private final ExpenseService expenseService;
-    private final ModelMapper modelMapper;
+    private final ExpenseCommandService expenseCommandService;
     private final BudgetService budgetService;
-    private final BudgetCalculatingService budgetCalculatingService;
+    private final BudgetStreamService budgetStreamService;
+    private final RepresentationETags representationETags;
 
     @GetMapping
     public ResponseEntity<List<ExpenseDTO>> getAllExpenses(@PathVariable("user_id") Long user_id,
-                                                           @PathVariable("budget_id") Long budget_id) {
-        List<ExpenseDTO> expenses = ((List<Expense>) expenseService.findAll(user_id, budget_id)).stream()
-                .map(this::getExpenseDto)
-                .toList();
+                                                           @PathVariable("budget_id") Long budget_id,
+                                                           @RequestParam(name = "expenseType", required = false)
+                                                           ExpenseType expenseType,
+                                                           @Valid TransactionPageRequest pageRequest,
+                                                           NativeWebRequest webRequest) {
+        return expenseCommandService.findAll(user_id, budget_id, expenseType, pageRequest,
+                        representationETags.isNotModified(webRequest))
+                .map(expenses -> getPageResponse(expenses, pageRequest))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .build());
+    }
 
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamExpenses(@PathVariable("user_id") Long user_id,
+                                                              @PathVariable("budget_id") Long budget_id) {
+        budgetService.findById(user_id, budget_id);
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
-                .body(expenses);
+                .body(outputStream -> budgetStreamService.writeExpenses(user_id, budget_id, outputStream));
     }
 
     @GetMapping("/{expense_id}")
@@ -44,8 +62,7 @@ public class ExpenseRestController {
                                                      @PathVariable("budget_id") Long budget_id,
                                                      @PathVariable("expense_id") Long expense_id) {
         return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(getExpenseDto(expenseService.findById(user_id, budget_id, expense_id)));
+                .body(expenseCommandService.findById(user_id, budget_id, expense_id));
     }
 
     @PostMapping
@@ -56,16 +73,14 @@ public class ExpenseRestController {
         if(expenseDTO.getId() != null)
             throw new IdConflictException("Expense ID must be null");
 
-        Expense expense = expenseService.save(user_id, budget_id, getExpenseFromDto(expenseDTO));
+        ExpenseDTO savedExpenseDTO = expenseCommandService.save(user_id, budget_id, expenseDTO);
 
-        budgetCalculatingService.calculateBudget(expense.getBudget());
         return ResponseEntity.created(
                 uriComponentsBuilder.path("/users/{user_id}/budgets/{budget_id}/expenses/{expense_id}")
                         .build(Map.of("user_id", user_id,
                                 "budget_id", budget_id,
-                                "expense_id", expense.getId())))
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(getExpenseDto(expense));
+                                "expense_id", savedExpenseDTO.getId())))
+                .body(savedExpenseDTO);
     }
 
     @PutMapping("/{expense_id}")
@@ -76,33 +91,38 @@ public class ExpenseRestController {
         if(!Objects.equals(expense_id, expenseDTO.getId()))
             throw new IdConflictException("Expense ID in path does not match Expense ID in request body");
 
-        Expense expense = expenseService.update(user_id, budget_id, getExpenseFromDto(expenseDTO));
+        ExpenseDTO updatedExpenseDTO = expenseCommandService.update(user_id, budget_id, expenseDTO);
 
-        budgetCalculatingService.calculateBudget(expense.getBudget());
         return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(getExpenseDto(expense));
+                .body(updatedExpenseDTO);
     }
 
     @DeleteMapping("/{expense_id}")
     public ResponseEntity<Map<String, String>> deleteExpense(@PathVariable("user_id") Long user_id,
                                                              @PathVariable("budget_id") Long budget_id,
                                                              @PathVariable("expense_id") Long expense_id) {
-        expenseService.deleteById(user_id, budget_id, expense_id);
+        expenseCommandService.deleteById(user_id, budget_id, expense_id);
         String message =
                 String.format("Resource /users/%d/budgets/%d/expenses/%d was deleted", user_id, budget_id, expense_id);
 
-        budgetCalculatingService.calculateBudget(budgetService.findById(user_id, budget_id));
         return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_JSON)
                 .body(Map.of("message", message));
     }
 
-    private ExpenseDTO getExpenseDto(Expense expense) {
-        return modelMapper.map(expense, ExpenseDTO.class);
-    }
-
-    private Expense getExpenseFromDto(ExpenseDTO expenseDTO) {
-        return modelMapper.map(expenseDTO, Expense.class);
+    private ResponseEntity<List<ExpenseDTO>> getPageResponse(List<ExpenseDTO> expenses,
+                                                             TransactionPageRequest pageRequest) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT);
+
+        if(expenses.size() == pageRequest.getLimit()) {
+            ExpenseDTO lastExpense = expenses.get(expenses.size() - 1);
+            String nextPage = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("afterDate", lastExpense.getExpenseDate())
+                    .replaceQueryParam("afterId", lastExpense.getId())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + nextPage + ">; rel=\"next\"");
+        }
+
+        return response.body(expenses);
     }
 }
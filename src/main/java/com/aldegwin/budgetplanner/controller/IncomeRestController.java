@@ -1,17 +1,23 @@
 package com.aldegwin.budgetplanner.controller;
 
 import com.aldegwin.budgetplanner.communication.dto.IncomeDTO;
+import com.aldegwin.budgetplanner.communication.request.TransactionPageRequest;
 import com.aldegwin.budgetplanner.exception.IdConflictException;
-import com.aldegwin.budgetplanner.model.Income;
-import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
 import com.aldegwin.budgetplanner.service.BudgetService;
-import com.aldegwin.budgetplanner.service.IncomeService;
+import com.aldegwin.budgetplanner.service.BudgetStreamService;
+import com.aldegwin.budgetplanner.service.IncomeCommandService;
+import com.aldegwin.budgetplanner.util.serialization.RepresentationETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.List;
@@ -22,21 +28,33 @@ import java.util.Objects;
 @RequiredArgsConstructor
 @RequestMapping("/users/{user_id}/budgets/{budget_id}/incomes")
 public class IncomeRestController {
-    private final IncomeService incomeService;
-    private final ModelMapper modelMapper;
+    private final IncomeCommandService incomeCommandService;
     private final BudgetService budgetService;
-    private final BudgetCalculatingService budgetCalculatingService;
+    private final BudgetStreamService budgetStreamService;
+    private final RepresentationETags representationETags;
 
     @GetMapping
     public ResponseEntity<List<IncomeDTO>> getAllIncomes(@PathVariable("user_id") Long user_id,
-                                                         @PathVariable("budget_id") Long budget_id) {
-        List<IncomeDTO> incomes = ((List<Income>) incomeService.findAll(user_id, budget_id)).stream()
-                .map(this::getIncomeDto)
-                .toList();
+                                                         @PathVariable("budget_id") Long budget_id,
+                                                         @RequestParam(name = "incomeType", required = false)
+                                                         IncomeType incomeType,
+                                                         @Valid TransactionPageRequest pageRequest,
+                                                         NativeWebRequest webRequest) {
+        return incomeCommandService.findAll(user_id, budget_id, incomeType, pageRequest,
+                        representationETags.isNotModified(webRequest))
+                .map(incomes -> getPageResponse(incomes, pageRequest))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .build());
+    }
 
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamIncomes(@PathVariable("user_id") Long user_id,
+                                                              @PathVariable("budget_id") Long budget_id) {
+        budgetService.findById(user_id, budget_id);
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
-                .body(incomes);
+                .body(outputStream -> budgetStreamService.writeIncomes(user_id, budget_id, outputStream));
     }
 
     @GetMapping("/{income_id}")
@@ -44,8 +62,7 @@ public class IncomeRestController {
                                                    @PathVariable("budget_id") Long budget_id,
                                                    @PathVariable("income_id") Long income_id) {
         return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(getIncomeDto(incomeService.findById(user_id, budget_id, income_id)));
+                .body(incomeCommandService.findById(user_id, budget_id, income_id));
     }
 
     @PostMapping
@@ -56,16 +73,14 @@ public class IncomeRestController {
         if(incomeDTO.getId() != null)
             throw new IdConflictException("Income ID must be null");
 
-        Income income = incomeService.save(user_id, budget_id, getIncomeFromDto(incomeDTO));
+        IncomeDTO savedIncomeDTO = incomeCommandService.save(user_id, budget_id, incomeDTO);
 
-        budgetCalculatingService.calculateBudget(income.getBudget());
         return ResponseEntity.created(
                 uriComponentsBuilder.path("/users/{user_id}/budgets/{budget_id}/incomes/{income_id}")
                         .build(Map.of("user_id", user_id,
                                 "budget_id", budget_id,
-                                "income_id", income.getId())))
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(getIncomeDto(income));
+                                "income_id", savedIncomeDTO.getId())))
+                .body(savedIncomeDTO);
     }
 
     @PutMapping("/{income_id}")
@@ -76,33 +91,38 @@ public class IncomeRestController {
         if(!Objects.equals(income_id, incomeDTO.getId()))
             throw new IdConflictException("Income ID in path does not match Income ID in request body");
 
-        Income income = incomeService.update(user_id, budget_id, getIncomeFromDto(incomeDTO));
+        IncomeDTO updatedIncomeDTO = incomeCommandService.update(user_id, budget_id, incomeDTO);
 
-        budgetCalculatingService.calculateBudget(income.getBudget());
         return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(getIncomeDto(income));
+                .body(updatedIncomeDTO);
     }
 
     @DeleteMapping("/{income_id}")
     public ResponseEntity<Map<String, String>> deleteIncome(@PathVariable("user_id") Long user_id,
                                                             @PathVariable("budget_id") Long budget_id,
                                                             @PathVariable("income_id") Long income_id) {
-        incomeService.deleteById(user_id, budget_id, income_id);
+        incomeCommandService.deleteById(user_id, budget_id, income_id);
         String message =
                 String.format("Resource /users/%d/budgets/%d/incomes/%d was deleted", user_id, budget_id, income_id);
 
-        budgetCalculatingService.calculateBudget(budgetService.findById(user_id, budget_id));
         return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_JSON)
                 .body(Map.of("message", message));
     }
 
-    private IncomeDTO getIncomeDto(Income income) {
-        return modelMapper.map(income, IncomeDTO.class);
-    }
-
-    private Income getIncomeFromDto(IncomeDTO incomeDTO) {
-        return modelMapper.map(incomeDTO, Income.class);
+    private ResponseEntity<List<IncomeDTO>> getPageResponse(List<IncomeDTO> incomes,
+                                                            TransactionPageRequest pageRequest) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT);
+
+        if(incomes.size() == pageRequest.getLimit()) {
+            IncomeDTO lastIncome = incomes.get(incomes.size() - 1);
+            String nextPage = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("afterDate", lastIncome.getIncomeDate())
+                    .replaceQueryParam("afterId", lastIncome.getId())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + nextPage + ">; rel=\"next\"");
+        }
+
+        return response.body(incomes);
     }
 }
@@ -0,0 +1,33 @@
+package com.aldegwin.budgetplanner.controller;
+
+import com.aldegwin.budgetplanner.communication.dto.TransactionBatchItemDTO;
+import com.aldegwin.budgetplanner.communication.dto.TransactionBatchResultDTO;
+import com.aldegwin.budgetplanner.service.TransactionBatchService;
+import com.aldegwin.budgetplanner.util.serialization.CsvHttpMessageConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/users/{user_id}/budgets/{budget_id}/transactions:batch")
+public class TransactionBatchRestController {
+    private final TransactionBatchService transactionBatchService;
+
+    /**
+     * Accepts a JSON array or a CSV file with a {@code kind,amount,date,type,description}
+     * header row.
+     */
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, CsvHttpMessageConverter.TEXT_CSV_VALUE})
+    public ResponseEntity<TransactionBatchResultDTO> createTransactions(@PathVariable("user_id") Long user_id,
+                                                                        @PathVariable("budget_id") Long budget_id,
+                                                                        @RequestBody
+                                                                        List<TransactionBatchItemDTO> items) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(transactionBatchService.saveAll(user_id, budget_id, items));
+    }
+}
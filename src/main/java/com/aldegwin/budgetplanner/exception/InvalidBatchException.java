@@ -0,0 +1,15 @@
+package com.aldegwin.budgetplanner.exception;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class InvalidBatchException extends BudgetPlannerException{
+    List<String> errors;
+
+    public InvalidBatchException(String message, List<String> errors) {
+        super(message);
+        this.errors = errors;
+    }
+}
@@ -2,6 +2,11 @@ package com.aldegwin.budgetplanner.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -13,6 +18,7 @@ import java.util.List;
 @Builder
 @Entity
 @Table(name = "budget")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "budget")
 @ToString(exclude = "user")
 @EqualsAndHashCode(exclude = "user")
 public class Budget {
@@ -36,19 +42,34 @@ public class Budget {
     @Column(name = "description")
     private String description;
 
+    /**
+     * Bumped by {@code BudgetRepository.incrementVersion} on every change to the budget,
+     * its incomes, expenses or days; never written by entity updates. The bump bypasses
+     * Hibernate, so a cached entity may hold an older value: read it through
+     * {@code BudgetRepository.findVersionByIdAndUserId}.
+     */
+    @Column(name = "version", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private long version;
+
     @ManyToOne
     @JoinColumn(name = "user_id")
     private User user;
 
     @OneToMany(mappedBy = "budget", cascade = CascadeType.ALL)
+    @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "budget-incomes")
     @OrderBy("incomeDate asc")
     private List<Income> incomes;
 
     @OneToMany(mappedBy = "budget", cascade = CascadeType.ALL)
+    @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "budget-expenses")
     @OrderBy("expenseDate asc")
     private List<Expense> expenses;
 
     @OneToMany(mappedBy = "budget", cascade = CascadeType.ALL)
+    @Fetch(FetchMode.SUBSELECT)
     @OrderBy("dayDate asc")
     private List<BudgetDay> budgetDays;
 }
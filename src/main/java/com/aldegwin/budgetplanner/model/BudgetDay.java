@@ -32,4 +32,8 @@ public class BudgetDay {
 
     @Column(name = "description")
     private String description;
+
+    public static String getDefaultDescription(LocalDate dayDate) {
+        return "Balance on " + dayDate;
+    }
 }
@@ -3,6 +3,8 @@ package com.aldegwin.budgetplanner.model;
 import com.aldegwin.budgetplanner.model.constant.ExpenseType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -12,7 +14,9 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "expense")
+@Table(name = "expense", indexes = @Index(name = "idx_expense_budget_date",
+        columnList = "budget_id, expense_date, expense_id"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "expense")
 @ToString(exclude = "budget")
 @EqualsAndHashCode(exclude = "budget")
 public class Expense {
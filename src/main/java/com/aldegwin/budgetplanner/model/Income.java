@@ -3,6 +3,8 @@ package com.aldegwin.budgetplanner.model;
 import com.aldegwin.budgetplanner.model.constant.IncomeType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -12,7 +14,9 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "income")
+@Table(name = "income", indexes = @Index(name = "idx_income_budget_date",
+        columnList = "budget_id, income_date, income_id"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "income")
 @ToString(exclude = "budget")
 @EqualsAndHashCode(exclude = "budget")
 public class Income {
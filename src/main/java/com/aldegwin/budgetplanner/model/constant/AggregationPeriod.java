@@ -0,0 +1,8 @@
+package com.aldegwin.budgetplanner.model.constant;
+
+public enum AggregationPeriod {
+    DAY,
+    WEEK,
+    MONTH,
+    BUDGET
+}
@@ -0,0 +1,6 @@
+package com.aldegwin.budgetplanner.model.constant;
+
+public enum TransactionKind {
+    INCOME,
+    EXPENSE
+}
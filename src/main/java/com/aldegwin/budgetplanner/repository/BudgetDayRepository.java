@@ -1,7 +1,29 @@
 package com.aldegwin.budgetplanner.repository;
 
 import com.aldegwin.budgetplanner.model.BudgetDay;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface BudgetDayRepository extends JpaRepository<BudgetDay, Long> {
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BudgetDayRepository extends JpaRepository<BudgetDay, Long>, BudgetDayRepositoryCustom {
+    List<BudgetDay> findAllByBudgetIdAndDayDateBetweenOrderByDayDateAsc(Long budgetId,
+                                                                        LocalDate fromDate,
+                                                                        LocalDate toDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("FROM BudgetDay d WHERE d.budget.id=:budgetId ORDER BY d.dayDate asc")
+    Stream<BudgetDay> streamAllByBudgetId(Long budgetId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM BudgetDay d WHERE d.budget.id = :budgetId AND (d.dayDate < :startDate OR d.dayDate > :endDate)")
+    int deleteOutsideRange(Long budgetId, LocalDate startDate, LocalDate endDate);
 }
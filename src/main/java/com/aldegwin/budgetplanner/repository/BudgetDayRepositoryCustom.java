@@ -0,0 +1,14 @@
+package com.aldegwin.budgetplanner.repository;
+
+import com.aldegwin.budgetplanner.model.BudgetDay;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface BudgetDayRepositoryCustom {
+    void insertRange(Long budgetId, LocalDate fromDate, LocalDate toDate, BigDecimal amount);
+    int updateAmounts(Long budgetId, List<BudgetDay> budgetDays);
+    int shiftAmounts(Long budgetId, LocalDate fromDate, BigDecimal delta);
+    int shiftAmounts(Long budgetId, LocalDate fromDate, LocalDate toDate, BigDecimal delta);
+}
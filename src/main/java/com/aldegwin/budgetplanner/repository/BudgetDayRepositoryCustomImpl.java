@@ -0,0 +1,78 @@
+package com.aldegwin.budgetplanner.repository;
+
+import com.aldegwin.budgetplanner.model.BudgetDay;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class BudgetDayRepositoryCustomImpl implements BudgetDayRepositoryCustom {
+    private static final int ROWS_PER_STATEMENT = 1000;
+    private static final String INSERT_PREFIX =
+            "INSERT INTO budget_day (budget_id, day_date, amount, description) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?)";
+    private static final int UPDATE_BATCH_SIZE = 500;
+    private static final String UPDATE_AMOUNT =
+            "UPDATE budget_day SET amount = ? WHERE budget_day_id = ? AND budget_id = ? AND amount <> ?";
+    private static final String SHIFT_AMOUNTS =
+            "UPDATE budget_day SET amount = amount + ? WHERE budget_id = ? AND day_date >= ?";
+    private static final String SHIFT_AMOUNTS_BETWEEN =
+            "UPDATE budget_day SET amount = amount + ? WHERE budget_id = ? AND day_date BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertRange(Long budgetId, LocalDate fromDate, LocalDate toDate, BigDecimal amount) {
+        LocalDate dateIterator = LocalDate.from(fromDate);
+        while (!dateIterator.isAfter(toDate)) {
+            List<Object> args = new ArrayList<>();
+            StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+            int rows = 0;
+            while (rows < ROWS_PER_STATEMENT && !dateIterator.isAfter(toDate)) {
+                if (rows > 0)
+                    sql.append(", ");
+                sql.append(ROW_PLACEHOLDER);
+                args.add(budgetId);
+                args.add(Date.valueOf(dateIterator));
+                args.add(amount);
+                args.add(BudgetDay.getDefaultDescription(dateIterator));
+                dateIterator = dateIterator.plusDays(1);
+                rows++;
+            }
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+
+    @Override
+    public int updateAmounts(Long budgetId, List<BudgetDay> budgetDays) {
+        int[][] updateCounts = jdbcTemplate.batchUpdate(UPDATE_AMOUNT, budgetDays, UPDATE_BATCH_SIZE,
+                (ps, budgetDay) -> {
+                    ps.setBigDecimal(1, budgetDay.getAmount());
+                    ps.setLong(2, budgetDay.getId());
+                    ps.setLong(3, budgetId);
+                    ps.setBigDecimal(4, budgetDay.getAmount());
+                });
+
+        int touchedRows = 0;
+        for (int[] batchCounts : updateCounts)
+            for (int count : batchCounts)
+                touchedRows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        return touchedRows;
+    }
+
+    @Override
+    public int shiftAmounts(Long budgetId, LocalDate fromDate, BigDecimal delta) {
+        return jdbcTemplate.update(SHIFT_AMOUNTS, delta, budgetId, Date.valueOf(fromDate));
+    }
+
+    @Override
+    public int shiftAmounts(Long budgetId, LocalDate fromDate, LocalDate toDate, BigDecimal delta) {
+        return jdbcTemplate.update(SHIFT_AMOUNTS_BETWEEN, delta, budgetId, Date.valueOf(fromDate), Date.valueOf(toDate));
+    }
+}
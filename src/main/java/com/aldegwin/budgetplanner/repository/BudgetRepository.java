@@ -1,9 +1,31 @@
 package com.aldegwin.budgetplanner.repository;
 
 import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.repository.projection.BudgetTotals;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface BudgetRepository extends JpaRepository<Budget, Long> {
+public interface BudgetRepository extends JpaRepository<Budget, Long>, BudgetRepositoryCustom {
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT b.version FROM Budget b WHERE b.id=:id and b.user.id=:userId")
+    Optional<Long> findVersionByIdAndUserId(Long id, Long userId);
+
+    @Query("FROM Budget b LEFT JOIN FETCH b.incomes WHERE b.id=:id")
+    Optional<Budget> findWithIncomesById(Long id);
+
+    @Query("FROM Budget b LEFT JOIN FETCH b.expenses WHERE b.id=:id")
+    Optional<Budget> findWithExpensesById(Long id);
+
+    @Query("SELECT new com.aldegwin.budgetplanner.repository.projection.BudgetTotals(" +
+            "b.id, b.name, b.startDate, b.endDate, b.amount, " +
+            "COALESCE((SELECT SUM(i.amount) FROM Income i WHERE i.budget=b), 0), " +
+            "COALESCE((SELECT SUM(e.amount) FROM Expense e WHERE e.budget=b), 0)) " +
+            "FROM Budget b WHERE b.user.id=:userId ORDER BY b.id asc")
+    List<BudgetTotals> findTotalsByUserId(Long userId);
 }
@@ -0,0 +1,5 @@
+package com.aldegwin.budgetplanner.repository;
+
+public interface BudgetRepositoryCustom {
+    int incrementVersion(Long budgetId);
+}
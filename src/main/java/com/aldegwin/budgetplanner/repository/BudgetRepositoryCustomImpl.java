@@ -0,0 +1,20 @@
+package com.aldegwin.budgetplanner.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Bumps the version with plain JDBC: a bulk HQL update would make Hibernate
+ * invalidate the whole budget cache region on every transaction write.
+ */
+@RequiredArgsConstructor
+public class BudgetRepositoryCustomImpl implements BudgetRepositoryCustom {
+    private static final String INCREMENT_VERSION = "UPDATE budget SET version = version + 1 WHERE budget_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int incrementVersion(Long budgetId) {
+        return jdbcTemplate.update(INCREMENT_VERSION, budgetId);
+    }
+}
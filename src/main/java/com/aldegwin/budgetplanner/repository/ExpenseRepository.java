@@ -1,9 +1,50 @@
 package com.aldegwin.budgetplanner.repository;
 
 import com.aldegwin.budgetplanner.model.Expense;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+import com.aldegwin.budgetplanner.repository.projection.CategoryTotal;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, ExpenseRepositoryCustom {
+    @Query("FROM Expense e JOIN FETCH e.budget b JOIN FETCH b.user u " +
+            "WHERE e.id=:id and b.id=:budgetId and u.id=:userId")
+    Optional<Expense> findByIdAndBudgetIdAndUserId(Long id, Long budgetId, Long userId);
+
+    @Query("FROM Expense e WHERE e.budget.id=:budgetId " +
+            "and e.expenseDate>=:fromDate and e.expenseDate<=:toDate " +
+            "and (:expenseType is null or e.expenseType=:expenseType) " +
+            "and (e.expenseDate>:afterDate or (e.expenseDate=:afterDate and e.id>:afterId)) " +
+            "ORDER BY e.expenseDate asc, e.id asc")
+    List<Expense> findPage(Long budgetId, LocalDate fromDate, LocalDate toDate, ExpenseType expenseType,
+                       LocalDate afterDate, Long afterId, Limit limit);
+
+    @Query("SELECT new com.aldegwin.budgetplanner.repository.projection.CategoryTotal(" +
+            "e.expenseType, e.expenseDate, SUM(e.amount)) " +
+            "FROM Expense e WHERE e.budget.id=:budgetId and e.expenseDate>=:fromDate and e.expenseDate<=:toDate " +
+            "GROUP BY e.expenseType, e.expenseDate")
+    List<CategoryTotal<ExpenseType>> sumByTypeAndDate(Long budgetId, LocalDate fromDate, LocalDate toDate);
+
+    @Query("SELECT new com.aldegwin.budgetplanner.repository.projection.CategoryTotal(" +
+            "e.expenseType, SUM(e.amount)) " +
+            "FROM Expense e WHERE e.budget.id=:budgetId and e.expenseDate>=:fromDate and e.expenseDate<=:toDate " +
+            "GROUP BY e.expenseType")
+    List<CategoryTotal<ExpenseType>> sumByType(Long budgetId, LocalDate fromDate, LocalDate toDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("FROM Expense e WHERE e.budget.id=:budgetId ORDER BY e.expenseDate asc, e.id asc")
+    Stream<Expense> streamAllByBudgetId(Long budgetId);
 }
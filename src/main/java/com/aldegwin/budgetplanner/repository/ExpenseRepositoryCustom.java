@@ -0,0 +1,9 @@
+package com.aldegwin.budgetplanner.repository;
+
+import com.aldegwin.budgetplanner.model.Expense;
+
+import java.util.List;
+
+public interface ExpenseRepositoryCustom {
+    void insertAll(Long budgetId, List<Expense> expenses);
+}
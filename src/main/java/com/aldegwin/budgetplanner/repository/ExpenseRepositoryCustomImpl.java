@@ -0,0 +1,32 @@
+package com.aldegwin.budgetplanner.repository;
+
+import com.aldegwin.budgetplanner.model.Expense;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * Inserts imported expenses as JDBC batches, skipping the persistence context: the rows
+ * are not needed as entities and identity keys would otherwise force one statement each.
+ */
+@RequiredArgsConstructor
+public class ExpenseRepositoryCustomImpl implements ExpenseRepositoryCustom {
+    private static final int INSERT_BATCH_SIZE = 500;
+    private static final String INSERT_EXPENSE =
+            "INSERT INTO expense (budget_id, amount, expense_date, description, expense_type) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(Long budgetId, List<Expense> expenses) {
+        jdbcTemplate.batchUpdate(INSERT_EXPENSE, expenses, INSERT_BATCH_SIZE, (ps, expense) -> {
+            ps.setLong(1, budgetId);
+            ps.setBigDecimal(2, expense.getAmount());
+            ps.setDate(3, Date.valueOf(expense.getExpenseDate()));
+            ps.setString(4, expense.getDescription());
+            ps.setString(5, expense.getExpenseType().name());
+        });
+    }
+}
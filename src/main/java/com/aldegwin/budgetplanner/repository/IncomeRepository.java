@@ -1,9 +1,50 @@
 package com.aldegwin.budgetplanner.repository;
 
 import com.aldegwin.budgetplanner.model.Income;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+import com.aldegwin.budgetplanner.repository.projection.CategoryTotal;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface IncomeRepository extends JpaRepository<Income, Long> {
+public interface IncomeRepository extends JpaRepository<Income, Long>, IncomeRepositoryCustom {
+    @Query("FROM Income i JOIN FETCH i.budget b JOIN FETCH b.user u " +
+            "WHERE i.id=:id and b.id=:budgetId and u.id=:userId")
+    Optional<Income> findByIdAndBudgetIdAndUserId(Long id, Long budgetId, Long userId);
+
+    @Query("FROM Income i WHERE i.budget.id=:budgetId " +
+            "and i.incomeDate>=:fromDate and i.incomeDate<=:toDate " +
+            "and (:incomeType is null or i.incomeType=:incomeType) " +
+            "and (i.incomeDate>:afterDate or (i.incomeDate=:afterDate and i.id>:afterId)) " +
+            "ORDER BY i.incomeDate asc, i.id asc")
+    List<Income> findPage(Long budgetId, LocalDate fromDate, LocalDate toDate, IncomeType incomeType,
+                       LocalDate afterDate, Long afterId, Limit limit);
+
+    @Query("SELECT new com.aldegwin.budgetplanner.repository.projection.CategoryTotal(" +
+            "i.incomeType, i.incomeDate, SUM(i.amount)) " +
+            "FROM Income i WHERE i.budget.id=:budgetId and i.incomeDate>=:fromDate and i.incomeDate<=:toDate " +
+            "GROUP BY i.incomeType, i.incomeDate")
+    List<CategoryTotal<IncomeType>> sumByTypeAndDate(Long budgetId, LocalDate fromDate, LocalDate toDate);
+
+    @Query("SELECT new com.aldegwin.budgetplanner.repository.projection.CategoryTotal(" +
+            "i.incomeType, SUM(i.amount)) " +
+            "FROM Income i WHERE i.budget.id=:budgetId and i.incomeDate>=:fromDate and i.incomeDate<=:toDate " +
+            "GROUP BY i.incomeType")
+    List<CategoryTotal<IncomeType>> sumByType(Long budgetId, LocalDate fromDate, LocalDate toDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("FROM Income i WHERE i.budget.id=:budgetId ORDER BY i.incomeDate asc, i.id asc")
+    Stream<Income> streamAllByBudgetId(Long budgetId);
 }
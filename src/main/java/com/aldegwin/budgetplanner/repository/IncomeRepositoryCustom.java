@@ -0,0 +1,9 @@
+package com.aldegwin.budgetplanner.repository;
+
+import com.aldegwin.budgetplanner.model.Income;
+
+import java.util.List;
+
+public interface IncomeRepositoryCustom {
+    void insertAll(Long budgetId, List<Income> incomes);
+}
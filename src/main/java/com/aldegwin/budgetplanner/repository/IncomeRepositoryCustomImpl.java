@@ -0,0 +1,32 @@
+package com.aldegwin.budgetplanner.repository;
+
+import com.aldegwin.budgetplanner.model.Income;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * Hibernate cannot batch inserts of identity-keyed entities, so imported incomes are
+ * written through JDBC.
+ */
+@RequiredArgsConstructor
+public class IncomeRepositoryCustomImpl implements IncomeRepositoryCustom {
+    private static final int INSERT_BATCH_SIZE = 500;
+    private static final String INSERT_INCOME =
+            "INSERT INTO income (budget_id, amount, income_date, description, income_type) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(Long budgetId, List<Income> incomes) {
+        jdbcTemplate.batchUpdate(INSERT_INCOME, incomes, INSERT_BATCH_SIZE, (ps, income) -> {
+            ps.setLong(1, budgetId);
+            ps.setBigDecimal(2, income.getAmount());
+            ps.setDate(3, Date.valueOf(income.getIncomeDate()));
+            ps.setString(4, income.getDescription());
+            ps.setString(5, income.getIncomeType().name());
+        });
+    }
+}
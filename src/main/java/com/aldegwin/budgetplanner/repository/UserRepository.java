@@ -1,16 +1,31 @@
 package com.aldegwin.budgetplanner.repository;
 
 import com.aldegwin.budgetplanner.model.User;
+import com.aldegwin.budgetplanner.repository.projection.UniqueFieldCollision;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
-    @Query("FROM User WHERE username=:username and id!=:id")
-    Optional<User> findUserByUsername(String username, Long id);
-    @Query("FROM User WHERE email=:email and id!=:id")
-    Optional<User> findUserByEmail(String email, Long id);
+    /**
+     * Never flushes the session, so it can still run after a flush failed on the unique constraints.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT new com.aldegwin.budgetplanner.repository.projection.UniqueFieldCollision(" +
+            "COALESCE(SUM(CASE WHEN u.username=:username THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN u.email=:email THEN 1 ELSE 0 END), 0)) " +
+            "FROM User u WHERE (u.username=:username or u.email=:email) and u.id!=:id")
+    UniqueFieldCollision findUniqueFieldCollision(String username, String email, Long id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT u.username, u.email FROM User u")
+    Stream<Object[]> streamAllUniqueFields();
 }
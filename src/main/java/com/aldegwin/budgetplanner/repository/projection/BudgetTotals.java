@@ -0,0 +1,11 @@
+package com.aldegwin.budgetplanner.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One budget with the sums of its incomes and expenses; a sum is zero when there is nothing to add up.
+ */
+public record BudgetTotals(Long id, String name, LocalDate startDate, LocalDate endDate,
+                           BigDecimal amount, BigDecimal incomeTotal, BigDecimal expenseTotal) {
+}
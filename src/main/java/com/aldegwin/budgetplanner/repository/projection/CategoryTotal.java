@@ -0,0 +1,14 @@
+package com.aldegwin.budgetplanner.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One {@code GROUP BY} row of the transaction aggregate queries. The date is null when the
+ * query groups by category only.
+ */
+public record CategoryTotal<E extends Enum<E>>(E category, LocalDate date, BigDecimal amount) {
+    public CategoryTotal(E category, BigDecimal amount) {
+        this(category, null, amount);
+    }
+}
@@ -0,0 +1,10 @@
+package com.aldegwin.budgetplanner.repository.projection;
+
+/**
+ * Which of the unique user fields are already taken by another user.
+ */
+public record UniqueFieldCollision(boolean usernameTaken, boolean emailTaken) {
+    public UniqueFieldCollision(Long usernameMatches, Long emailMatches) {
+        this(usernameMatches > 0, emailMatches > 0);
+    }
+}
@@ -0,0 +1,16 @@
+package com.aldegwin.budgetplanner.service;
+
+import com.aldegwin.budgetplanner.communication.dto.CategoryAggregateDTO;
+import com.aldegwin.budgetplanner.communication.request.AnalyticsRequest;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+
+import java.util.List;
+
+public interface AnalyticsService {
+    List<CategoryAggregateDTO<ExpenseType>> aggregateExpenses(Long user_id, Long budget_id,
+                                                              AnalyticsRequest analyticsRequest);
+
+    List<CategoryAggregateDTO<IncomeType>> aggregateIncomes(Long user_id, Long budget_id,
+                                                            AnalyticsRequest analyticsRequest);
+}
@@ -2,11 +2,32 @@ package com.aldegwin.budgetplanner.service;
 
 import com.aldegwin.budgetplanner.model.Budget;
 import com.aldegwin.budgetplanner.model.BudgetDay;
+import com.aldegwin.budgetplanner.util.calculation.BalanceCurveLoad;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface BudgetCalculatingService {
     List<BudgetDay> createBudgetDays(Budget budget);
     void calculateBudget(Budget budget);
+    void scheduleCalculation(Budget budget);
+    void scheduleFullCalculation(Long budget_id);
+    boolean isCalculationPending(Long budget_id);
     void reformatBudgetDays(Budget budget);
+    void shiftBudgetDays(Budget budget, LocalDate fromDate, BigDecimal delta);
+    void moveBudgetDays(Budget budget, LocalDate oldDate, BigDecimal oldDelta, LocalDate newDate, BigDecimal newDelta);
+    Stream<BudgetDay> getBudgetDays(Budget budget);
+
+    /**
+     * Opens a load of the budget's days for {@link #getBudgetDays(Budget, BalanceCurveLoad)}.
+     * Must be called before the caller's transaction reads anything and closed after the days
+     * were read.
+     */
+    BalanceCurveLoad openBudgetDaysLoad(Long budget_id);
+    Stream<BudgetDay> getBudgetDays(Budget budget, BalanceCurveLoad balanceCurveLoad);
+    Stream<BudgetDay> streamBudgetDays(Budget budget);
+    BigDecimal balanceOn(Long budget_id, LocalDate date);
+    void evictBudget(Long budget_id);
 }
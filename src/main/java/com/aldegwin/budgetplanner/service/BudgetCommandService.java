@@ -0,0 +1,27 @@
+package com.aldegwin.budgetplanner.service;
+
+import com.aldegwin.budgetplanner.communication.dto.BudgetDTO;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Runs each budget endpoint in a single transaction and maps the result to DTOs before it
+ * commits, so nothing lazy is left for serialization.
+ */
+public interface BudgetCommandService {
+    List<?> findAll(Long user_id, boolean expand, boolean columnarDays);
+
+    /**
+     * Returns an empty optional when {@code isNotModified} accepts the budget's weak ETag.
+     */
+    Optional<BudgetDTO> findById(Long user_id, Long budget_id, boolean columnarDays,
+                                 Predicate<String> isNotModified);
+
+    BudgetDTO save(Long user_id, BudgetDTO budgetDTO);
+
+    BudgetDTO update(Long user_id, BudgetDTO budgetDTO);
+
+    void deleteById(Long user_id, Long budget_id);
+}
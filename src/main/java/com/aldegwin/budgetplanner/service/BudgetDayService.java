@@ -1,9 +1,21 @@
 package com.aldegwin.budgetplanner.service;
 
+import com.aldegwin.budgetplanner.model.Budget;
 import com.aldegwin.budgetplanner.model.BudgetDay;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.stream.Stream;
+
 public interface BudgetDayService {
     BudgetDay save(BudgetDay budgetDay);
+    List<BudgetDay> saveRange(Budget budget, LocalDate fromDate, LocalDate toDate);
     BudgetDay update(BudgetDay budgetDay);
+    int updateAmounts(Long budgetId, List<BudgetDay> budgetDays);
+    int shiftAmounts(Long budgetId, NavigableMap<LocalDate, BigDecimal> deltas);
+    Stream<BudgetDay> streamAllByBudgetId(Long budgetId);
+    int deleteOutsideRange(Long budgetId, LocalDate startDate, LocalDate endDate);
     void deleteById(Long id);
 }
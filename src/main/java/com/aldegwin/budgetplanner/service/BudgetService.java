@@ -1,14 +1,29 @@
 package com.aldegwin.budgetplanner.service;
 
+import com.aldegwin.budgetplanner.communication.dto.BalancePointDTO;
+import com.aldegwin.budgetplanner.communication.dto.BudgetSummaryDTO;
+import com.aldegwin.budgetplanner.communication.request.BalanceSeriesRequest;
 import com.aldegwin.budgetplanner.model.Budget;
 
+import java.util.List;
+
 public interface BudgetService {
     Budget save(Long user_id , Budget budget);
 
     Budget findById(Long user_id, Long budget_id);
 
+    Budget findDetailedById(Long user_id, Long budget_id);
+
+    long getVersion(Long user_id, Long budget_id);
+
+    void incrementVersion(Long budget_id);
+
     Iterable<Budget> findAll(Long user_id);
 
+    List<BudgetSummaryDTO> findAllSummaries(Long user_id);
+
+    List<BalancePointDTO> getBalanceSeries(Long user_id, Long budget_id, BalanceSeriesRequest seriesRequest);
+
     Budget update(Long user_id, Budget budget);
 
     void deleteById(Long user_id, Long budget_id);
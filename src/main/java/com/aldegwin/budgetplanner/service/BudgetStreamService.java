@@ -0,0 +1,12 @@
+package com.aldegwin.budgetplanner.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BudgetStreamService {
+    void writeBudget(Long user_id, Long budget_id, OutputStream outputStream) throws IOException;
+
+    void writeExpenses(Long user_id, Long budget_id, OutputStream outputStream) throws IOException;
+
+    void writeIncomes(Long user_id, Long budget_id, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,31 @@
+package com.aldegwin.budgetplanner.service;
+
+import com.aldegwin.budgetplanner.communication.dto.ExpenseDTO;
+import com.aldegwin.budgetplanner.communication.request.TransactionPageRequest;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Runs each expense endpoint in a single transaction and maps the result to DTOs before it
+ * commits.
+ */
+public interface ExpenseCommandService {
+    /**
+     * Returns an empty optional when {@code isNotModified} accepts the budget's ETag. The tag is
+     * weak, since every page of the list shares the budget version; the controller appends
+     * the negotiated encoding.
+     */
+    Optional<List<ExpenseDTO>> findAll(Long user_id, Long budget_id, ExpenseType expenseType,
+                                       TransactionPageRequest pageRequest, Predicate<String> isNotModified);
+
+    ExpenseDTO findById(Long user_id, Long budget_id, Long expense_id);
+
+    ExpenseDTO save(Long user_id, Long budget_id, ExpenseDTO expenseDTO);
+
+    ExpenseDTO update(Long user_id, Long budget_id, ExpenseDTO expenseDTO);
+
+    void deleteById(Long user_id, Long budget_id, Long expense_id);
+}
@@ -1,14 +1,18 @@
 package com.aldegwin.budgetplanner.service;
 
+import com.aldegwin.budgetplanner.communication.request.TransactionPageRequest;
 import com.aldegwin.budgetplanner.model.Budget;
 import com.aldegwin.budgetplanner.model.Expense;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+
+import java.util.List;
 
 public interface ExpenseService {
     Expense save(Long user_id, Long budget_id, Expense expense);
 
     Expense findById(Long user_id, Long budget_id, Long expense_id);
 
-    Iterable<Expense> findAll(Long user_id, Long budget_id);
+    List<Expense> findAll(Long user_id, Long budget_id, ExpenseType expenseType, TransactionPageRequest pageRequest);
 
     Expense update(Long user_id, Long budget_id, Expense expense);
 
@@ -0,0 +1,31 @@
+package com.aldegwin.budgetplanner.service;
+
+import com.aldegwin.budgetplanner.communication.dto.IncomeDTO;
+import com.aldegwin.budgetplanner.communication.request.TransactionPageRequest;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Runs each income endpoint in a single transaction and maps the result to DTOs before it
+ * commits.
+ */
+public interface IncomeCommandService {
+    /**
+     * Returns an empty optional when {@code isNotModified} accepts the budget's ETag. The tag is
+     * weak, since every page of the list shares the budget version; the controller appends
+     * the negotiated encoding.
+     */
+    Optional<List<IncomeDTO>> findAll(Long user_id, Long budget_id, IncomeType incomeType,
+                                       TransactionPageRequest pageRequest, Predicate<String> isNotModified);
+
+    IncomeDTO findById(Long user_id, Long budget_id, Long income_id);
+
+    IncomeDTO save(Long user_id, Long budget_id, IncomeDTO incomeDTO);
+
+    IncomeDTO update(Long user_id, Long budget_id, IncomeDTO incomeDTO);
+
+    void deleteById(Long user_id, Long budget_id, Long income_id);
+}
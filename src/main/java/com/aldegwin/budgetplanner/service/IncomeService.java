@@ -1,14 +1,18 @@
 package com.aldegwin.budgetplanner.service;
 
+import com.aldegwin.budgetplanner.communication.request.TransactionPageRequest;
 import com.aldegwin.budgetplanner.model.Budget;
 import com.aldegwin.budgetplanner.model.Income;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+
+import java.util.List;
 
 public interface IncomeService {
     Income save(Long user_id, Long budget_id, Income income);
 
     Income findById(Long user_id, Long budget_id, Long income_id);
 
-    Iterable<Income> findAll(Long user_id, Long budget_id);
+    List<Income> findAll(Long user_id, Long budget_id, IncomeType incomeType, TransactionPageRequest pageRequest);
 
     Income update(Long user_id, Long budget_id, Income income);
 
@@ -0,0 +1,10 @@
+package com.aldegwin.budgetplanner.service;
+
+import com.aldegwin.budgetplanner.communication.dto.TransactionBatchItemDTO;
+import com.aldegwin.budgetplanner.communication.dto.TransactionBatchResultDTO;
+
+import java.util.List;
+
+public interface TransactionBatchService {
+    TransactionBatchResultDTO saveAll(Long user_id, Long budget_id, List<TransactionBatchItemDTO> items);
+}
@@ -0,0 +1,18 @@
+package com.aldegwin.budgetplanner.service;
+
+import com.aldegwin.budgetplanner.communication.dto.UserDTO;
+import com.aldegwin.budgetplanner.communication.request.UserRegistrationRequest;
+
+/**
+ * Runs each user endpoint in a single transaction and maps the result to DTOs before it
+ * commits.
+ */
+public interface UserCommandService {
+    UserDTO save(UserRegistrationRequest req);
+
+    UserDTO findById(Long id);
+
+    UserDTO update(UserDTO userDTO);
+
+    void deleteById(Long id);
+}
@@ -0,0 +1,81 @@
+package com.aldegwin.budgetplanner.service.implementations;
+
+import com.aldegwin.budgetplanner.communication.dto.CategoryAggregateDTO;
+import com.aldegwin.budgetplanner.communication.request.AnalyticsRequest;
+import com.aldegwin.budgetplanner.exception.IncorrectDateException;
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.constant.AggregationPeriod;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+import com.aldegwin.budgetplanner.repository.ExpenseRepository;
+import com.aldegwin.budgetplanner.repository.IncomeRepository;
+import com.aldegwin.budgetplanner.repository.projection.CategoryTotal;
+import com.aldegwin.budgetplanner.service.AnalyticsService;
+import com.aldegwin.budgetplanner.service.BudgetService;
+import com.aldegwin.budgetplanner.util.calculation.CategoryAggregation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class AnalyticsServiceImpl implements AnalyticsService {
+    private final BudgetService budgetService;
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CategoryAggregateDTO<ExpenseType>> aggregateExpenses(Long user_id, Long budget_id,
+                                                                     AnalyticsRequest analyticsRequest) {
+        Budget budget = budgetService.findById(user_id, budget_id);
+
+        LocalDate fromDate = getFromDate(budget, analyticsRequest);
+        LocalDate toDate = getToDate(budget, analyticsRequest);
+        AggregationPeriod period = getPeriod(analyticsRequest);
+
+        List<CategoryTotal<ExpenseType>> totals = period == AggregationPeriod.BUDGET
+                ? expenseRepository.sumByType(budget_id, fromDate, toDate)
+                : expenseRepository.sumByTypeAndDate(budget_id, fromDate, toDate);
+
+        return CategoryAggregation.aggregate(totals, ExpenseType.class, period, fromDate, toDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CategoryAggregateDTO<IncomeType>> aggregateIncomes(Long user_id, Long budget_id,
+                                                                   AnalyticsRequest analyticsRequest) {
+        Budget budget = budgetService.findById(user_id, budget_id);
+
+        LocalDate fromDate = getFromDate(budget, analyticsRequest);
+        LocalDate toDate = getToDate(budget, analyticsRequest);
+        AggregationPeriod period = getPeriod(analyticsRequest);
+
+        List<CategoryTotal<IncomeType>> totals = period == AggregationPeriod.BUDGET
+                ? incomeRepository.sumByType(budget_id, fromDate, toDate)
+                : incomeRepository.sumByTypeAndDate(budget_id, fromDate, toDate);
+
+        return CategoryAggregation.aggregate(totals, IncomeType.class, period, fromDate, toDate);
+    }
+
+    private LocalDate getFromDate(Budget budget, AnalyticsRequest analyticsRequest) {
+        return Objects.requireNonNullElse(analyticsRequest.getFrom(), budget.getStartDate());
+    }
+
+    private LocalDate getToDate(Budget budget, AnalyticsRequest analyticsRequest) {
+        LocalDate toDate = Objects.requireNonNullElse(analyticsRequest.getTo(), budget.getEndDate());
+
+        if(toDate.isBefore(getFromDate(budget, analyticsRequest)))
+            throw new IncorrectDateException("Incorrect analytics period");
+
+        return toDate;
+    }
+
+    private AggregationPeriod getPeriod(AnalyticsRequest analyticsRequest) {
+        return AggregationPeriod.valueOf(analyticsRequest.getGroupBy().toUpperCase());
+    }
+}
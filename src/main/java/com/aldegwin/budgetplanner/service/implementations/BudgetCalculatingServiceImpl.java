@@ -1,121 +1,153 @@
 package com.aldegwin.budgetplanner.service.implementations;
 
+import com.aldegwin.budgetplanner.exception.DatabaseEntityNotFoundException;
 import com.aldegwin.budgetplanner.model.Budget;
 import com.aldegwin.budgetplanner.model.BudgetDay;
-import com.aldegwin.budgetplanner.model.Expense;
-import com.aldegwin.budgetplanner.model.Income;
+import com.aldegwin.budgetplanner.repository.BudgetRepository;
 import com.aldegwin.budgetplanner.service.BudgetDayService;
 import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
+import com.aldegwin.budgetplanner.util.calculation.BalanceCurve;
+import com.aldegwin.budgetplanner.util.calculation.BalanceCurveLoad;
+import com.aldegwin.budgetplanner.util.calculation.BudgetBalanceCurveCache;
+import com.aldegwin.budgetplanner.util.calculation.BudgetBalanceIndex;
+import com.aldegwin.budgetplanner.util.calculation.BudgetBalanceKernel;
+import com.aldegwin.budgetplanner.util.calculation.BudgetRecalculationQueue;
 import com.aldegwin.budgetplanner.util.comporators.BudgetDayComporator;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.aldegwin.budgetplanner.util.transactions.TransactionCallbacks.afterCommit;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "budget-planner.budget-days.storage", havingValue = "materialized", matchIfMissing = true)
 public class BudgetCalculatingServiceImpl implements BudgetCalculatingService {
+    private static final String UPDATED_DAYS_METRIC = "budget.calculation.updated.days";
+
     private final BudgetDayService budgetDayService;
+    private final BudgetRepository budgetRepository;
+    private final BudgetBalanceIndex budgetBalanceIndex;
+    private final BudgetBalanceCurveCache budgetBalanceCurveCache;
+    private final BudgetRecalculationQueue budgetRecalculationQueue;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
     @Override
     @Transactional
     public List<BudgetDay> createBudgetDays(Budget budget) {
-        List<BudgetDay> budgetDays = new ArrayList<>();
-
-        LocalDate startDate = budget.getStartDate();
-        LocalDate endDate = budget.getEndDate();
-
-        LocalDate dateIterator = LocalDate.from(startDate);
-        while (dateIterator.isBefore(endDate.plusDays(1))) {
-            BudgetDay budgetDay = BudgetDay.builder()
-                    .id(null)
-                    .budget(budget)
-                    .dayDate(dateIterator)
-                    .amount(budget.getAmount())
-                    .description("Balance on " + dateIterator)
-                    .build();
-            budgetDays.add(budgetDay);
-            budgetDayService.save(budgetDay);
-            dateIterator = dateIterator.plusDays(1);
-        }
-
-        budgetDays.sort(new BudgetDayComporator());
-
-        return budgetDays;
+        return budgetDayService.saveRange(budget, budget.getStartDate(), budget.getEndDate());
     }
 
+    /**
+     * Writes the changed amounts from detached copies with one JDBC batch and leaves the
+     * budget's managed days untouched, so the session never flushes them a second time.
+     */
     @Override
     @Transactional
     public void calculateBudget(Budget budget) {
         List<BudgetDay> budgetDays = budget.getBudgetDays();
 
-        List<Income> incomes = budget.getIncomes();
-        List<Expense> expenses = budget.getExpenses();
-        Map<LocalDate, BigDecimal> dayBalance = new HashMap<>();
-
-        incomes.forEach(i -> {
-            LocalDate incomeDate = i.getIncomeDate();
-            dayBalance.put(incomeDate, dayBalance.getOrDefault(incomeDate, BigDecimal.ZERO)
-                    .add(i.getAmount()));
-        });
+        int scale = BudgetBalanceKernel.scaleOf(budget);
+        long[] dayBalances = BudgetBalanceKernel.dailyBalances(budget, scale);
 
-        expenses.forEach(e -> {
-            LocalDate expenseDate = e.getExpenseDate();
-            dayBalance.put(expenseDate, dayBalance.getOrDefault(expenseDate, BigDecimal.ZERO)
-                    .subtract(e.getAmount()));
-        });
-
-        BigDecimal currentDayAmount = budget.getAmount();
+        List<BudgetDay> calculatedBudgetDays = new ArrayList<>(budgetDays.size());
+        List<BudgetDay> changedBudgetDays = new ArrayList<>();
         for(BudgetDay budgetDay : budgetDays) {
-            currentDayAmount = currentDayAmount.add(dayBalance
-                    .getOrDefault(budgetDay.getDayDate(), BigDecimal.ZERO));
-            budgetDay.setAmount(currentDayAmount);
-            budgetDayService.update(budgetDay);
+            int offset = BudgetBalanceKernel.offsetOf(budget, budgetDay.getDayDate());
+            if(offset < 0 || offset >= dayBalances.length) {
+                calculatedBudgetDays.add(budgetDay);
+                continue;
+            }
+
+            BigDecimal amount = BudgetBalanceKernel.fromMinorUnits(dayBalances[offset], scale);
+            if(budgetDay.getAmount() == null || budgetDay.getAmount().compareTo(amount) != 0) {
+                BudgetDay changedBudgetDay = BudgetDay.builder()
+                        .id(budgetDay.getId())
+                        .budget(budget)
+                        .dayDate(budgetDay.getDayDate())
+                        .amount(amount)
+                        .description(budgetDay.getDescription())
+                        .build();
+                calculatedBudgetDays.add(changedBudgetDay);
+                changedBudgetDays.add(changedBudgetDay);
+            } else {
+                calculatedBudgetDays.add(budgetDay);
+            }
         }
 
-        budgetDays.sort(new BudgetDayComporator());
+        int touchedRows = budgetDayService.updateAmounts(budget.getId(), changedBudgetDays);
+        meterRegistry.summary(UPDATED_DAYS_METRIC).record(touchedRows);
+        if(touchedRows > 0)
+            budgetRepository.incrementVersion(budget.getId());
+
+        afterCommit(() -> budgetBalanceIndex.seed(budget));
+        BalanceCurve.of(budget, calculatedBudgetDays)
+                .ifPresent(curve -> afterCommit(() -> budgetBalanceCurveCache.put(budget.getId(), curve)));
+    }
+
+    @Override
+    public void scheduleCalculation(Budget budget) {
+        Long budgetId = budget.getId();
+        evictBudget(budgetId);
+        afterCommit(() -> budgetRecalculationQueue.enqueue(budgetId, () -> recalculate(budgetId)));
+    }
+
+    /**
+     * Drops the balance index and curve instead of shifting them, for transactions written
+     * without going through {@link #shiftBudgetDays}; the scheduled calculation reads them
+     * from the database.
+     */
+    @Override
+    public void scheduleFullCalculation(Long budget_id) {
+        evictBudget(budget_id);
+        afterCommit(() -> budgetRecalculationQueue.enqueue(budget_id, () -> recalculate(budget_id)));
+    }
 
-        budget.setBudgetDays(budgetDays);
+    @Override
+    public boolean isCalculationPending(Long budget_id) {
+        return budgetRecalculationQueue.isPending(budget_id);
     }
 
     @Override
     @Transactional
     public void reformatBudgetDays(Budget budget) {
-        List<BudgetDay> budgetDays = budget.getBudgetDays();
-        List<BudgetDay> newBudgetDays = new ArrayList<>();
-
         LocalDate budgetStartDate = budget.getStartDate();
         LocalDate budgetEndDate = budget.getEndDate();
 
-        for (BudgetDay budgetDay : budgetDays) {
-            LocalDate budgetDayDate = budgetDay.getDayDate();
-            if (budgetDayDate.isAfter(budgetEndDate) || budgetDayDate.isBefore(budgetStartDate))
-                budgetDayService.deleteById(budgetDay.getId());
-            else
-                newBudgetDays.add(budgetDay);
-        }
+        budgetDayService.deleteOutsideRange(budget.getId(), budgetStartDate, budgetEndDate);
 
-        Set<LocalDate> existingBudgetDates = newBudgetDays
+        List<BudgetDay> newBudgetDays = budget.getBudgetDays()
                 .stream()
-                .map(BudgetDay::getDayDate)
-                .collect(Collectors.toSet());
-
-        List<LocalDate> budgetDates = getAllDates(budget);
-        for(LocalDate date : budgetDates) {
-            if(!existingBudgetDates.contains(date)) {
-                BudgetDay budgetDay = BudgetDay.builder()
-                        .id(null)
-                        .budget(budget)
-                        .dayDate(date)
-                        .amount(budget.getAmount())
-                        .description("Balance on " + date)
-                        .build();
-                BudgetDay savedBudgetDay = budgetDayService.save(budgetDay);
-                newBudgetDays.add(savedBudgetDay);
-            }
+                .filter(budgetDay -> !isDateOutOfBudgetPeriod(budgetDay.getDayDate(), budget))
+                .sorted(new BudgetDayComporator())
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        if(newBudgetDays.isEmpty()) {
+            newBudgetDays.addAll(budgetDayService.saveRange(budget, budgetStartDate, budgetEndDate));
+        } else {
+            LocalDate firstBudgetDayDate = newBudgetDays.get(0).getDayDate();
+            LocalDate lastBudgetDayDate = newBudgetDays.get(newBudgetDays.size() - 1).getDayDate();
+
+            if(firstBudgetDayDate.isAfter(budgetStartDate))
+                newBudgetDays.addAll(budgetDayService.saveRange(budget, budgetStartDate,
+                        firstBudgetDayDate.minusDays(1)));
+
+            if(lastBudgetDayDate.isBefore(budgetEndDate))
+                newBudgetDays.addAll(budgetDayService.saveRange(budget, lastBudgetDayDate.plusDays(1),
+                        budgetEndDate));
         }
 
         newBudgetDays.sort(new BudgetDayComporator());
@@ -123,18 +155,134 @@ public class BudgetCalculatingServiceImpl implements BudgetCalculatingService {
         budget.setBudgetDays(newBudgetDays);
     }
 
-    private List<LocalDate> getAllDates(Budget budget) {
-        List<LocalDate> dates = new ArrayList<>();
+    /**
+     * Queues the delta instead of recalculating the budget: the worker sums the deltas queued
+     * for the budget and shifts the stored days range by range.
+     */
+    @Override
+    @Transactional
+    public void shiftBudgetDays(Budget budget, LocalDate fromDate, BigDecimal delta) {
+        if(delta.signum() == 0 || isDateOutOfBudgetPeriod(fromDate, budget))
+            return;
+
+        Long budgetId = budget.getId();
+        afterCommit(() -> budgetBalanceIndex.add(budgetId, fromDate, delta));
+        afterCommit(() -> budgetBalanceCurveCache.evict(budgetId));
+        afterCommit(() -> budgetRecalculationQueue.enqueueShift(budgetId, fromDate, delta,
+                deltas -> shift(budgetId, deltas)));
+    }
+
+    @Override
+    @Transactional
+    public void moveBudgetDays(Budget budget, LocalDate oldDate, BigDecimal oldDelta,
+                               LocalDate newDate, BigDecimal newDelta) {
+        if(oldDate.isEqual(newDate)) {
+            shiftBudgetDays(budget, newDate, newDelta.subtract(oldDelta));
+            return;
+        }
+
+        shiftBudgetDays(budget, oldDate, oldDelta.negate());
+        shiftBudgetDays(budget, newDate, newDelta);
+    }
+
+    /**
+     * Serves the days from the balance curve cache when it holds the budget's current period,
+     * otherwise from the budget's collection. A collection read here is not cached: the
+     * transaction may have taken its snapshot before the last write to the budget.
+     */
+    @Override
+    public Stream<BudgetDay> getBudgetDays(Budget budget) {
+        return getCachedCurve(budget)
+                .map(curve -> curve.budgetDays(budget))
+                .orElseGet(() -> budget.getBudgetDays().stream());
+    }
+
+    @Override
+    public BalanceCurveLoad openBudgetDaysLoad(Long budget_id) {
+        return budgetBalanceCurveCache.openLoad(budget_id);
+    }
+
+    /**
+     * Like {@link #getBudgetDays(Budget)}, but a collection loaded here is kept as the budget's
+     * curve when the load is closed, if nothing was written to the budget since it was opened.
+     * A collection that was already loaded is not cached, since it may predate the load.
+     */
+    @Override
+    public Stream<BudgetDay> getBudgetDays(Budget budget, BalanceCurveLoad balanceCurveLoad) {
+        Optional<BalanceCurve> cachedCurve = getCachedCurve(budget);
+        if(cachedCurve.isPresent())
+            return cachedCurve.get().budgetDays(budget);
+
+        List<BudgetDay> budgetDays = budget.getBudgetDays();
+        if(!Hibernate.isInitialized(budgetDays) && budget.getId().equals(balanceCurveLoad.budgetId())) {
+            Hibernate.initialize(budgetDays);
+            BalanceCurve.of(budget, budgetDays).ifPresent(balanceCurveLoad::loaded);
+        }
+
+        return budgetDays.stream();
+    }
+
+    /**
+     * Reads the days through a database cursor instead of the budget's collection unless the
+     * balance curve cache holds them; the caller owns the transaction and must close the stream.
+     */
+    @Override
+    public Stream<BudgetDay> streamBudgetDays(Budget budget) {
+        return getCachedCurve(budget)
+                .map(curve -> curve.budgetDays(budget))
+                .orElseGet(() -> budgetDayService.streamAllByBudgetId(budget.getId()));
+    }
 
-        LocalDate startDate = budget.getStartDate();
-        LocalDate endDate = budget.getEndDate();
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal balanceOn(Long budget_id, LocalDate date) {
+        return budgetBalanceIndex.balanceOn(budget_id, date, () -> budgetRepository.findById(budget_id)
+                .orElseThrow(() -> new DatabaseEntityNotFoundException("Budget not found")));
+    }
 
-        LocalDate dateIterator = LocalDate.from(startDate);
-        while (dateIterator.isBefore(endDate.plusDays(1))) {
-            dates.add(dateIterator);
-            dateIterator = dateIterator.plusDays(1);
+    @Override
+    public void evictBudget(Long budget_id) {
+        afterCommit(() -> budgetBalanceIndex.evict(budget_id));
+        afterCommit(() -> budgetBalanceCurveCache.evict(budget_id));
+    }
+
+    /**
+     * Fetches the transactions with join queries rather than through the cached collections,
+     * so the balances are always computed from what is committed in the database.
+     */
+    private void recalculate(Long budget_id) {
+        transactionTemplate.executeWithoutResult(status -> budgetRepository.findWithIncomesById(budget_id)
+                .ifPresent(budget -> {
+                    budgetRepository.findWithExpensesById(budget_id);
+                    calculateBudget(budget);
+                }));
+    }
+
+    /**
+     * Falls back to a full recalculation when the shift fails, since its deltas are not
+     * queued again.
+     */
+    private void shift(Long budget_id, NavigableMap<LocalDate, BigDecimal> deltas) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int touchedRows = budgetDayService.shiftAmounts(budget_id, deltas);
+                meterRegistry.summary(UPDATED_DAYS_METRIC).record(touchedRows);
+                if(touchedRows > 0)
+                    budgetRepository.incrementVersion(budget_id);
+
+                afterCommit(() -> budgetBalanceCurveCache.evict(budget_id));
+            });
+        } catch (RuntimeException e) {
+            log.warn("Shifting days of budget {} failed, recalculating it", budget_id, e);
+            recalculate(budget_id);
         }
+    }
+
+    private Optional<BalanceCurve> getCachedCurve(Budget budget) {
+        return budgetBalanceCurveCache.get(budget.getId()).filter(curve -> curve.matches(budget));
+    }
 
-        return dates;
+    private boolean isDateOutOfBudgetPeriod(LocalDate date, Budget budget) {
+        return date.isAfter(budget.getEndDate()) || date.isBefore(budget.getStartDate());
     }
 }
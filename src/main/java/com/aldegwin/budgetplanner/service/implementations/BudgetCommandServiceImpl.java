@@ -0,0 +1,102 @@
+package com.aldegwin.budgetplanner.service.implementations;
+
+import com.aldegwin.budgetplanner.communication.dto.BudgetDTO;
+import com.aldegwin.budgetplanner.communication.mapper.BudgetMapper;
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
+import com.aldegwin.budgetplanner.service.BudgetCommandService;
+import com.aldegwin.budgetplanner.service.BudgetService;
+import com.aldegwin.budgetplanner.service.ExpenseService;
+import com.aldegwin.budgetplanner.service.IncomeService;
+import com.aldegwin.budgetplanner.util.calculation.BalanceCurveLoad;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.StreamSupport;
+
+@Service
+@RequiredArgsConstructor
+public class BudgetCommandServiceImpl implements BudgetCommandService {
+    private final BudgetService budgetService;
+    private final BudgetCalculatingService budgetCalculatingService;
+    private final IncomeService incomeService;
+    private final ExpenseService expenseService;
+    private final BudgetMapper budgetMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<?> findAll(Long user_id, boolean expand, boolean columnarDays) {
+        if(!expand)
+            return budgetService.findAllSummaries(user_id);
+
+        return StreamSupport.stream(budgetService.findAll(user_id).spliterator(), false)
+                .map(budget -> getBudgetDto(budget, columnarDays))
+                .toList();
+    }
+
+    /**
+     * The version is read in the same transaction as the budget, so the ETag always
+     * describes the body sent with it. The days load is opened before that first read,
+     * so days read from a snapshot older than the last write are never cached.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<BudgetDTO> findById(Long user_id, Long budget_id, boolean columnarDays,
+                                        Predicate<String> isNotModified) {
+        try (BalanceCurveLoad balanceCurveLoad = budgetCalculatingService.openBudgetDaysLoad(budget_id)) {
+            String eTag = getBudgetETag(budgetService.getVersion(user_id, budget_id),
+                    budgetCalculatingService.isCalculationPending(budget_id), columnarDays);
+            if(isNotModified.test(eTag))
+                return Optional.empty();
+
+            Budget budget = budgetService.findDetailedById(user_id, budget_id);
+            return Optional.of(budgetMapper.toDto(budget,
+                    budgetCalculatingService.getBudgetDays(budget, balanceCurveLoad),
+                    budgetCalculatingService.isCalculationPending(budget_id), columnarDays));
+        }
+    }
+
+    @Override
+    @Transactional
+    public BudgetDTO save(Long user_id, BudgetDTO budgetDTO) {
+        return getBudgetDto(budgetService.save(user_id, budgetMapper.toEntity(budgetDTO)), false);
+    }
+
+    /**
+     * Incomes and expenses left outside the new period are deleted in the same transaction
+     * as the period change, so a failure leaves neither applied.
+     */
+    @Override
+    @Transactional
+    public BudgetDTO update(Long user_id, BudgetDTO budgetDTO) {
+        Budget budget = budgetService.update(user_id, budgetMapper.toEntity(budgetDTO));
+        incomeService.deleteUnnecessaryIncomesForBudget(budget);
+        expenseService.deleteUnnecessaryExpensesForBudget(budget);
+
+        return getBudgetDto(budget, false);
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(Long user_id, Long budget_id) {
+        budgetService.deleteById(user_id, budget_id);
+    }
+
+    private BudgetDTO getBudgetDto(Budget budget, boolean columnarDays) {
+        return budgetMapper.toDto(budget, budgetCalculatingService.getBudgetDays(budget),
+                budgetCalculatingService.isCalculationPending(budget.getId()), columnarDays);
+    }
+
+    /**
+     * The pending flag and the day layout are part of the representation,
+     * so they are folded into the tag next to the budget version. The tag is weak because
+     * it follows the version rather than the bytes; the controller appends the encoding.
+     */
+    private String getBudgetETag(long version, boolean pending, boolean columnarDays) {
+        return "W/\"" + version + (pending ? "-pending" : "") + (columnarDays ? "-columnar" : "") + "\"";
+    }
+}
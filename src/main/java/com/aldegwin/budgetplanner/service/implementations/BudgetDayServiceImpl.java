@@ -2,6 +2,7 @@ package com.aldegwin.budgetplanner.service.implementations;
 
 import com.aldegwin.budgetplanner.exception.DatabaseEntityNotFoundException;
 import com.aldegwin.budgetplanner.exception.IdConflictException;
+import com.aldegwin.budgetplanner.model.Budget;
 import com.aldegwin.budgetplanner.model.BudgetDay;
 import com.aldegwin.budgetplanner.repository.BudgetDayRepository;
 import com.aldegwin.budgetplanner.service.BudgetDayService;
@@ -9,6 +10,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.stream.Stream;
+
 @Service
 @RequiredArgsConstructor
 public class BudgetDayServiceImpl implements BudgetDayService {
@@ -22,6 +30,18 @@ public class BudgetDayServiceImpl implements BudgetDayService {
         return budgetDayRepository.save(budgetDay);
     }
 
+    @Override
+    @Transactional
+    public List<BudgetDay> saveRange(Budget budget, LocalDate fromDate, LocalDate toDate) {
+        if(budget.getId() == null)
+            throw new IdConflictException("Budget ID must be not null");
+
+        budgetDayRepository.insertRange(budget.getId(), fromDate, toDate, budget.getAmount());
+
+        return budgetDayRepository
+                .findAllByBudgetIdAndDayDateBetweenOrderByDayDateAsc(budget.getId(), fromDate, toDate);
+    }
+
     @Override
     @Transactional
     public BudgetDay update(BudgetDay budgetDay) {
@@ -38,6 +58,58 @@ public class BudgetDayServiceImpl implements BudgetDayService {
         return budgetDayRepository.save(existingBudget);
     }
 
+    @Override
+    @Transactional
+    public int updateAmounts(Long budgetId, List<BudgetDay> budgetDays) {
+        if(budgetId == null)
+            throw new IdConflictException("Budget ID must be not null");
+
+        if(budgetDays.isEmpty())
+            return 0;
+
+        if(budgetDays.stream().anyMatch(budgetDay -> budgetDay.getId() == null))
+            throw new IdConflictException("Budget day ID must be not null");
+
+        return budgetDayRepository.updateAmounts(budgetId, budgetDays);
+    }
+
+    /**
+     * Applies deltas keyed by the first day they affect. They are turned into disjoint date
+     * ranges carrying the running sum, so every day row is written at most once.
+     */
+    @Override
+    @Transactional
+    public int shiftAmounts(Long budgetId, NavigableMap<LocalDate, BigDecimal> deltas) {
+        if(budgetId == null)
+            throw new IdConflictException("Budget ID must be not null");
+
+        int touchedRows = 0;
+        BigDecimal runningDelta = BigDecimal.ZERO;
+        for(Map.Entry<LocalDate, BigDecimal> delta : deltas.entrySet()) {
+            runningDelta = runningDelta.add(delta.getValue());
+            if(runningDelta.signum() == 0)
+                continue;
+
+            LocalDate nextDate = deltas.higherKey(delta.getKey());
+            touchedRows += nextDate == null
+                    ? budgetDayRepository.shiftAmounts(budgetId, delta.getKey(), runningDelta)
+                    : budgetDayRepository.shiftAmounts(budgetId, delta.getKey(), nextDate.minusDays(1), runningDelta);
+        }
+        return touchedRows;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Stream<BudgetDay> streamAllByBudgetId(Long budgetId) {
+        return budgetDayRepository.streamAllByBudgetId(budgetId);
+    }
+
+    @Override
+    @Transactional
+    public int deleteOutsideRange(Long budgetId, LocalDate startDate, LocalDate endDate) {
+        return budgetDayRepository.deleteOutsideRange(budgetId, startDate, endDate);
+    }
+
     @Override
     @Transactional
     public void deleteById(Long id) {
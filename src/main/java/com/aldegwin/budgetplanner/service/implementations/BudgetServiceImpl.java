@@ -1,21 +1,30 @@
 package com.aldegwin.budgetplanner.service.implementations;
 
+import com.aldegwin.budgetplanner.communication.dto.BalancePointDTO;
+import com.aldegwin.budgetplanner.communication.dto.BudgetSummaryDTO;
+import com.aldegwin.budgetplanner.communication.request.BalanceSeriesRequest;
 import com.aldegwin.budgetplanner.exception.DatabaseEntityNotFoundException;
 import com.aldegwin.budgetplanner.exception.IdConflictException;
 import com.aldegwin.budgetplanner.exception.IncorrectDateException;
 import com.aldegwin.budgetplanner.model.Budget;
 import com.aldegwin.budgetplanner.model.BudgetDay;
 import com.aldegwin.budgetplanner.model.User;
+import com.aldegwin.budgetplanner.model.constant.BalanceResolution;
 import com.aldegwin.budgetplanner.repository.BudgetRepository;
+import com.aldegwin.budgetplanner.repository.projection.BudgetTotals;
 import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
 import com.aldegwin.budgetplanner.service.BudgetService;
 import com.aldegwin.budgetplanner.service.UserService;
+import com.aldegwin.budgetplanner.util.cache.EntityCacheEvictor;
+import com.aldegwin.budgetplanner.util.calculation.BalanceSeries;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +32,7 @@ public class BudgetServiceImpl implements BudgetService {
     private final BudgetRepository budgetRepository;
     private final BudgetCalculatingService budgetCalculatingService;
     private final UserService userService;
+    private final EntityCacheEvictor entityCacheEvictor;
 
     @Override
     @Transactional
@@ -38,19 +48,55 @@ public class BudgetServiceImpl implements BudgetService {
         budget.setUser(user);
 
         Budget savedBudget = budgetRepository.save(budget);
+        entityCacheEvictor.evictUserBudgets(user_id);
         List<BudgetDay> budgetDays = budgetCalculatingService.createBudgetDays(budget);
         budget.setBudgetDays(budgetDays);
 
         return savedBudget;
     }
 
+    /**
+     * Looks the budget up by primary key so that repeated ownership checks are served
+     * from the second-level cache, then verifies the owner on the cached entity.
+     */
     @Override
     public Budget findById(Long user_id, Long budget_id) {
-        User user = userService.findById(user_id);
-        return user.getBudgets().stream()
-                .filter(b -> b.getId().equals(budget_id))
-                .findFirst()
-                .orElseThrow(() -> new DatabaseEntityNotFoundException("Budget not found"));
+        return budgetRepository.findById(budget_id)
+                .filter(budget -> Objects.equals(budget.getUser().getId(), user_id))
+                .orElseThrow(() -> getBudgetNotFoundException(user_id));
+    }
+
+    /**
+     * Loads a budget together with its incomes and expenses in keyed queries.
+     * The collections are bags and cannot be join-fetched at once, so each query fetches
+     * one of them into the same persistence context. Days stay lazy: they are served from
+     * the balance curve cache and only read from the table on a miss.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Budget findDetailedById(Long user_id, Long budget_id) {
+        Budget budget = findById(user_id, budget_id);
+
+        budgetRepository.findWithIncomesById(budget_id);
+        budgetRepository.findWithExpensesById(budget_id);
+
+        return budget;
+    }
+
+    /**
+     * Reads only the version column, so conditional requests can be answered
+     * without loading the budget or its collections.
+     */
+    @Override
+    public long getVersion(Long user_id, Long budget_id) {
+        return budgetRepository.findVersionByIdAndUserId(budget_id, user_id)
+                .orElseThrow(() -> getBudgetNotFoundException(user_id));
+    }
+
+    @Override
+    @Transactional
+    public void incrementVersion(Long budget_id) {
+        budgetRepository.incrementVersion(budget_id);
     }
 
     @Override
@@ -59,6 +105,40 @@ public class BudgetServiceImpl implements BudgetService {
         return user.getBudgets();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<BudgetSummaryDTO> findAllSummaries(Long user_id) {
+        List<BudgetTotals> totals = budgetRepository.findTotalsByUserId(user_id);
+
+        if(totals.isEmpty())
+            userService.findById(user_id);
+
+        return totals.stream()
+                .map(this::toSummary)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BalancePointDTO> getBalanceSeries(Long user_id, Long budget_id, BalanceSeriesRequest seriesRequest) {
+        Budget budget = findById(user_id, budget_id);
+
+        LocalDate fromDate = Objects.requireNonNullElse(seriesRequest.getFrom(), budget.getStartDate());
+        LocalDate toDate = Objects.requireNonNullElse(seriesRequest.getTo(), budget.getEndDate());
+
+        if(toDate.isBefore(fromDate))
+            throw new IncorrectDateException("Incorrect balance period");
+
+        Stream<BalancePointDTO> balances = budgetCalculatingService.getBudgetDays(budget)
+                .filter(budgetDay -> !budgetDay.getDayDate().isBefore(fromDate)
+                        && !budgetDay.getDayDate().isAfter(toDate))
+                .map(budgetDay -> new BalancePointDTO(budgetDay.getDayDate(), budgetDay.getAmount()));
+
+        return BalanceSeries.downsample(balances,
+                BalanceResolution.valueOf(seriesRequest.getResolution().toUpperCase()),
+                seriesRequest.getPoints());
+    }
+
     @Override
     @Transactional
     public Budget update(Long user_id, Budget budget) {
@@ -83,11 +163,12 @@ public class BudgetServiceImpl implements BudgetService {
         existingBudget.setDescription(budget.getDescription());
 
         Budget updatedBudget = budgetRepository.save(existingBudget);
+        budgetRepository.incrementVersion(updatedBudget.getId());
 
         if(!oldStartDate.isEqual(newStartDate) || !oldEndDate.isEqual(newEndDate))
             budgetCalculatingService.reformatBudgetDays(updatedBudget);
 
-        budgetCalculatingService.calculateBudget(updatedBudget);
+        budgetCalculatingService.scheduleCalculation(updatedBudget);
 
         return updatedBudget;
     }
@@ -95,15 +176,36 @@ public class BudgetServiceImpl implements BudgetService {
     @Override
     @Transactional
     public void deleteById(Long user_id, Long budget_id) {
-        User user = userService.findById(user_id);
-        budgetRepository.deleteById(user.getBudgets().stream()
-                .filter(b -> b.getId().equals(budget_id))
-                .findFirst()
-                .orElseThrow(() -> new DatabaseEntityNotFoundException("Budget not found"))
-                .getId());
+        if(!budgetRepository.existsByIdAndUserId(budget_id, user_id))
+            throw getBudgetNotFoundException(user_id);
+
+        budgetRepository.deleteById(budget_id);
+        entityCacheEvictor.evictUserBudgets(user_id);
+        budgetCalculatingService.evictBudget(budget_id);
+    }
+
+    private DatabaseEntityNotFoundException getBudgetNotFoundException(Long user_id) {
+        userService.findById(user_id);
+        return new DatabaseEntityNotFoundException("Budget not found");
     }
 
     private boolean isBudgetDatesNotValid(Budget budget) {
         return budget.getEndDate().isBefore(budget.getStartDate());
     }
+
+    /**
+     * The current balance is the starting amount with every recorded income and expense applied.
+     */
+    private BudgetSummaryDTO toSummary(BudgetTotals totals) {
+        return BudgetSummaryDTO.builder()
+                .id(totals.id())
+                .name(totals.name())
+                .startDate(totals.startDate())
+                .endDate(totals.endDate())
+                .amount(totals.amount())
+                .currentBalance(totals.amount().add(totals.incomeTotal()).subtract(totals.expenseTotal()))
+                .incomeTotal(totals.incomeTotal())
+                .expenseTotal(totals.expenseTotal())
+                .build();
+    }
 }
@@ -0,0 +1,123 @@
+package com.aldegwin.budgetplanner.service.implementations;
+
+import com.aldegwin.budgetplanner.communication.mapper.BudgetDayMapper;
+import com.aldegwin.budgetplanner.communication.mapper.ExpenseMapper;
+import com.aldegwin.budgetplanner.communication.mapper.IncomeMapper;
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.BudgetDay;
+import com.aldegwin.budgetplanner.model.Expense;
+import com.aldegwin.budgetplanner.model.Income;
+import com.aldegwin.budgetplanner.repository.ExpenseRepository;
+import com.aldegwin.budgetplanner.repository.IncomeRepository;
+import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
+import com.aldegwin.budgetplanner.service.BudgetService;
+import com.aldegwin.budgetplanner.service.BudgetStreamService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes budgets and their transactions as JSON straight from database cursors. Every row is
+ * serialized and detached before the next one is read, so memory use does not grow with the
+ * number of rows. The JSON has the same shape as the corresponding list endpoints and {@code BudgetDTO}.
+ */
+@Service
+@RequiredArgsConstructor
+public class BudgetStreamServiceImpl implements BudgetStreamService {
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final BudgetService budgetService;
+    private final BudgetCalculatingService budgetCalculatingService;
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+    private final ExpenseMapper expenseMapper;
+    private final IncomeMapper incomeMapper;
+    private final BudgetDayMapper budgetDayMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeBudget(Long user_id, Long budget_id, OutputStream outputStream) throws IOException {
+        Budget budget = budgetService.findById(user_id, budget_id);
+
+        try(JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeObjectField("id", budget.getId());
+            generator.writeObjectField("name", budget.getName());
+            generator.writeObjectField("amount", budget.getAmount());
+            generator.writeObjectField("startDate", budget.getStartDate());
+            generator.writeObjectField("endDate", budget.getEndDate());
+            generator.writeObjectField("description", budget.getDescription());
+
+            generator.writeFieldName("incomes");
+            try(Stream<Income> incomes = incomeRepository.streamAllByBudgetId(budget_id)) {
+                writeArray(generator, incomes, incomeMapper::toDto);
+            }
+
+            generator.writeFieldName("expenses");
+            try(Stream<Expense> expenses = expenseRepository.streamAllByBudgetId(budget_id)) {
+                writeArray(generator, expenses, expenseMapper::toDto);
+            }
+
+            generator.writeFieldName("budgetDays");
+            try(Stream<BudgetDay> budgetDays = budgetCalculatingService.streamBudgetDays(budget)) {
+                writeArray(generator, budgetDays, budgetDayMapper::toDto);
+            }
+
+            generator.writeBooleanField("recalculationPending",
+                    budgetCalculatingService.isCalculationPending(budget_id));
+            generator.writeEndObject();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeExpenses(Long user_id, Long budget_id, OutputStream outputStream) throws IOException {
+        budgetService.findById(user_id, budget_id);
+
+        try(JsonGenerator generator = objectMapper.createGenerator(outputStream);
+            Stream<Expense> expenses = expenseRepository.streamAllByBudgetId(budget_id)) {
+            writeArray(generator, expenses, expenseMapper::toDto);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeIncomes(Long user_id, Long budget_id, OutputStream outputStream) throws IOException {
+        budgetService.findById(user_id, budget_id);
+
+        try(JsonGenerator generator = objectMapper.createGenerator(outputStream);
+            Stream<Income> incomes = incomeRepository.streamAllByBudgetId(budget_id)) {
+            writeArray(generator, incomes, incomeMapper::toDto);
+        }
+    }
+
+    private <E> void writeArray(JsonGenerator generator, Stream<E> entities,
+                                Function<E, ?> mapper) throws IOException {
+        generator.writeStartArray();
+
+        int written = 0;
+        Iterator<E> iterator = entities.iterator();
+        while(iterator.hasNext()) {
+            E entity = iterator.next();
+            generator.writeObject(mapper.apply(entity));
+            if(entityManager.contains(entity))
+                entityManager.detach(entity);
+
+            if(++written % FLUSH_INTERVAL == 1)
+                generator.flush();
+        }
+
+        generator.writeEndArray();
+    }
+}
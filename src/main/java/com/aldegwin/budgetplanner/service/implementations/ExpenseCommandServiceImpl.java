@@ -0,0 +1,60 @@
+package com.aldegwin.budgetplanner.service.implementations;
+
+import com.aldegwin.budgetplanner.communication.dto.ExpenseDTO;
+import com.aldegwin.budgetplanner.communication.mapper.ExpenseMapper;
+import com.aldegwin.budgetplanner.communication.request.TransactionPageRequest;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+import com.aldegwin.budgetplanner.service.BudgetService;
+import com.aldegwin.budgetplanner.service.ExpenseCommandService;
+import com.aldegwin.budgetplanner.service.ExpenseService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+@Service
+@RequiredArgsConstructor
+public class ExpenseCommandServiceImpl implements ExpenseCommandService {
+    private final ExpenseService expenseService;
+    private final BudgetService budgetService;
+    private final ExpenseMapper expenseMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<List<ExpenseDTO>> findAll(Long user_id, Long budget_id, ExpenseType expenseType,
+                                              TransactionPageRequest pageRequest, Predicate<String> isNotModified) {
+        if(isNotModified.test("W/\"" + budgetService.getVersion(user_id, budget_id) + "\""))
+            return Optional.empty();
+
+        return Optional.of(expenseService.findAll(user_id, budget_id, expenseType, pageRequest).stream()
+                .map(expenseMapper::toDto)
+                .toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ExpenseDTO findById(Long user_id, Long budget_id, Long expense_id) {
+        return expenseMapper.toDto(expenseService.findById(user_id, budget_id, expense_id));
+    }
+
+    @Override
+    @Transactional
+    public ExpenseDTO save(Long user_id, Long budget_id, ExpenseDTO expenseDTO) {
+        return expenseMapper.toDto(expenseService.save(user_id, budget_id, expenseMapper.toEntity(expenseDTO)));
+    }
+
+    @Override
+    @Transactional
+    public ExpenseDTO update(Long user_id, Long budget_id, ExpenseDTO expenseDTO) {
+        return expenseMapper.toDto(expenseService.update(user_id, budget_id, expenseMapper.toEntity(expenseDTO)));
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(Long user_id, Long budget_id, Long expense_id) {
+        expenseService.deleteById(user_id, budget_id, expense_id);
+    }
+}
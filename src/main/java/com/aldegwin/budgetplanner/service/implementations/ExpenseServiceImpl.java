@@ -1,25 +1,35 @@
 package com.aldegwin.budgetplanner.service.implementations;
 
+import com.aldegwin.budgetplanner.communication.request.TransactionPageRequest;
 import com.aldegwin.budgetplanner.exception.DatabaseEntityNotFoundException;
 import com.aldegwin.budgetplanner.exception.IdConflictException;
 import com.aldegwin.budgetplanner.exception.IncorrectDateException;
 import com.aldegwin.budgetplanner.model.Budget;
 import com.aldegwin.budgetplanner.model.Expense;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
 import com.aldegwin.budgetplanner.repository.ExpenseRepository;
+import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
 import com.aldegwin.budgetplanner.service.BudgetService;
 import com.aldegwin.budgetplanner.service.ExpenseService;
+import com.aldegwin.budgetplanner.util.cache.EntityCacheEvictor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class ExpenseServiceImpl implements ExpenseService {
     private final ExpenseRepository expenseRepository;
     private final BudgetService budgetService;
+    private final BudgetCalculatingService budgetCalculatingService;
+    private final EntityCacheEvictor entityCacheEvictor;
 
     @Override
     @Transactional
@@ -34,19 +44,36 @@ public class ExpenseServiceImpl implements ExpenseService {
 
         expense.setBudget(budget);
 
-        return expenseRepository.save(expense);
+        Expense savedExpense = expenseRepository.save(expense);
+        budgetService.incrementVersion(budget.getId());
+        entityCacheEvictor.evictBudgetExpenses(budget.getId());
+        budgetCalculatingService.shiftBudgetDays(budget, savedExpense.getExpenseDate(), getExpenseDelta(savedExpense));
+
+        return savedExpense;
     }
 
     @Override
     public Expense findById(Long user_id, Long budget_id, Long expense_id) {
-        return budgetService.findById(user_id, budget_id).getExpenses().stream()
-                .filter(e -> e.getId().equals(expense_id))
-                .findFirst().orElseThrow(() -> new DatabaseEntityNotFoundException("Expense not found"));
+        return expenseRepository.findByIdAndBudgetIdAndUserId(expense_id, budget_id, user_id)
+                .orElseThrow(() -> getExpenseNotFoundException(user_id, budget_id));
     }
 
     @Override
-    public Iterable<Expense> findAll(Long user_id, Long budget_id) {
-        return budgetService.findById(user_id, budget_id).getExpenses();
+    public List<Expense> findAll(Long user_id, Long budget_id, ExpenseType expenseType, TransactionPageRequest pageRequest) {
+        Budget budget = budgetService.findById(user_id, budget_id);
+
+        LocalDate fromDate = Objects.requireNonNullElse(pageRequest.getFrom(), budget.getStartDate());
+        LocalDate toDate = Objects.requireNonNullElse(pageRequest.getTo(), budget.getEndDate());
+
+        LocalDate afterDate = fromDate.minusDays(1);
+        Long afterId = 0L;
+        if(pageRequest.getAfterDate() != null) {
+            afterDate = pageRequest.getAfterDate();
+            afterId = Objects.requireNonNullElse(pageRequest.getAfterId(), 0L);
+        }
+
+        return expenseRepository.findPage(budget_id, fromDate, toDate, expenseType,
+                afterDate, afterId, Limit.of(pageRequest.getLimit()));
     }
 
     @Override
@@ -55,27 +82,32 @@ public class ExpenseServiceImpl implements ExpenseService {
         if(expense.getId() == null)
             throw new IdConflictException("Expense ID must be not null");
 
-        Expense existingExpense = findById(user_id, budget_id ,expense.getId());
+        Expense existingExpense = findById(user_id, budget_id, expense.getId());
 
         if(isExpenseDateNotValid(expense, existingExpense.getBudget()))
             throw new IncorrectDateException("The entered date is not included in the budget deadline");
 
+        LocalDate oldExpenseDate = existingExpense.getExpenseDate();
+        BigDecimal oldDelta = getExpenseDelta(existingExpense);
+
         existingExpense.setExpenseDate(expense.getExpenseDate());
         existingExpense.setExpenseType(expense.getExpenseType());
         existingExpense.setAmount(expense.getAmount());
         existingExpense.setDescription(expense.getDescription());
 
-        return expenseRepository.save(existingExpense);
+        Expense updatedExpense = expenseRepository.save(existingExpense);
+        budgetService.incrementVersion(updatedExpense.getBudget().getId());
+        entityCacheEvictor.evictBudgetExpenses(updatedExpense.getBudget().getId());
+        budgetCalculatingService.moveBudgetDays(updatedExpense.getBudget(), oldExpenseDate, oldDelta,
+                updatedExpense.getExpenseDate(), getExpenseDelta(updatedExpense));
+
+        return updatedExpense;
     }
 
     @Override
     @Transactional
     public void deleteById(Long user_id, Long budget_id, Long expense_id) {
-        Budget budget = budgetService.findById(user_id, budget_id);
-        expenseRepository.deleteById(budget.getExpenses().stream()
-                .filter(i -> i.getId().equals(expense_id))
-                .findFirst()
-                .orElseThrow(() -> new DatabaseEntityNotFoundException("Expense not found")).getId());
+        delete(findById(user_id, budget_id, expense_id));
     }
 
     @Override
@@ -85,13 +117,30 @@ public class ExpenseServiceImpl implements ExpenseService {
         List<Expense> newExpenses = new ArrayList<>();
         for(Expense expense : oldExpenses) {
             if(isExpenseDateNotValid(expense, budget))
-                deleteById(budget.getUser().getId(), budget.getId(), expense.getId());
+                delete(expense);
             else
                 newExpenses.add(expense);
         }
         budget.setExpenses(newExpenses);
     }
 
+    private void delete(Expense expense) {
+        expenseRepository.deleteById(expense.getId());
+        budgetService.incrementVersion(expense.getBudget().getId());
+        entityCacheEvictor.evictBudgetExpenses(expense.getBudget().getId());
+        budgetCalculatingService.shiftBudgetDays(expense.getBudget(), expense.getExpenseDate(),
+                getExpenseDelta(expense).negate());
+    }
+
+    private DatabaseEntityNotFoundException getExpenseNotFoundException(Long user_id, Long budget_id) {
+        budgetService.findById(user_id, budget_id);
+        return new DatabaseEntityNotFoundException("Expense not found");
+    }
+
+    private BigDecimal getExpenseDelta(Expense expense) {
+        return expense.getAmount().negate();
+    }
+
     private boolean isExpenseDateNotValid(Expense expense, Budget budget) {
         return expense.getExpenseDate().isAfter(budget.getEndDate())
                 || expense.getExpenseDate().isBefore(budget.getStartDate());
@@ -0,0 +1,60 @@
+package com.aldegwin.budgetplanner.service.implementations;
+
+import com.aldegwin.budgetplanner.communication.dto.IncomeDTO;
+import com.aldegwin.budgetplanner.communication.mapper.IncomeMapper;
+import com.aldegwin.budgetplanner.communication.request.TransactionPageRequest;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+import com.aldegwin.budgetplanner.service.BudgetService;
+import com.aldegwin.budgetplanner.service.IncomeCommandService;
+import com.aldegwin.budgetplanner.service.IncomeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+@Service
+@RequiredArgsConstructor
+public class IncomeCommandServiceImpl implements IncomeCommandService {
+    private final IncomeService incomeService;
+    private final BudgetService budgetService;
+    private final IncomeMapper incomeMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<List<IncomeDTO>> findAll(Long user_id, Long budget_id, IncomeType incomeType,
+                                              TransactionPageRequest pageRequest, Predicate<String> isNotModified) {
+        if(isNotModified.test("W/\"" + budgetService.getVersion(user_id, budget_id) + "\""))
+            return Optional.empty();
+
+        return Optional.of(incomeService.findAll(user_id, budget_id, incomeType, pageRequest).stream()
+                .map(incomeMapper::toDto)
+                .toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IncomeDTO findById(Long user_id, Long budget_id, Long income_id) {
+        return incomeMapper.toDto(incomeService.findById(user_id, budget_id, income_id));
+    }
+
+    @Override
+    @Transactional
+    public IncomeDTO save(Long user_id, Long budget_id, IncomeDTO incomeDTO) {
+        return incomeMapper.toDto(incomeService.save(user_id, budget_id, incomeMapper.toEntity(incomeDTO)));
+    }
+
+    @Override
+    @Transactional
+    public IncomeDTO update(Long user_id, Long budget_id, IncomeDTO incomeDTO) {
+        return incomeMapper.toDto(incomeService.update(user_id, budget_id, incomeMapper.toEntity(incomeDTO)));
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(Long user_id, Long budget_id, Long income_id) {
+        incomeService.deleteById(user_id, budget_id, income_id);
+    }
+}
@@ -1,25 +1,35 @@
 package com.aldegwin.budgetplanner.service.implementations;
 
+import com.aldegwin.budgetplanner.communication.request.TransactionPageRequest;
 import com.aldegwin.budgetplanner.exception.DatabaseEntityNotFoundException;
 import com.aldegwin.budgetplanner.exception.IdConflictException;
 import com.aldegwin.budgetplanner.exception.IncorrectDateException;
 import com.aldegwin.budgetplanner.model.Budget;
 import com.aldegwin.budgetplanner.model.Income;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
 import com.aldegwin.budgetplanner.repository.IncomeRepository;
+import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
 import com.aldegwin.budgetplanner.service.BudgetService;
 import com.aldegwin.budgetplanner.service.IncomeService;
+import com.aldegwin.budgetplanner.util.cache.EntityCacheEvictor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class IncomeServiceImpl implements IncomeService {
     private final IncomeRepository incomeRepository;
     private final BudgetService budgetService;
+    private final BudgetCalculatingService budgetCalculatingService;
+    private final EntityCacheEvictor entityCacheEvictor;
 
     @Override
     @Transactional
@@ -34,19 +44,36 @@ public class IncomeServiceImpl implements IncomeService {
 
         income.setBudget(budget);
 
-        return incomeRepository.save(income);
+        Income savedIncome = incomeRepository.save(income);
+        budgetService.incrementVersion(budget.getId());
+        entityCacheEvictor.evictBudgetIncomes(budget.getId());
+        budgetCalculatingService.shiftBudgetDays(budget, savedIncome.getIncomeDate(), getIncomeDelta(savedIncome));
+
+        return savedIncome;
     }
 
     @Override
     public Income findById(Long user_id, Long budget_id, Long income_id) {
-        return budgetService.findById(user_id, budget_id).getIncomes().stream()
-                .filter(i -> i.getId().equals(income_id))
-                .findFirst().orElseThrow(() -> new DatabaseEntityNotFoundException("Income not found"));
+        return incomeRepository.findByIdAndBudgetIdAndUserId(income_id, budget_id, user_id)
+                .orElseThrow(() -> getIncomeNotFoundException(user_id, budget_id));
     }
 
     @Override
-    public Iterable<Income> findAll(Long user_id, Long budget_id) {
-        return budgetService.findById(user_id, budget_id).getIncomes();
+    public List<Income> findAll(Long user_id, Long budget_id, IncomeType incomeType, TransactionPageRequest pageRequest) {
+        Budget budget = budgetService.findById(user_id, budget_id);
+
+        LocalDate fromDate = Objects.requireNonNullElse(pageRequest.getFrom(), budget.getStartDate());
+        LocalDate toDate = Objects.requireNonNullElse(pageRequest.getTo(), budget.getEndDate());
+
+        LocalDate afterDate = fromDate.minusDays(1);
+        Long afterId = 0L;
+        if(pageRequest.getAfterDate() != null) {
+            afterDate = pageRequest.getAfterDate();
+            afterId = Objects.requireNonNullElse(pageRequest.getAfterId(), 0L);
+        }
+
+        return incomeRepository.findPage(budget_id, fromDate, toDate, incomeType,
+                afterDate, afterId, Limit.of(pageRequest.getLimit()));
     }
 
     @Override
@@ -60,22 +87,27 @@ public class IncomeServiceImpl implements IncomeService {
         if (isIncomeDateNotValid(income, existingIncome.getBudget()))
             throw new IncorrectDateException("The entered date is not included in the budget deadline");
 
+        LocalDate oldIncomeDate = existingIncome.getIncomeDate();
+        BigDecimal oldDelta = getIncomeDelta(existingIncome);
+
         existingIncome.setIncomeDate(income.getIncomeDate());
         existingIncome.setIncomeType(income.getIncomeType());
         existingIncome.setAmount(income.getAmount());
         existingIncome.setDescription(income.getDescription());
 
-        return incomeRepository.save(existingIncome);
+        Income updatedIncome = incomeRepository.save(existingIncome);
+        budgetService.incrementVersion(updatedIncome.getBudget().getId());
+        entityCacheEvictor.evictBudgetIncomes(updatedIncome.getBudget().getId());
+        budgetCalculatingService.moveBudgetDays(updatedIncome.getBudget(), oldIncomeDate, oldDelta,
+                updatedIncome.getIncomeDate(), getIncomeDelta(updatedIncome));
+
+        return updatedIncome;
     }
 
     @Override
     @Transactional
     public void deleteById(Long user_id, Long budget_id, Long income_id) {
-        Budget budget = budgetService.findById(user_id, budget_id);
-        incomeRepository.deleteById(budget.getIncomes().stream()
-                .filter(i -> i.getId().equals(income_id))
-                .findFirst()
-                .orElseThrow(() -> new DatabaseEntityNotFoundException("Income not found")).getId());
+        delete(findById(user_id, budget_id, income_id));
     }
 
     @Override
@@ -85,13 +117,30 @@ public class IncomeServiceImpl implements IncomeService {
         List<Income> newIncomes = new ArrayList<>();
         for(Income income : oldIncomes) {
             if(isIncomeDateNotValid(income, budget))
-                deleteById(budget.getUser().getId(), budget.getId(), income.getId());
+                delete(income);
             else
                 newIncomes.add(income);
         }
         budget.setIncomes(newIncomes);
     }
 
+    private void delete(Income income) {
+        incomeRepository.deleteById(income.getId());
+        budgetService.incrementVersion(income.getBudget().getId());
+        entityCacheEvictor.evictBudgetIncomes(income.getBudget().getId());
+        budgetCalculatingService.shiftBudgetDays(income.getBudget(), income.getIncomeDate(),
+                getIncomeDelta(income).negate());
+    }
+
+    private DatabaseEntityNotFoundException getIncomeNotFoundException(Long user_id, Long budget_id) {
+        budgetService.findById(user_id, budget_id);
+        return new DatabaseEntityNotFoundException("Income not found");
+    }
+
+    private BigDecimal getIncomeDelta(Income income) {
+        return income.getAmount();
+    }
+
     private boolean isIncomeDateNotValid(Income income, Budget budget) {
         return income.getIncomeDate().isAfter(budget.getEndDate())
                 || income.getIncomeDate().isBefore(budget.getStartDate());
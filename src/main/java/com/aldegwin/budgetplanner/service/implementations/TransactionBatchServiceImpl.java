@@ -0,0 +1,139 @@
+package com.aldegwin.budgetplanner.service.implementations;
+
+import com.aldegwin.budgetplanner.communication.dto.TransactionBatchItemDTO;
+import com.aldegwin.budgetplanner.communication.dto.TransactionBatchResultDTO;
+import com.aldegwin.budgetplanner.exception.InvalidBatchException;
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.Expense;
+import com.aldegwin.budgetplanner.model.Income;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+import com.aldegwin.budgetplanner.model.constant.TransactionKind;
+import com.aldegwin.budgetplanner.repository.ExpenseRepository;
+import com.aldegwin.budgetplanner.repository.IncomeRepository;
+import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
+import com.aldegwin.budgetplanner.service.BudgetService;
+import com.aldegwin.budgetplanner.service.TransactionBatchService;
+import com.aldegwin.budgetplanner.util.cache.EntityCacheEvictor;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionBatchServiceImpl implements TransactionBatchService {
+    public static final int MAX_ITEMS = 10000;
+
+    private final BudgetService budgetService;
+    private final BudgetCalculatingService budgetCalculatingService;
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final Validator validator;
+
+    /**
+     * Validates every item against the budget in one pass and rejects the whole batch if any
+     * of them is invalid. Valid batches are inserted with JDBC batching and bump the version
+     * once; instead of shifting the balances item by item, a single calculation is scheduled
+     * for the budget.
+     */
+    @Override
+    @Transactional
+    public TransactionBatchResultDTO saveAll(Long user_id, Long budget_id, List<TransactionBatchItemDTO> items) {
+        if(items == null || items.isEmpty())
+            throw new InvalidBatchException("Invalid transaction batch", List.of("The batch cannot be empty"));
+
+        if(items.size() > MAX_ITEMS)
+            throw new InvalidBatchException("Invalid transaction batch",
+                    List.of(String.format("The batch cannot contain more than %d transactions", MAX_ITEMS)));
+
+        Budget budget = budgetService.findById(user_id, budget_id);
+
+        List<Income> incomes = new ArrayList<>();
+        List<Expense> expenses = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for(int i = 0; i < items.size(); i++) {
+            TransactionBatchItemDTO item = items.get(i);
+            List<String> itemErrors = validateItem(item, budget);
+            if(!itemErrors.isEmpty()) {
+                for(String error : itemErrors)
+                    errors.add(String.format("Transaction %d: %s", i + 1, error));
+                continue;
+            }
+
+            if(TransactionKind.valueOf(item.getKind()) == TransactionKind.INCOME)
+                incomes.add(getIncome(item, budget));
+            else
+                expenses.add(getExpense(item, budget));
+        }
+
+        if(!errors.isEmpty())
+            throw new InvalidBatchException("Invalid transaction batch", errors);
+
+        if(!incomes.isEmpty()) {
+            incomeRepository.insertAll(budget_id, incomes);
+            entityCacheEvictor.evictBudgetIncomes(budget_id);
+        }
+
+        if(!expenses.isEmpty()) {
+            expenseRepository.insertAll(budget_id, expenses);
+            entityCacheEvictor.evictBudgetExpenses(budget_id);
+        }
+
+        budgetService.incrementVersion(budget_id);
+        budgetCalculatingService.scheduleFullCalculation(budget_id);
+
+        return new TransactionBatchResultDTO(incomes.size(), expenses.size());
+    }
+
+    private List<String> validateItem(TransactionBatchItemDTO item, Budget budget) {
+        List<String> errors = new ArrayList<>(validator.validate(item).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList());
+        if(!errors.isEmpty())
+            return errors;
+
+        if(TransactionKind.valueOf(item.getKind()) == TransactionKind.INCOME) {
+            if(!isEnumValue(IncomeType.class, item.getType()))
+                errors.add("Incorrect income type");
+        } else if(!isEnumValue(ExpenseType.class, item.getType())) {
+            errors.add("Incorrect expense type");
+        }
+
+        if(item.getDate().isAfter(budget.getEndDate()) || item.getDate().isBefore(budget.getStartDate()))
+            errors.add("The entered date is not included in the budget deadline");
+
+        return errors;
+    }
+
+    private Income getIncome(TransactionBatchItemDTO item, Budget budget) {
+        return Income.builder()
+                .amount(item.getAmount())
+                .incomeDate(item.getDate())
+                .description(item.getDescription())
+                .incomeType(IncomeType.valueOf(item.getType()))
+                .budget(budget)
+                .build();
+    }
+
+    private Expense getExpense(TransactionBatchItemDTO item, Budget budget) {
+        return Expense.builder()
+                .amount(item.getAmount())
+                .expenseDate(item.getDate())
+                .description(item.getDescription())
+                .expenseType(ExpenseType.valueOf(item.getType()))
+                .budget(budget)
+                .build();
+    }
+
+    private <E extends Enum<E>> boolean isEnumValue(Class<E> enumClass, String value) {
+        return Arrays.stream(enumClass.getEnumConstants()).anyMatch(constant -> constant.name().equals(value));
+    }
+}
@@ -0,0 +1,48 @@
+package com.aldegwin.budgetplanner.service.implementations;
+
+import com.aldegwin.budgetplanner.communication.dto.UserDTO;
+import com.aldegwin.budgetplanner.communication.mapper.UserMapper;
+import com.aldegwin.budgetplanner.communication.request.UserRegistrationRequest;
+import com.aldegwin.budgetplanner.model.User;
+import com.aldegwin.budgetplanner.service.BudgetService;
+import com.aldegwin.budgetplanner.service.UserCommandService;
+import com.aldegwin.budgetplanner.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class UserCommandServiceImpl implements UserCommandService {
+    private final UserService userService;
+    private final BudgetService budgetService;
+    private final UserMapper userMapper;
+
+    @Override
+    @Transactional
+    public UserDTO save(UserRegistrationRequest req) {
+        return userMapper.toDto(userService.save(userMapper.toEntity(req)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserDTO findById(Long id) {
+        return getUserDto(userService.findById(id));
+    }
+
+    @Override
+    @Transactional
+    public UserDTO update(UserDTO userDTO) {
+        return getUserDto(userService.update(userMapper.toEntity(userDTO)));
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(Long id) {
+        userService.deleteById(id);
+    }
+
+    private UserDTO getUserDto(User user) {
+        return userMapper.toDto(user, budgetService.findAllSummaries(user.getId()));
+    }
+}
@@ -6,8 +6,11 @@ import com.aldegwin.budgetplanner.exception.IdConflictException;
 import com.aldegwin.budgetplanner.exception.NotUniqueFieldException;
 import com.aldegwin.budgetplanner.model.User;
 import com.aldegwin.budgetplanner.repository.UserRepository;
+import com.aldegwin.budgetplanner.repository.projection.UniqueFieldCollision;
 import com.aldegwin.budgetplanner.service.UserService;
+import com.aldegwin.budgetplanner.util.filter.UserUniquenessFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +20,7 @@ import java.util.*;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserUniquenessFilter userUniquenessFilter;
 
     @Override
     @Transactional
@@ -28,7 +32,10 @@ public class UserServiceImpl implements UserService {
         if (!errors.isEmpty())
             throw new NotUniqueFieldException("Not unique fields", errors);
 
-        return userRepository.save(user);
+        User savedUser = saveAndFlush(user);
+        userUniquenessFilter.add(savedUser.getUsername(), savedUser.getEmail());
+
+        return savedUser;
     }
 
     @Override
@@ -53,7 +60,10 @@ public class UserServiceImpl implements UserService {
         existingUser.setUsername(user.getUsername());
         existingUser.setEmail(user.getEmail());
 
-        return userRepository.save(existingUser);
+        User updatedUser = saveAndFlush(existingUser);
+        userUniquenessFilter.add(updatedUser.getUsername(), updatedUser.getEmail());
+
+        return updatedUser;
     }
 
     @Override
@@ -62,18 +72,42 @@ public class UserServiceImpl implements UserService {
         userRepository.deleteById(findById(id).getId());
     }
 
+    /**
+     * The filter only knows the users this instance loaded or saved, so a value taken through
+     * another instance is first caught by the unique constraint. The collision is then looked up
+     * and reported the same way as one found by the validation.
+     */
+    private User saveAndFlush(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            Map<ErrorCode, String> errors = findUniqueFieldCollisions(user);
+            if (errors.isEmpty())
+                throw e;
+
+            userUniquenessFilter.add(user.getUsername(), user.getEmail());
+            throw new NotUniqueFieldException("Not unique fields", errors);
+        }
+    }
+
     private Map<ErrorCode, String> validateUniqueFields(User user) {
+        if(!userUniquenessFilter.mightBeTaken(user.getUsername(), user.getEmail()))
+            return new HashMap<>();
+
+        return findUniqueFieldCollisions(user);
+    }
+
+    private Map<ErrorCode, String> findUniqueFieldCollisions(User user) {
         Map<ErrorCode, String> errors = new HashMap<>();
 
-        userRepository.findUserByEmail(user.getEmail(), user.getId() != null ? user.getId() : -1)
-                .ifPresent(existingUser ->
-                        errors.put(ErrorCode.EMAIL_BUSY,
-                                String.format("Email %s is already in use", user.getEmail())));
+        UniqueFieldCollision collision = userRepository.findUniqueFieldCollision(user.getUsername(),
+                user.getEmail(), user.getId() != null ? user.getId() : -1);
+
+        if(collision.emailTaken())
+            errors.put(ErrorCode.EMAIL_BUSY, String.format("Email %s is already in use", user.getEmail()));
 
-        userRepository.findUserByUsername(user.getUsername(), user.getId() != null ? user.getId() : -1)
-                .ifPresent(existingUser ->
-                        errors.put(ErrorCode.USERNAME_BUSY,
-                                String.format("Username %s is already in use", user.getUsername())));
+        if(collision.usernameTaken())
+            errors.put(ErrorCode.USERNAME_BUSY, String.format("Username %s is already in use", user.getUsername()));
 
         return errors;
     }
@@ -0,0 +1,158 @@
+package com.aldegwin.budgetplanner.service.implementations;
+
+import com.aldegwin.budgetplanner.exception.DatabaseEntityNotFoundException;
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.BudgetDay;
+import com.aldegwin.budgetplanner.repository.BudgetRepository;
+import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
+import com.aldegwin.budgetplanner.util.calculation.BalanceCurveLoad;
+import com.aldegwin.budgetplanner.util.calculation.BudgetBalanceIndex;
+import com.aldegwin.budgetplanner.util.calculation.BudgetBalanceKernel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.aldegwin.budgetplanner.util.transactions.TransactionCallbacks.afterCommit;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "budget-planner.budget-days.storage", havingValue = "virtual")
+public class VirtualBudgetCalculatingServiceImpl implements BudgetCalculatingService {
+    private final BudgetRepository budgetRepository;
+    private final BudgetBalanceIndex budgetBalanceIndex;
+
+    @Override
+    public List<BudgetDay> createBudgetDays(Budget budget) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public void calculateBudget(Budget budget) {
+        afterCommit(() -> budgetBalanceIndex.seed(budget));
+    }
+
+    @Override
+    public void scheduleCalculation(Budget budget) {
+        calculateBudget(budget);
+    }
+
+    /**
+     * There are no stored days to recalculate: the index is dropped and rebuilt from the
+     * database on its next read.
+     */
+    @Override
+    public void scheduleFullCalculation(Long budget_id) {
+        evictBudget(budget_id);
+    }
+
+    @Override
+    public boolean isCalculationPending(Long budget_id) {
+        return false;
+    }
+
+    @Override
+    public void reformatBudgetDays(Budget budget) {
+    }
+
+    @Override
+    public void shiftBudgetDays(Budget budget, LocalDate fromDate, BigDecimal delta) {
+        if(delta.signum() == 0 || isDateOutOfBudgetPeriod(fromDate, budget))
+            return;
+
+        afterCommit(() -> budgetBalanceIndex.add(budget.getId(), fromDate, delta));
+    }
+
+    @Override
+    public void moveBudgetDays(Budget budget, LocalDate oldDate, BigDecimal oldDelta,
+                               LocalDate newDate, BigDecimal newDelta) {
+        if(oldDate.isEqual(newDate)) {
+            shiftBudgetDays(budget, newDate, newDelta.subtract(oldDelta));
+            return;
+        }
+
+        shiftBudgetDays(budget, oldDate, oldDelta.negate());
+        shiftBudgetDays(budget, newDate, newDelta);
+    }
+
+    @Override
+    public Stream<BudgetDay> getBudgetDays(Budget budget) {
+        long daysCount = ChronoUnit.DAYS.between(budget.getStartDate(), budget.getEndDate()) + 1;
+        return StreamSupport.stream(Spliterators.spliterator(new BudgetDayIterator(budget), daysCount,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+
+    @Override
+    public BalanceCurveLoad openBudgetDaysLoad(Long budget_id) {
+        return BalanceCurveLoad.uncached(budget_id);
+    }
+
+    @Override
+    public Stream<BudgetDay> getBudgetDays(Budget budget, BalanceCurveLoad balanceCurveLoad) {
+        return getBudgetDays(budget);
+    }
+
+    @Override
+    public Stream<BudgetDay> streamBudgetDays(Budget budget) {
+        return getBudgetDays(budget);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal balanceOn(Long budget_id, LocalDate date) {
+        return budgetBalanceIndex.balanceOn(budget_id, date, () -> budgetRepository.findById(budget_id)
+                .orElseThrow(() -> new DatabaseEntityNotFoundException("Budget not found")));
+    }
+
+    @Override
+    public void evictBudget(Long budget_id) {
+        afterCommit(() -> budgetBalanceIndex.evict(budget_id));
+    }
+
+    private boolean isDateOutOfBudgetPeriod(LocalDate date, Budget budget) {
+        return date.isAfter(budget.getEndDate()) || date.isBefore(budget.getStartDate());
+    }
+
+    private static class BudgetDayIterator implements Iterator<BudgetDay> {
+        private final Budget budget;
+        private final int scale;
+        private final long[] dayBalances;
+        private int offset;
+
+        BudgetDayIterator(Budget budget) {
+            this.budget = budget;
+            this.scale = BudgetBalanceKernel.scaleOf(budget);
+            this.dayBalances = BudgetBalanceKernel.dailyBalances(budget, scale);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return offset < dayBalances.length;
+        }
+
+        @Override
+        public BudgetDay next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            LocalDate date = budget.getStartDate().plusDays(offset);
+            BudgetDay budgetDay = BudgetDay.builder()
+                    .id(null)
+                    .budget(budget)
+                    .dayDate(date)
+                    .amount(BudgetBalanceKernel.fromMinorUnits(dayBalances[offset], scale))
+                    .description(BudgetDay.getDefaultDescription(date))
+                    .build();
+            offset++;
+
+            return budgetDay;
+        }
+    }
+}
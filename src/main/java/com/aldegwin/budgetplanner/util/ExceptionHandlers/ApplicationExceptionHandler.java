@@ -85,6 +85,21 @@ public class ApplicationExceptionHandler {
                         .build());
     }
 
+    @ExceptionHandler(InvalidBatchException.class)
+    public ResponseEntity<ErrorsResponse> handleInvalidBatchException(InvalidBatchException e) {
+        return ResponseEntity.status(BAD_REQUEST_STATUS)
+                .contentType(DEFAULT_CONTENT_TYPE)
+                .body(ErrorsResponse.builder()
+                        .errors(e.getErrors()
+                                .stream()
+                                .map(message -> Error.builder()
+                                        .errorCode(ErrorCode.VALIDATION_ERROR)
+                                        .message(message)
+                                        .build())
+                                .collect(Collectors.toList()))
+                        .build());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorsResponse> handleMethodArgumentNotValidException(
             MethodArgumentNotValidException methodArgumentNotValidException) {
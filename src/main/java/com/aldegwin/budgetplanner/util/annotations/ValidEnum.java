@@ -14,6 +14,7 @@ import java.lang.annotation.Target;
 @Constraint(validatedBy = EnumValidator.class)
 public @interface ValidEnum {
     Class<? extends Enum<?>> enumClass();
+    boolean ignoreCase() default false;
     String message() default "Incorrect value";
     Class<?>[] groups() default {};
     Class<? extends Payload>[] payload() default {};
@@ -0,0 +1,47 @@
+package com.aldegwin.budgetplanner.util.cache;
+
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import static com.aldegwin.budgetplanner.util.transactions.TransactionCallbacks.afterCommit;
+
+/**
+ * Evicts second-level collection caches that Hibernate does not invalidate by itself:
+ * the collections are the inverse side of their associations, so saving or deleting
+ * a child never touches the cached id list of its owner.
+ * <p>
+ * Entries are evicted at once and again after commit, so a concurrent reader cannot
+ * put back the list it loaded before the write became visible.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor {
+    private static final String USER_BUDGETS = User.class.getName() + ".budgets";
+    private static final String BUDGET_INCOMES = Budget.class.getName() + ".incomes";
+    private static final String BUDGET_EXPENSES = Budget.class.getName() + ".expenses";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictUserBudgets(Long user_id) {
+        evictCollection(USER_BUDGETS, user_id);
+    }
+
+    public void evictBudgetIncomes(Long budget_id) {
+        evictCollection(BUDGET_INCOMES, budget_id);
+    }
+
+    public void evictBudgetExpenses(Long budget_id) {
+        evictCollection(BUDGET_EXPENSES, budget_id);
+    }
+
+    private void evictCollection(String role, Long ownerId) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictCollectionData(role, ownerId);
+        afterCommit(() -> cache.evictCollectionData(role, ownerId));
+    }
+}
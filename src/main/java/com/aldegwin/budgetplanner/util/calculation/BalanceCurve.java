@@ -0,0 +1,71 @@
+package com.aldegwin.budgetplanner.util.calculation;
+
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.BudgetDay;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Stored day balances of one budget as parallel primitive arrays indexed by day offset.
+ * Balances are kept in minor units at the column scale, so rebuilt days compare equal to
+ * the rows they were taken from; only descriptions that differ from the default are kept.
+ */
+public record BalanceCurve(long startEpochDay, long[] balances, long[] dayIds, Map<Integer, String> descriptions) {
+    public static final int AMOUNT_SCALE = 2;
+
+    public static Optional<BalanceCurve> of(Budget budget, List<BudgetDay> budgetDays) {
+        int daysCount = Math.toIntExact(budget.getEndDate().toEpochDay() - budget.getStartDate().toEpochDay() + 1);
+        if(budgetDays.size() != daysCount)
+            return Optional.empty();
+
+        long[] balances = new long[daysCount];
+        long[] dayIds = new long[daysCount];
+        boolean[] present = new boolean[daysCount];
+        Map<Integer, String> descriptions = new HashMap<>();
+
+        for(BudgetDay budgetDay : budgetDays) {
+            int offset = BudgetBalanceKernel.offsetOf(budget, budgetDay.getDayDate());
+            if(offset < 0 || offset >= daysCount || present[offset]
+                    || budgetDay.getId() == null || budgetDay.getAmount() == null)
+                return Optional.empty();
+
+            present[offset] = true;
+            balances[offset] = BudgetBalanceKernel.toMinorUnits(budgetDay.getAmount(), AMOUNT_SCALE);
+            dayIds[offset] = budgetDay.getId();
+            if(!BudgetDay.getDefaultDescription(budgetDay.getDayDate()).equals(budgetDay.getDescription()))
+                descriptions.put(offset, budgetDay.getDescription());
+        }
+
+        return Optional.of(new BalanceCurve(budget.getStartDate().toEpochDay(), balances, dayIds,
+                Map.copyOf(descriptions)));
+    }
+
+    public boolean matches(Budget budget) {
+        return startEpochDay == budget.getStartDate().toEpochDay()
+                && balances.length == budget.getEndDate().toEpochDay() - startEpochDay + 1;
+    }
+
+    public int size() {
+        return balances.length;
+    }
+
+    public Stream<BudgetDay> budgetDays(Budget budget) {
+        return IntStream.range(0, balances.length).mapToObj(offset -> {
+            LocalDate dayDate = LocalDate.ofEpochDay(startEpochDay + offset);
+            String description = descriptions.get(offset);
+            return BudgetDay.builder()
+                    .id(dayIds[offset])
+                    .budget(budget)
+                    .dayDate(dayDate)
+                    .amount(BudgetBalanceKernel.fromMinorUnits(balances[offset], AMOUNT_SCALE))
+                    .description(description != null ? description : BudgetDay.getDefaultDescription(dayDate))
+                    .build();
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package com.aldegwin.budgetplanner.util.calculation;
+
+/**
+ * A read of one budget's stored days that may end up in {@link BudgetBalanceCurveCache}.
+ * It has to be opened before the reading transaction runs its first query: the database
+ * snapshot is taken by that query, so a write committed after it but before the load began
+ * would go unnoticed and the curve read from the old rows would be cached.
+ * <p>
+ * Closing the load stores the curve passed to {@link #loaded} if no write touched the budget
+ * since the load was opened. It must be closed also when the days were never read.
+ */
+public final class BalanceCurveLoad implements AutoCloseable {
+    private final BudgetBalanceCurveCache budgetBalanceCurveCache;
+    private final Long budgetId;
+    private final long loadToken;
+    private BalanceCurve loadedCurve;
+
+    BalanceCurveLoad(BudgetBalanceCurveCache budgetBalanceCurveCache, Long budgetId) {
+        this.budgetBalanceCurveCache = budgetBalanceCurveCache;
+        this.budgetId = budgetId;
+        this.loadToken = budgetBalanceCurveCache == null ? 0 : budgetBalanceCurveCache.beginLoad(budgetId);
+    }
+
+    /**
+     * A load that never caches anything, for budgets whose days are not stored.
+     */
+    public static BalanceCurveLoad uncached(Long budgetId) {
+        return new BalanceCurveLoad(null, budgetId);
+    }
+
+    public Long budgetId() {
+        return budgetId;
+    }
+
+    public void loaded(BalanceCurve curve) {
+        loadedCurve = curve;
+    }
+
+    @Override
+    public void close() {
+        if (budgetBalanceCurveCache != null)
+            budgetBalanceCurveCache.endLoad(budgetId, loadToken, loadedCurve);
+    }
+}
@@ -0,0 +1,117 @@
+package com.aldegwin.budgetplanner.util.calculation;
+
+import com.aldegwin.budgetplanner.communication.dto.BalancePointDTO;
+import com.aldegwin.budgetplanner.model.constant.BalanceResolution;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjuster;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Reduces a daily balance curve to the number of points a chart actually draws.
+ * Week and month resolutions keep the closing balance of every period in a single pass,
+ * LTTB keeps the points that preserve the visual shape of the curve.
+ */
+public final class BalanceSeries {
+    private BalanceSeries() {
+    }
+
+    public static List<BalancePointDTO> downsample(Stream<BalancePointDTO> balances,
+                                                   BalanceResolution resolution, int points) {
+        return switch (resolution) {
+            case DAY -> balances.toList();
+            case WEEK -> closingBalances(balances.iterator(), TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> closingBalances(balances.iterator(), TemporalAdjusters.firstDayOfMonth());
+            case LTTB -> largestTriangleThreeBuckets(balances.toList(), points);
+        };
+    }
+
+    /**
+     * Emits the last point of every period, the period being identified by {@code periodStart}.
+     * The input must be ordered by date.
+     */
+    public static List<BalancePointDTO> closingBalances(Iterator<BalancePointDTO> balances,
+                                                        TemporalAdjuster periodStart) {
+        List<BalancePointDTO> result = new ArrayList<>();
+        BalancePointDTO last = null;
+        LocalDate currentPeriod = null;
+
+        while(balances.hasNext()) {
+            BalancePointDTO point = balances.next();
+            LocalDate period = point.getDate().with(periodStart);
+            if(last != null && !period.isEqual(currentPeriod))
+                result.add(last);
+            currentPeriod = period;
+            last = point;
+        }
+
+        if(last != null)
+            result.add(last);
+
+        return result;
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets downsampling. Keeps the first and the last point and, for every
+     * bucket in between, the point forming the largest triangle with the previously kept point and
+     * the average of the next bucket.
+     */
+    public static List<BalancePointDTO> largestTriangleThreeBuckets(List<BalancePointDTO> balances, int points) {
+        int size = balances.size();
+        if(points < 3 || size <= points)
+            return balances;
+
+        double[] x = new double[size];
+        double[] y = new double[size];
+        for(int i = 0; i < size; i++) {
+            x[i] = balances.get(i).getDate().toEpochDay();
+            y[i] = balances.get(i).getBalance().doubleValue();
+        }
+
+        List<BalancePointDTO> result = new ArrayList<>(points);
+        result.add(balances.get(0));
+
+        double bucketSize = (double) (size - 2) / (points - 2);
+        int selected = 0;
+
+        for(int bucket = 0; bucket < points - 2; bucket++) {
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, size);
+
+            double averageX = 0;
+            double averageY = 0;
+            for(int i = nextStart; i < nextEnd; i++) {
+                averageX += x[i];
+                averageY += y[i];
+            }
+            averageX /= nextEnd - nextStart;
+            averageY /= nextEnd - nextStart;
+
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+
+            double maxArea = -1;
+            int maxIndex = start;
+            for(int i = start; i < end; i++) {
+                double area = Math.abs((x[selected] - averageX) * (y[i] - y[selected])
+                        - (x[selected] - x[i]) * (averageY - y[selected]));
+                if(area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                }
+            }
+
+            result.add(balances.get(maxIndex));
+            selected = maxIndex;
+        }
+
+        result.add(balances.get(size - 1));
+
+        return result;
+    }
+}
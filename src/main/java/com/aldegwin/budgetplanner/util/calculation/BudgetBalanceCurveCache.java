@@ -0,0 +1,69 @@
+package com.aldegwin.budgetplanner.util.calculation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Bounded cache of stored day balances, weighted by the number of days so that a few long
+ * budgets cannot push out everything else. Caffeine's W-TinyLFU admission keeps frequently
+ * read budgets and rejects a large newcomer rather than evicting many small hot entries.
+ * <p>
+ * A curve rebuilt from rows read by a request is only stored when no write touched the budget
+ * since its {@link BalanceCurveLoad} was opened; curves published by the calculation always
+ * replace the cached one.
+ */
+@Component
+public class BudgetBalanceCurveCache {
+    private final Cache<Long, BalanceCurve> curves;
+    private final LoadGuard loadGuard = new LoadGuard();
+
+    public BudgetBalanceCurveCache(@Value("${budget-planner.balance-curves.max-days:1000000}") long maxDays,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        this.curves = Caffeine.newBuilder()
+                .maximumWeight(maxDays)
+                .weigher((Long budgetId, BalanceCurve curve) -> curve.size())
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, curves, "budget-balance-curves"));
+    }
+
+    public Optional<BalanceCurve> get(Long budgetId) {
+        return Optional.ofNullable(curves.getIfPresent(budgetId));
+    }
+
+    public BalanceCurveLoad openLoad(Long budgetId) {
+        return new BalanceCurveLoad(this, budgetId);
+    }
+
+    long beginLoad(Long budgetId) {
+        return loadGuard.beginLoad(budgetId);
+    }
+
+    /**
+     * Ends a load started by {@link #beginLoad}, storing {@code loadedCurve} when it is not
+     * {@code null} and nothing was written since.
+     */
+    void endLoad(Long budgetId, long loadToken, BalanceCurve loadedCurve) {
+        loadGuard.endLoad(budgetId, loadToken, loadedCurve == null ? null : () -> curves.put(budgetId, loadedCurve));
+    }
+
+    public void put(Long budgetId, BalanceCurve curve) {
+        loadGuard.write(budgetId, () -> curves.put(budgetId, curve));
+    }
+
+    public void evict(Long budgetId) {
+        loadGuard.write(budgetId, () -> curves.invalidate(budgetId));
+    }
+
+    int pendingLoads() {
+        return loadGuard.size();
+    }
+}
@@ -0,0 +1,146 @@
+package com.aldegwin.budgetplanner.util.calculation;
+
+import com.aldegwin.budgetplanner.exception.IncorrectDateException;
+import com.aldegwin.budgetplanner.model.Budget;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Bounded index of per-budget Fenwick trees, weighted by the number of days like
+ * {@link BudgetBalanceCurveCache}. An evicted budget is rebuilt on the next lookup.
+ * <p>
+ * A tree built from a budget read by a request is only stored when no write touched the budget
+ * in the meantime; trees seeded by the calculation always replace the indexed one.
+ */
+@Component
+public class BudgetBalanceIndex {
+    public static final int MINOR_UNIT_SCALE = 2;
+
+    private final Cache<Long, Entry> entries;
+    private final LoadGuard loadGuard = new LoadGuard();
+
+    public BudgetBalanceIndex(@Value("${budget-planner.balance-index.max-days:1000000}") long maxDays,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxDays)
+                .weigher((Long budgetId, Entry entry) -> entry.tree().size())
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, entries, "budget-balance-index"));
+    }
+
+    public long beginLoad(Long budgetId) {
+        return loadGuard.beginLoad(budgetId);
+    }
+
+    /**
+     * Ends a load started by {@link #beginLoad}, seeding {@code loadedBudget} when it is not
+     * {@code null} and nothing was written since.
+     */
+    public void endLoad(Long budgetId, long loadToken, Budget loadedBudget) {
+        Entry entry = loadedBudget == null ? null : createEntry(loadedBudget);
+        loadGuard.endLoad(budgetId, loadToken, entry == null ? null : () -> entries.put(budgetId, entry));
+    }
+
+    public void seed(Budget budget) {
+        Entry entry = createEntry(budget);
+        loadGuard.write(budget.getId(), () -> entries.put(budget.getId(), entry));
+    }
+
+    public BigDecimal balanceOn(Long budgetId, LocalDate date, Supplier<Budget> budgetLoader) {
+        return balanceOn(budgetId, date).orElseGet(() -> {
+            Budget budget = load(budgetId, budgetLoader);
+            return balanceOn(budgetId, date).orElseGet(() -> balanceOn(createEntry(budget), date));
+        });
+    }
+
+    public Optional<BigDecimal> balanceOn(Long budgetId, LocalDate date) {
+        Entry entry = entries.getIfPresent(budgetId);
+        if (entry == null)
+            return Optional.empty();
+
+        return Optional.of(balanceOn(entry, date));
+    }
+
+    /**
+     * Runs after the write committed, so a date outside the indexed period, left by a period
+     * change the calculation has not reseeded yet, drops the entry instead of failing.
+     */
+    public void add(Long budgetId, LocalDate date, BigDecimal delta) {
+        loadGuard.write(budgetId, () -> {
+            Entry entry = entries.getIfPresent(budgetId);
+            if (entry == null)
+                return;
+
+            if (!entry.contains(date)) {
+                entries.invalidate(budgetId);
+                return;
+            }
+
+            int offset = entry.offsetOf(date);
+            synchronized (entry) {
+                entry.tree().add(offset, toMinorUnits(delta));
+            }
+        });
+    }
+
+    public void evict(Long budgetId) {
+        loadGuard.write(budgetId, () -> entries.invalidate(budgetId));
+    }
+
+    int pendingLoads() {
+        return loadGuard.size();
+    }
+
+    private Budget load(Long budgetId, Supplier<Budget> budgetLoader) {
+        long loadToken = beginLoad(budgetId);
+        Budget budget = null;
+        try {
+            budget = budgetLoader.get();
+            return budget;
+        } finally {
+            endLoad(budgetId, loadToken, budget);
+        }
+    }
+
+    private BigDecimal balanceOn(Entry entry, LocalDate date) {
+        int offset = entry.offsetOf(date);
+        synchronized (entry) {
+            return BigDecimal.valueOf(entry.startingAmount() + entry.tree().prefixSum(offset), MINOR_UNIT_SCALE);
+        }
+    }
+
+    private Entry createEntry(Budget budget) {
+        return new Entry(budget.getStartDate().toEpochDay(),
+                BudgetBalanceKernel.toMinorUnits(budget.getAmount(), MINOR_UNIT_SCALE),
+                new FenwickTree(BudgetBalanceKernel.dailyDeltas(budget, MINOR_UNIT_SCALE)));
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        return BudgetBalanceKernel.toMinorUnits(amount, MINOR_UNIT_SCALE);
+    }
+
+    private record Entry(long startEpochDay, long startingAmount, FenwickTree tree) {
+        boolean contains(LocalDate date) {
+            long offset = date.toEpochDay() - startEpochDay;
+            return offset >= 0 && offset < tree.size();
+        }
+
+        int offsetOf(LocalDate date) {
+            if (!contains(date))
+                throw new IncorrectDateException("The entered date is not included in the budget deadline");
+            return (int) (date.toEpochDay() - startEpochDay);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.aldegwin.budgetplanner.util.calculation;
+
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.Expense;
+import com.aldegwin.budgetplanner.model.Income;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+public final class BudgetBalanceKernel {
+    private BudgetBalanceKernel() {
+    }
+
+    public static int scaleOf(Budget budget) {
+        int scale = Math.max(budget.getAmount().scale(), 0);
+        for (Income income : budget.getIncomes())
+            scale = Math.max(scale, income.getAmount().scale());
+        for (Expense expense : budget.getExpenses())
+            scale = Math.max(scale, expense.getAmount().scale());
+        return scale;
+    }
+
+    public static long[] dailyDeltas(Budget budget, int scale) {
+        long startEpochDay = budget.getStartDate().toEpochDay();
+        long[] deltas = new long[daysCount(budget)];
+
+        for (Income income : budget.getIncomes()) {
+            long offset = income.getIncomeDate().toEpochDay() - startEpochDay;
+            if (offset >= 0 && offset < deltas.length)
+                deltas[(int) offset] += toMinorUnits(income.getAmount(), scale);
+        }
+
+        for (Expense expense : budget.getExpenses()) {
+            long offset = expense.getExpenseDate().toEpochDay() - startEpochDay;
+            if (offset >= 0 && offset < deltas.length)
+                deltas[(int) offset] -= toMinorUnits(expense.getAmount(), scale);
+        }
+
+        return deltas;
+    }
+
+    public static long[] dailyBalances(Budget budget, int scale) {
+        long[] balances = dailyDeltas(budget, scale);
+        runningSum(toMinorUnits(budget.getAmount(), scale), balances);
+        return balances;
+    }
+
+    public static void runningSum(long startingAmount, long[] values) {
+        long sum = startingAmount;
+        for (int i = 0; i < values.length; i++) {
+            sum += values[i];
+            values[i] = sum;
+        }
+    }
+
+    public static int offsetOf(Budget budget, LocalDate date) {
+        return (int) (date.toEpochDay() - budget.getStartDate().toEpochDay());
+    }
+
+    public static long toMinorUnits(BigDecimal amount, int scale) {
+        return amount.setScale(scale, RoundingMode.HALF_UP).scaleByPowerOfTen(scale).longValueExact();
+    }
+
+    public static BigDecimal fromMinorUnits(long amount, int scale) {
+        return BigDecimal.valueOf(amount, scale);
+    }
+
+    private static int daysCount(Budget budget) {
+        return Math.toIntExact(budget.getEndDate().toEpochDay() - budget.getStartDate().toEpochDay() + 1);
+    }
+}
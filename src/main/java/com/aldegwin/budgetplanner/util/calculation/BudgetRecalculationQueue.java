@@ -0,0 +1,150 @@
+package com.aldegwin.budgetplanner.util.calculation;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces the derived-balance work of each budget into at most one run at a time.
+ * <p>
+ * Single transaction writes queue a delta on the first day they affect; deltas are summed per
+ * day and handed to the shift as one sorted map. A full recalculation reads everything that
+ * was committed before it starts, so it drops the deltas queued so far, and deltas queued
+ * while it runs schedule another full recalculation rather than a shift.
+ */
+@Slf4j
+@Component
+public class BudgetRecalculationQueue {
+    private final Map<Long, Task> tasks = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+    private final long delayMillis;
+
+    public BudgetRecalculationQueue(@Value("${budget-planner.recalculation.delay:200ms}") Duration delay,
+                                    @Value("${budget-planner.recalculation.threads:2}") int threads) {
+        this.delayMillis = delay.toMillis();
+        this.executor = Executors.newScheduledThreadPool(threads, new RecalculationThreadFactory());
+    }
+
+    public void enqueue(Long budgetId, Runnable recalculation) {
+        tasks.compute(budgetId, (id, task) -> {
+            Task current = task == null ? new Task(id) : task;
+            current.recalculation = recalculation;
+            current.deltas.clear();
+            return submit(task, current);
+        });
+    }
+
+    public void enqueueShift(Long budgetId, LocalDate fromDate, BigDecimal delta,
+                             Consumer<NavigableMap<LocalDate, BigDecimal>> shift) {
+        tasks.compute(budgetId, (id, task) -> {
+            Task current = task == null ? new Task(id) : task;
+            if (current.runningRecalculation != null) {
+                current.recalculation = current.runningRecalculation;
+            } else if (current.recalculation == null) {
+                current.shift = shift;
+                current.deltas.merge(fromDate, delta, BigDecimal::add);
+                if (current.deltas.get(fromDate).signum() == 0)
+                    current.deltas.remove(fromDate);
+            }
+            return submit(task, current);
+        });
+    }
+
+    public boolean isPending(Long budgetId) {
+        return tasks.containsKey(budgetId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Task submit(Task existingTask, Task task) {
+        if (existingTask == null)
+            schedule(task);
+        else if (task.running)
+            task.rerun = true;
+        return task;
+    }
+
+    private void schedule(Task task) {
+        executor.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private final class Task implements Runnable {
+        private final Long budgetId;
+        private final NavigableMap<LocalDate, BigDecimal> deltas = new TreeMap<>();
+        private Runnable recalculation;
+        private Runnable runningRecalculation;
+        private Consumer<NavigableMap<LocalDate, BigDecimal>> shift;
+        private boolean running;
+        private boolean rerun;
+
+        private Task(Long budgetId) {
+            this.budgetId = budgetId;
+        }
+
+        @Override
+        public void run() {
+            Runnable[] current = new Runnable[1];
+            tasks.computeIfPresent(budgetId, (id, task) -> {
+                task.running = true;
+                if (task.recalculation != null) {
+                    task.runningRecalculation = task.recalculation;
+                    current[0] = task.recalculation;
+                } else if (!task.deltas.isEmpty()) {
+                    NavigableMap<LocalDate, BigDecimal> deltas = new TreeMap<>(task.deltas);
+                    Consumer<NavigableMap<LocalDate, BigDecimal>> shift = task.shift;
+                    current[0] = () -> shift.accept(deltas);
+                }
+                task.recalculation = null;
+                task.deltas.clear();
+                return task;
+            });
+
+            try {
+                if (current[0] != null)
+                    current[0].run();
+            } catch (RuntimeException e) {
+                log.error("Recalculation of budget {} failed", budgetId, e);
+            } finally {
+                tasks.computeIfPresent(budgetId, (id, task) -> {
+                    task.running = false;
+                    task.runningRecalculation = null;
+                    if (!task.rerun)
+                        return null;
+
+                    task.rerun = false;
+                    schedule(task);
+                    return task;
+                });
+            }
+        }
+    }
+
+    private static final class RecalculationThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "budget-recalculation-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.aldegwin.budgetplanner.util.calculation;
+
+import com.aldegwin.budgetplanner.communication.dto.CategoryAggregateDTO;
+import com.aldegwin.budgetplanner.model.constant.AggregationPeriod;
+import com.aldegwin.budgetplanner.repository.projection.CategoryTotal;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * Rolls the per-day category totals returned by the database up into day, week, month or
+ * whole-budget periods. Every period accumulates into an {@link EnumMap} keyed by the category.
+ */
+public final class CategoryAggregation {
+    private CategoryAggregation() {
+    }
+
+    public static <E extends Enum<E>> List<CategoryAggregateDTO<E>> aggregate(List<CategoryTotal<E>> totals,
+                                                                               Class<E> categoryType,
+                                                                               AggregationPeriod period,
+                                                                               LocalDate fromDate,
+                                                                               LocalDate toDate) {
+        SortedMap<LocalDate, EnumMap<E, BigDecimal>> periods = new TreeMap<>();
+
+        if(period == AggregationPeriod.BUDGET)
+            periods.put(fromDate, new EnumMap<>(categoryType));
+
+        for(CategoryTotal<E> total : totals) {
+            LocalDate periodStart = periodStart(total.date(), period, fromDate);
+            periods.computeIfAbsent(periodStart, date -> new EnumMap<>(categoryType))
+                    .merge(total.category(), total.amount(), BigDecimal::add);
+        }
+
+        List<CategoryAggregateDTO<E>> result = new ArrayList<>(periods.size());
+        periods.forEach((periodStart, categories) -> result.add(CategoryAggregateDTO.<E>builder()
+                .periodStart(max(periodStart, fromDate))
+                .periodEnd(min(periodEnd(periodStart, period, toDate), toDate))
+                .totals(categories)
+                .total(categories.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add))
+                .build()));
+
+        return result;
+    }
+
+    private static LocalDate periodStart(LocalDate date, AggregationPeriod period, LocalDate fromDate) {
+        return switch (period) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.with(TemporalAdjusters.firstDayOfMonth());
+            case BUDGET -> fromDate;
+        };
+    }
+
+    private static LocalDate periodEnd(LocalDate periodStart, AggregationPeriod period, LocalDate toDate) {
+        return switch (period) {
+            case DAY -> periodStart;
+            case WEEK -> periodStart.plusDays(6);
+            case MONTH -> periodStart.with(TemporalAdjusters.lastDayOfMonth());
+            case BUDGET -> toDate;
+        };
+    }
+
+    private static LocalDate max(LocalDate first, LocalDate second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    private static LocalDate min(LocalDate first, LocalDate second) {
+        return first.isBefore(second) ? first : second;
+    }
+}
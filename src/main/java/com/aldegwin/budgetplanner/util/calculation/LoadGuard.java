@@ -0,0 +1,63 @@
+package com.aldegwin.budgetplanner.util.calculation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a value read by a request from being cached after a write that made it stale.
+ * Writes are only counted while a load of the same budget is in flight, and the counter is
+ * dropped when the last load ends, so nothing is kept for budgets nobody is loading.
+ */
+final class LoadGuard {
+    private final Map<Long, Load> loads = new ConcurrentHashMap<>();
+
+    long beginLoad(Long budgetId) {
+        long[] loadToken = new long[1];
+        loads.compute(budgetId, (id, load) -> {
+            Load current = load == null ? new Load() : load;
+            current.loads++;
+            loadToken[0] = current.writes;
+            return current;
+        });
+        return loadToken[0];
+    }
+
+    /**
+     * Runs {@code write} atomically with respect to {@link #endLoad} and marks every load
+     * of the budget in flight as stale.
+     */
+    void write(Long budgetId, Runnable write) {
+        loads.compute(budgetId, (id, load) -> {
+            write.run();
+            if (load != null)
+                load.writes++;
+            return load;
+        });
+    }
+
+    /**
+     * Ends a load started by {@link #beginLoad}, running {@code store} only when no write
+     * happened since. Must be called once per load, also when the load failed.
+     */
+    void endLoad(Long budgetId, long loadToken, Runnable store) {
+        loads.compute(budgetId, (id, load) -> {
+            if (load == null)
+                return null;
+
+            if (store != null && load.writes == loadToken)
+                store.run();
+
+            load.loads--;
+            return load.loads == 0 ? null : load;
+        });
+    }
+
+    int size() {
+        return loads.size();
+    }
+
+    private static final class Load {
+        private int loads;
+        private long writes;
+    }
+}
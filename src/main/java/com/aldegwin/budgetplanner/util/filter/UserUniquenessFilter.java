@@ -0,0 +1,75 @@
+package com.aldegwin.budgetplanner.util.filter;
+
+import com.aldegwin.budgetplanner.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Negative-lookup filter of taken usernames and emails. A "no" answer lets registration
+ * skip the uniqueness query; a "maybe" still goes to the database. Keys are folded the way
+ * the case- and accent-insensitive column collation compares them, so a value the database
+ * would reject can never be reported as free. Until the filter is loaded every lookup
+ * answers "maybe"; removed users are never taken out and only cost an extra query.
+ */
+@Slf4j
+@Component
+public class UserUniquenessFilter {
+    private final UserRepository userRepository;
+    private final BloomFilter bloomFilter;
+    private volatile boolean loaded;
+
+    public UserUniquenessFilter(UserRepository userRepository,
+                                @Value("${budget-planner.user-uniqueness.expected-users:1000000}") long expectedUsers,
+                                @Value("${budget-planner.user-uniqueness.false-positive-probability:0.01}")
+                                double falsePositiveProbability) {
+        this.userRepository = userRepository;
+        this.bloomFilter = new BloomFilter(2 * expectedUsers, falsePositiveProbability);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<Object[]> uniqueFields = userRepository.streamAllUniqueFields()) {
+            uniqueFields.forEach(fields -> add((String) fields[0], (String) fields[1]));
+        }
+        loaded = true;
+        log.info("User uniqueness filter loaded with {} bits and {} hashes",
+                bloomFilter.getBitCount(), bloomFilter.getHashCount());
+    }
+
+    public boolean mightBeTaken(String username, String email) {
+        return !loaded
+                || bloomFilter.mightContain(usernameKey(username))
+                || bloomFilter.mightContain(emailKey(email));
+    }
+
+    public void add(String username, String email) {
+        bloomFilter.add(usernameKey(username));
+        bloomFilter.add(emailKey(email));
+    }
+
+    private static String usernameKey(String username) {
+        return "u:" + fold(username);
+    }
+
+    private static String emailKey(String email) {
+        return "e:" + fold(email);
+    }
+
+    private static String fold(String value) {
+        if (value == null)
+            return "";
+        return Normalizer.normalize(value, Normalizer.Form.NFKD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .stripTrailing();
+    }
+}
@@ -0,0 +1,65 @@
+package com.aldegwin.budgetplanner.util.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Jackson module for the binary (CBOR and Smile) representations. Dates are written as
+ * epoch-day integers and amounts as longs in minor units at the scale of the amount columns,
+ * which both formats encode in a few bytes instead of a string. An amount that would need
+ * rounding or does not fit a long fails the write instead of being altered.
+ */
+public class CompactBinaryModule extends SimpleModule {
+    public static final int AMOUNT_SCALE = 2;
+
+    public CompactBinaryModule() {
+        super("CompactBinaryModule");
+
+        addSerializer(LocalDate.class, new JsonSerializer<>() {
+            @Override
+            public void serialize(LocalDate value, JsonGenerator generator,
+                                  SerializerProvider provider) throws IOException {
+                generator.writeNumber(value.toEpochDay());
+            }
+        });
+        addDeserializer(LocalDate.class, new JsonDeserializer<>() {
+            @Override
+            public LocalDate deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+                return LocalDate.ofEpochDay(parser.getLongValue());
+            }
+        });
+
+        addSerializer(BigDecimal.class, new JsonSerializer<>() {
+            @Override
+            public void serialize(BigDecimal value, JsonGenerator generator,
+                                  SerializerProvider provider) throws IOException {
+                if (value.stripTrailingZeros().scale() > AMOUNT_SCALE)
+                    provider.reportMappingProblem("Amount %s has more than %d decimal places",
+                            value, AMOUNT_SCALE);
+
+                BigInteger minorUnits = value.setScale(AMOUNT_SCALE, RoundingMode.UNNECESSARY).unscaledValue();
+                if (minorUnits.bitLength() >= Long.SIZE)
+                    provider.reportMappingProblem("Amount %s does not fit a long in minor units", value);
+
+                generator.writeNumber(minorUnits.longValue());
+            }
+        });
+        addDeserializer(BigDecimal.class, new JsonDeserializer<>() {
+            @Override
+            public BigDecimal deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+                return BigDecimal.valueOf(parser.getLongValue(), AMOUNT_SCALE);
+            }
+        });
+    }
+}
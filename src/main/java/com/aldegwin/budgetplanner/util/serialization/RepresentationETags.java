@@ -0,0 +1,52 @@
+package com.aldegwin.budgetplanner.util.serialization;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Folds the encoding a request negotiates into the ETags built by the command services, so a
+ * validator of the JSON representation never answers a CBOR or Smile request with 304.
+ * JSON tags keep their plain form. The encoding is picked like Spring MVC picks a converter:
+ * the first of JSON, CBOR and Smile compatible with the best ranked {@code Accept} type.
+ */
+@Component
+@RequiredArgsConstructor
+public class RepresentationETags {
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private static final List<MediaType> PRODUCIBLE_TYPES =
+            List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+    private static final Map<MediaType, String> SUFFIXES =
+            Map.of(MediaType.APPLICATION_CBOR, "-cbor", APPLICATION_SMILE, "-smile");
+
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    public Predicate<String> isNotModified(NativeWebRequest webRequest) {
+        String suffix = SUFFIXES.getOrDefault(negotiate(webRequest), "");
+        return eTag -> webRequest.checkNotModified(withSuffix(eTag, suffix));
+    }
+
+    private MediaType negotiate(NativeWebRequest webRequest) {
+        try {
+            for (MediaType acceptableType : contentNegotiationManager.resolveMediaTypes(webRequest))
+                for (MediaType producibleType : PRODUCIBLE_TYPES)
+                    if (acceptableType.isCompatibleWith(producibleType))
+                        return producibleType;
+        } catch (HttpMediaTypeNotAcceptableException ignored) {
+            // An unparsable Accept is rejected when the response is written
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private static String withSuffix(String eTag, String suffix) {
+        return eTag.substring(0, eTag.length() - 1) + suffix + "\"";
+    }
+}
@@ -10,16 +10,20 @@ import java.util.stream.Collectors;
 
 public class EnumValidator implements ConstraintValidator<ValidEnum, String> {
     private List<String> acceptedValues;
+    private boolean ignoreCase;
     @Override
     public void initialize(ValidEnum annotation) {
         acceptedValues = Arrays.stream(annotation.enumClass().getEnumConstants())
                 .map(Enum::name)
                 .collect(Collectors.toList());
+        ignoreCase = annotation.ignoreCase();
         ConstraintValidator.super.initialize(annotation);
     }
 
     @Override
     public boolean isValid(String s, ConstraintValidatorContext constraintValidatorContext) {
+        if(ignoreCase && s != null)
+            return acceptedValues.stream().anyMatch(s::equalsIgnoreCase);
         return acceptedValues.contains(s);
     }
 }
@@ -0,0 +1,136 @@
+package com.aldegwin.budgetplanner.benchmark;
+
+import com.aldegwin.budgetplanner.communication.dto.BudgetDTO;
+import com.aldegwin.budgetplanner.communication.dto.BudgetDayDTO;
+import com.aldegwin.budgetplanner.communication.dto.ExpenseDTO;
+import com.aldegwin.budgetplanner.communication.dto.IncomeDTO;
+import com.aldegwin.budgetplanner.communication.mapper.BudgetDayMapper;
+import com.aldegwin.budgetplanner.model.BudgetDay;
+import com.aldegwin.budgetplanner.util.serialization.CompactBinaryModule;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares payload size and serialization throughput of a 3,650-day budget in JSON and in the
+ * compact CBOR and Smile encodings, with days as objects and as a columnar series. Payload sizes are printed before the benchmarks run.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.aldegwin.budgetplanner.benchmark.BinaryEncodingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryEncodingBenchmark {
+    private static final int DAYS_COUNT = 3650;
+    private static final int TRANSACTIONS_COUNT = 2000;
+
+    private BudgetDTO budgetDTO;
+    private BudgetDTO columnarBudgetDTO;
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private ObjectMapper smileMapper;
+
+    @Setup
+    public void setup() {
+        budgetDTO = createBudgetDto();
+        columnarBudgetDTO = BudgetDTO.builder()
+                .id(budgetDTO.getId())
+                .name(budgetDTO.getName())
+                .amount(budgetDTO.getAmount())
+                .startDate(budgetDTO.getStartDate())
+                .endDate(budgetDTO.getEndDate())
+                .incomes(budgetDTO.getIncomes())
+                .expenses(budgetDTO.getExpenses())
+                .budgetDaySeries(new BudgetDayMapper().toSeries(budgetDTO.getBudgetDays().stream()
+                        .map(day -> new BudgetDay(day.getId(), day.getLocalDate(), day.getAmount(),
+                                null, day.getDescription()))))
+                .build();
+        jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        cborMapper = Jackson2ObjectMapperBuilder.cbor().modulesToInstall(new CompactBinaryModule()).build();
+        smileMapper = Jackson2ObjectMapperBuilder.smile().modulesToInstall(new CompactBinaryModule()).build();
+    }
+
+    @Benchmark
+    public byte[] json() throws JsonProcessingException {
+        return jsonMapper.writeValueAsBytes(budgetDTO);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(budgetDTO);
+    }
+
+    @Benchmark
+    public byte[] smile() throws JsonProcessingException {
+        return smileMapper.writeValueAsBytes(budgetDTO);
+    }
+
+    @Benchmark
+    public byte[] jsonColumnarDays() throws JsonProcessingException {
+        return jsonMapper.writeValueAsBytes(columnarBudgetDTO);
+    }
+
+    @Benchmark
+    public byte[] smileColumnarDays() throws JsonProcessingException {
+        return smileMapper.writeValueAsBytes(columnarBudgetDTO);
+    }
+
+    private static BudgetDTO createBudgetDto() {
+        Random random = new Random(42);
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+
+        List<IncomeDTO> incomes = new ArrayList<>();
+        List<ExpenseDTO> expenses = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS_COUNT; i++) {
+            LocalDate date = startDate.plusDays(random.nextInt(DAYS_COUNT));
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(1_000_000), 2);
+            if (i % 2 == 0)
+                incomes.add(new IncomeDTO((long) i, amount, date, "income", "SALARY"));
+            else
+                expenses.add(new ExpenseDTO((long) i, amount, date, "expense", "GROCERIES"));
+        }
+
+        List<BudgetDayDTO> budgetDays = new ArrayList<>();
+        for (int i = 0; i < DAYS_COUNT; i++)
+            budgetDays.add(new BudgetDayDTO((long) i, startDate.plusDays(i),
+                    BigDecimal.valueOf(random.nextInt(10_000_000), 2), "Balance on " + startDate.plusDays(i)));
+
+        return BudgetDTO.builder()
+                .id(1L)
+                .name("budget")
+                .amount(new BigDecimal("1000.00"))
+                .startDate(startDate)
+                .endDate(startDate.plusDays(DAYS_COUNT - 1))
+                .incomes(incomes)
+                .expenses(expenses)
+                .budgetDays(budgetDays)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException, JsonProcessingException {
+        BinaryEncodingBenchmark benchmark = new BinaryEncodingBenchmark();
+        benchmark.setup();
+        System.out.printf("Payload size: json=%d B, cbor=%d B, smile=%d B, " +
+                        "json (columnar days)=%d B, smile (columnar days)=%d B%n",
+                benchmark.json().length, benchmark.cbor().length, benchmark.smile().length,
+                benchmark.jsonColumnarDays().length, benchmark.smileColumnarDays().length);
+
+        new Runner(new OptionsBuilder()
+                .include(BinaryEncodingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,102 @@
+package com.aldegwin.budgetplanner.benchmark;
+
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.BudgetDay;
+import com.aldegwin.budgetplanner.model.Expense;
+import com.aldegwin.budgetplanner.model.Income;
+import com.aldegwin.budgetplanner.util.calculation.BudgetBalanceKernel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the HashMap/BigDecimal day balance calculation with the long minor-unit kernel.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.aldegwin.budgetplanner.benchmark.BudgetCalculatingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BudgetCalculatingBenchmark {
+    private static final int TRANSACTIONS_COUNT = 100_000;
+
+    @Param({"365", "3650", "36500"})
+    private int daysCount;
+
+    private Budget budget;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+
+        List<Income> incomes = new ArrayList<>();
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS_COUNT; i++) {
+            LocalDate date = startDate.plusDays(random.nextInt(daysCount));
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(1_000_000), 2);
+            if (i % 2 == 0)
+                incomes.add(Income.builder().amount(amount).incomeDate(date).build());
+            else
+                expenses.add(Expense.builder().amount(amount).expenseDate(date).build());
+        }
+
+        List<BudgetDay> budgetDays = new ArrayList<>();
+        for (int i = 0; i < daysCount; i++)
+            budgetDays.add(BudgetDay.builder().dayDate(startDate.plusDays(i)).build());
+
+        budget = Budget.builder()
+                .amount(new BigDecimal("1000.00"))
+                .startDate(startDate)
+                .endDate(startDate.plusDays(daysCount - 1))
+                .incomes(incomes)
+                .expenses(expenses)
+                .budgetDays(budgetDays)
+                .build();
+    }
+
+    @Benchmark
+    public BigDecimal hashMapBigDecimal() {
+        Map<LocalDate, BigDecimal> dayBalance = new HashMap<>();
+
+        budget.getIncomes().forEach(i -> {
+            LocalDate incomeDate = i.getIncomeDate();
+            dayBalance.put(incomeDate, dayBalance.getOrDefault(incomeDate, BigDecimal.ZERO)
+                    .add(i.getAmount()));
+        });
+
+        budget.getExpenses().forEach(e -> {
+            LocalDate expenseDate = e.getExpenseDate();
+            dayBalance.put(expenseDate, dayBalance.getOrDefault(expenseDate, BigDecimal.ZERO)
+                    .subtract(e.getAmount()));
+        });
+
+        BigDecimal currentDayAmount = budget.getAmount();
+        for (BudgetDay budgetDay : budget.getBudgetDays())
+            currentDayAmount = currentDayAmount.add(dayBalance
+                    .getOrDefault(budgetDay.getDayDate(), BigDecimal.ZERO));
+
+        return currentDayAmount;
+    }
+
+    @Benchmark
+    public long longKernel() {
+        long[] balances = BudgetBalanceKernel.dailyBalances(budget, BudgetBalanceKernel.scaleOf(budget));
+        return balances[balances.length - 1];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BudgetCalculatingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
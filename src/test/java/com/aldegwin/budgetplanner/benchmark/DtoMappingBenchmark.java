@@ -0,0 +1,114 @@
+package com.aldegwin.budgetplanner.benchmark;
+
+import com.aldegwin.budgetplanner.communication.dto.BudgetDTO;
+import com.aldegwin.budgetplanner.communication.dto.BudgetDayDTO;
+import com.aldegwin.budgetplanner.communication.mapper.BudgetDayMapper;
+import com.aldegwin.budgetplanner.communication.mapper.BudgetMapper;
+import com.aldegwin.budgetplanner.communication.mapper.ExpenseMapper;
+import com.aldegwin.budgetplanner.communication.mapper.IncomeMapper;
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.BudgetDay;
+import com.aldegwin.budgetplanner.model.Expense;
+import com.aldegwin.budgetplanner.model.Income;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares mapping one budget to {@link BudgetDTO} through the reflective ModelMapper
+ * configuration the controllers used before with the hand-written mappers.
+ * Run with the GC profiler (enabled by main) to see allocation per mapped budget:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.aldegwin.budgetplanner.benchmark.DtoMappingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+    @Param({"365"})
+    private int daysCount;
+
+    @Param({"100", "1000"})
+    private int transactionsCount;
+
+    private Budget budget;
+    private ModelMapper modelMapper;
+    private BudgetMapper budgetMapper;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+
+        List<Income> incomes = new ArrayList<>();
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < transactionsCount; i++) {
+            LocalDate date = startDate.plusDays(random.nextInt(daysCount));
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(1_000_000), 2);
+            if (i % 2 == 0)
+                incomes.add(Income.builder().id((long) i).amount(amount).incomeDate(date)
+                        .description("income").incomeType(IncomeType.SALARY).build());
+            else
+                expenses.add(Expense.builder().id((long) i).amount(amount).expenseDate(date)
+                        .description("expense").expenseType(ExpenseType.GROCERIES).build());
+        }
+
+        List<BudgetDay> budgetDays = new ArrayList<>();
+        for (int i = 0; i < daysCount; i++)
+            budgetDays.add(BudgetDay.builder().id((long) i).dayDate(startDate.plusDays(i))
+                    .amount(new BigDecimal("1000.00")).description("Balance on " + startDate.plusDays(i)).build());
+
+        budget = Budget.builder()
+                .id(1L)
+                .name("budget")
+                .amount(new BigDecimal("1000.00"))
+                .startDate(startDate)
+                .endDate(startDate.plusDays(daysCount - 1))
+                .incomes(incomes)
+                .expenses(expenses)
+                .budgetDays(budgetDays)
+                .build();
+
+        modelMapper = new ModelMapper();
+        modelMapper.typeMap(Budget.class, BudgetDTO.class)
+                .addMappings(mapper -> mapper.skip(BudgetDTO::setBudgetDays));
+
+        budgetMapper = new BudgetMapper(new IncomeMapper(), new ExpenseMapper(), new BudgetDayMapper());
+    }
+
+    @Benchmark
+    public BudgetDTO modelMapper() {
+        BudgetDTO budgetDTO = modelMapper.map(budget, BudgetDTO.class);
+        budgetDTO.setBudgetDays(budget.getBudgetDays().stream()
+                .map(budgetDay -> modelMapper.map(budgetDay, BudgetDayDTO.class))
+                .toList());
+        return budgetDTO;
+    }
+
+    @Benchmark
+    public BudgetDTO handWrittenMapper() {
+        return budgetMapper.toDto(budget, budget.getBudgetDays().stream(), false);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DtoMappingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
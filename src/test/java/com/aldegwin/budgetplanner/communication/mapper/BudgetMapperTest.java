@@ -0,0 +1,135 @@
+package com.aldegwin.budgetplanner.communication.mapper;
+
+import com.aldegwin.budgetplanner.communication.dto.*;
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.BudgetDay;
+import com.aldegwin.budgetplanner.model.Expense;
+import com.aldegwin.budgetplanner.model.Income;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BudgetMapperTest {
+    private final BudgetMapper budgetMapper =
+            new BudgetMapper(new IncomeMapper(), new ExpenseMapper(), new BudgetDayMapper());
+
+    private Budget budget;
+
+    @BeforeEach
+    public void initialize() {
+        budget = Budget.builder()
+                .id(1L)
+                .name("budget")
+                .amount(new BigDecimal(100))
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 2))
+                .description("budgetDescription")
+                .incomes(List.of(Income.builder()
+                        .id(1L)
+                        .amount(new BigDecimal(50))
+                        .incomeDate(LocalDate.of(2024, 1, 1))
+                        .description("income")
+                        .incomeType(IncomeType.SALARY)
+                        .build()))
+                .expenses(List.of(Expense.builder()
+                        .id(2L)
+                        .amount(new BigDecimal(30))
+                        .expenseDate(LocalDate.of(2024, 1, 2))
+                        .description("expense")
+                        .expenseType(ExpenseType.TRAVEL)
+                        .build()))
+                .build();
+    }
+
+    @Test
+    void givenBudgetAndDays_whenToDto_returnBudgetDto() {
+        BudgetDay budgetDay = BudgetDay.builder()
+                .id(3L)
+                .dayDate(LocalDate.of(2024, 1, 1))
+                .amount(new BigDecimal(150))
+                .description("Balance on 2024-01-01")
+                .build();
+
+        BudgetDTO expected = BudgetDTO.builder()
+                .id(1L)
+                .name("budget")
+                .amount(new BigDecimal(100))
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 2))
+                .description("budgetDescription")
+                .incomes(List.of(new IncomeDTO(1L, new BigDecimal(50), LocalDate.of(2024, 1, 1),
+                        "income", "SALARY")))
+                .expenses(List.of(new ExpenseDTO(2L, new BigDecimal(30), LocalDate.of(2024, 1, 2),
+                        "expense", "TRAVEL")))
+                .budgetDays(List.of(new BudgetDayDTO(3L, LocalDate.of(2024, 1, 1), new BigDecimal(150),
+                        "Balance on 2024-01-01")))
+                .recalculationPending(true)
+                .build();
+
+        BudgetDTO result = budgetMapper.toDto(budget, List.of(budgetDay).stream(), true);
+
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void givenBudgetAndDays_whenToDtoColumnar_returnDeltaEncodedSeries() {
+        List<BudgetDay> budgetDays = List.of(
+                BudgetDay.builder().id(1L).dayDate(LocalDate.of(2024, 1, 1)).amount(new BigDecimal("100.00"))
+                        .description(BudgetDay.getDefaultDescription(LocalDate.of(2024, 1, 1))).build(),
+                BudgetDay.builder().id(2L).dayDate(LocalDate.of(2024, 1, 2)).amount(new BigDecimal("120.50"))
+                        .description("Payday").build(),
+                BudgetDay.builder().id(4L).dayDate(LocalDate.of(2024, 1, 4)).amount(new BigDecimal("90.5"))
+                        .description(BudgetDay.getDefaultDescription(LocalDate.of(2024, 1, 4))).build());
+
+        BudgetDTO result = budgetMapper.toDto(budget, budgetDays.stream(), false, true);
+
+        BudgetDaySeriesDTO expected = new BudgetDaySeriesDTO(LocalDate.of(2024, 1, 1), 4, 2,
+                new long[] {10000, 2050, 0, -3000}, Map.of(1, "Payday"));
+        assertNull(result.getBudgetDays());
+        assertEquals(expected, result.getBudgetDaySeries());
+    }
+
+    @Test
+    void givenNoDays_whenToDtoColumnar_returnEmptySeries() {
+        BudgetDTO result = budgetMapper.toDto(budget, List.<BudgetDay>of().stream(), false, true);
+
+        assertEquals(0, result.getBudgetDaySeries().getCount());
+        assertEquals(0, result.getBudgetDaySeries().getAmounts().length);
+    }
+
+    @Test
+    void givenBudgetDto_whenToEntity_returnBudgetWithoutNestedCollections() {
+        BudgetDTO budgetDTO = budgetMapper.toDto(budget, List.<BudgetDay>of().stream(), false);
+
+        Budget result = budgetMapper.toEntity(budgetDTO);
+
+        assertEquals(budget.getId(), result.getId());
+        assertEquals(budget.getName(), result.getName());
+        assertEquals(budget.getAmount(), result.getAmount());
+        assertEquals(budget.getStartDate(), result.getStartDate());
+        assertEquals(budget.getEndDate(), result.getEndDate());
+        assertEquals(budget.getDescription(), result.getDescription());
+        assertNull(result.getIncomes());
+        assertNull(result.getExpenses());
+        assertNull(result.getBudgetDays());
+    }
+
+    @Test
+    void givenExpenseDto_whenToEntity_returnExpenseWithType() {
+        ExpenseDTO expenseDTO = new ExpenseDTO(null, new BigDecimal(30), LocalDate.of(2024, 1, 2),
+                "expense", "TRAVEL");
+
+        Expense result = new ExpenseMapper().toEntity(expenseDTO);
+
+        assertEquals(ExpenseType.TRAVEL, result.getExpenseType());
+        assertEquals(expenseDTO, new ExpenseMapper().toDto(result));
+    }
+}
@@ -0,0 +1,179 @@
+package com.aldegwin.budgetplanner.controller;
+
+import com.aldegwin.budgetplanner.communication.dto.BudgetDTO;
+import com.aldegwin.budgetplanner.communication.dto.BudgetSummaryDTO;
+import com.aldegwin.budgetplanner.service.BudgetCommandService;
+import com.aldegwin.budgetplanner.service.BudgetService;
+import com.aldegwin.budgetplanner.service.BudgetStreamService;
+import com.aldegwin.budgetplanner.util.serialization.CompactBinaryModule;
+import com.aldegwin.budgetplanner.util.serialization.RepresentationETags;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BudgetRestController.class)
+@Import(RepresentationETags.class)
+class BudgetRestControllerTest {
+    private static final MediaType APPLICATION_SMILE = RepresentationETags.APPLICATION_SMILE;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private BudgetCommandService budgetCommandService;
+    @MockBean
+    private BudgetService budgetService;
+    @MockBean
+    private BudgetStreamService budgetStreamService;
+
+    private BudgetDTO budgetDTO;
+
+    @BeforeEach
+    public void initialize() {
+        budgetDTO = BudgetDTO.builder()
+                .id(1L)
+                .name("budget")
+                .amount(new BigDecimal("100.50"))
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 31))
+                .build();
+    }
+
+    @Test
+    void givenAcceptCbor_whenGetBudgetById_returnCborBody() throws Exception {
+        when(budgetCommandService.findById(eq(1L), eq(1L), eq(false), any())).thenReturn(Optional.of(budgetDTO));
+
+        MvcResult result = mockMvc.perform(get("/users/1/budgets/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn();
+
+        assertEquals(budgetDTO, read(new CBORMapper(), result, BudgetDTO.class));
+    }
+
+    @Test
+    void givenAcceptSmile_whenGetBudgetById_returnSmileBody() throws Exception {
+        when(budgetCommandService.findById(eq(1L), eq(1L), eq(false), any())).thenReturn(Optional.of(budgetDTO));
+
+        MvcResult result = mockMvc.perform(get("/users/1/budgets/1").accept(APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_SMILE))
+                .andReturn();
+
+        assertEquals(budgetDTO, read(new SmileMapper(), result, BudgetDTO.class));
+    }
+
+    @Test
+    void givenNoAccept_whenGetBudgetById_returnJsonBody() throws Exception {
+        when(budgetCommandService.findById(eq(1L), eq(1L), eq(false), any())).thenReturn(Optional.of(budgetDTO));
+
+        mockMvc.perform(get("/users/1/budgets/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.amount").value(100.50))
+                .andExpect(jsonPath("$.startDate").value("2024-01-01"));
+    }
+
+    @Test
+    void givenAcceptCbor_whenGetAllBudgets_returnCborBody() throws Exception {
+        BudgetSummaryDTO summary = BudgetSummaryDTO.builder()
+                .id(1L)
+                .name("budget")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 31))
+                .amount(new BigDecimal("100.50"))
+                .build();
+        when(budgetCommandService.findAll(1L, false, false)).thenAnswer(invocation -> List.of(summary));
+
+        MvcResult result = mockMvc.perform(get("/users/1/budgets").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        assertArrayEquals(new BudgetSummaryDTO[]{summary},
+                read(new CBORMapper(), result, BudgetSummaryDTO[].class));
+    }
+
+    @Test
+    void givenJsonETag_whenGetBudgetByIdAsJson_returnNotModified() throws Exception {
+        mockFindByIdWithETag("W/\"3\"");
+
+        mockMvc.perform(get("/users/1/budgets/1")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"3\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    void givenJsonETag_whenGetBudgetByIdAsCbor_returnCborBody() throws Exception {
+        mockFindByIdWithETag("W/\"3\"");
+
+        MvcResult result = mockMvc.perform(get("/users/1/budgets/1")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"3-cbor\""))
+                .andReturn();
+
+        assertEquals(budgetDTO, read(new CBORMapper(), result, BudgetDTO.class));
+    }
+
+    @Test
+    void givenCborETag_whenGetBudgetByIdAsSmile_returnSmileBody() throws Exception {
+        mockFindByIdWithETag("W/\"3\"");
+
+        mockMvc.perform(get("/users/1/budgets/1")
+                        .accept(APPLICATION_SMILE)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"3-cbor\""))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_SMILE))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"3-smile\""));
+    }
+
+    @Test
+    void givenCborETag_whenGetBudgetByIdAsCbor_returnNotModified() throws Exception {
+        mockFindByIdWithETag("W/\"3\"");
+
+        mockMvc.perform(get("/users/1/budgets/1")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"3-cbor\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"3-cbor\""));
+    }
+
+    private void mockFindByIdWithETag(String eTag) {
+        when(budgetCommandService.findById(eq(1L), eq(1L), eq(false), any())).thenAnswer(invocation ->
+                invocation.<Predicate<String>>getArgument(3).test(eTag) ? Optional.empty() : Optional.of(budgetDTO));
+    }
+
+    private <T> T read(ObjectMapper objectMapper, MvcResult result, Class<T> type) throws Exception {
+        return objectMapper.registerModule(new CompactBinaryModule())
+                .readValue(result.getResponse().getContentAsByteArray(), type);
+    }
+}
@@ -0,0 +1,84 @@
+package com.aldegwin.budgetplanner.controller;
+
+import com.aldegwin.budgetplanner.communication.dto.IncomeDTO;
+import com.aldegwin.budgetplanner.communication.request.TransactionPageRequest;
+import com.aldegwin.budgetplanner.service.BudgetService;
+import com.aldegwin.budgetplanner.service.BudgetStreamService;
+import com.aldegwin.budgetplanner.service.IncomeCommandService;
+import com.aldegwin.budgetplanner.util.serialization.CompactBinaryModule;
+import com.aldegwin.budgetplanner.util.serialization.RepresentationETags;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(IncomeRestController.class)
+@Import(RepresentationETags.class)
+class IncomeRestControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private IncomeCommandService incomeCommandService;
+    @MockBean
+    private BudgetService budgetService;
+    @MockBean
+    private BudgetStreamService budgetStreamService;
+
+    private List<IncomeDTO> incomes;
+
+    @BeforeEach
+    public void initialize() {
+        incomes = List.of(new IncomeDTO(1L, new BigDecimal("1000.00"), LocalDate.of(2024, 1, 1),
+                "Salary", "SALARY"));
+
+        when(incomeCommandService.findAll(eq(1L), eq(1L), isNull(), any(TransactionPageRequest.class), any()))
+                .thenAnswer(invocation -> invocation.<Predicate<String>>getArgument(4).test("W/\"7\"")
+                        ? Optional.empty()
+                        : Optional.of(incomes));
+    }
+
+    @Test
+    void givenJsonETag_whenGetAllIncomesAsJson_returnNotModified() throws Exception {
+        mockMvc.perform(get("/users/1/budgets/1/incomes")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    void givenJsonETag_whenGetAllIncomesAsSmile_returnSmileBody() throws Exception {
+        MvcResult result = mockMvc.perform(get("/users/1/budgets/1/incomes")
+                        .accept(RepresentationETags.APPLICATION_SMILE)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"7\""))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(RepresentationETags.APPLICATION_SMILE))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"7-smile\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn();
+
+        assertArrayEquals(incomes.toArray(), new SmileMapper().registerModule(new CompactBinaryModule())
+                .readValue(result.getResponse().getContentAsByteArray(), IncomeDTO[].class));
+    }
+}
@@ -0,0 +1,226 @@
+package com.aldegwin.budgetplanner.repository;
+
+import com.aldegwin.budgetplanner.model.*;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+import com.aldegwin.budgetplanner.repository.projection.BudgetTotals;
+import com.aldegwin.budgetplanner.repository.projection.CategoryTotal;
+import com.aldegwin.budgetplanner.repository.projection.UniqueFieldCollision;
+import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
+import com.aldegwin.budgetplanner.service.UserService;
+import com.aldegwin.budgetplanner.service.implementations.BudgetServiceImpl;
+import com.aldegwin.budgetplanner.util.cache.EntityCacheEvictor;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BudgetServiceImpl.class, EntityCacheEvictor.class})
+class RepositoryQueryTest {
+    private static final int BUDGETS = 3;
+    private static final int TRANSACTIONS = 5;
+    private static final int DAYS = 10;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private BudgetRepository budgetRepository;
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    @Autowired
+    private IncomeRepository incomeRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BudgetServiceImpl budgetService;
+    @MockBean
+    private UserService userService;
+    @MockBean
+    private BudgetCalculatingService budgetCalculatingService;
+
+    private Statistics statistics;
+    private User user;
+    private Budget budget;
+
+    @BeforeEach
+    public void initialize() {
+        user = User.builder()
+                .email("test@mail.com")
+                .username("TestUser")
+                .password("123456789")
+                .lastLoginDate(LocalDateTime.now())
+                .build();
+        entityManager.persist(user);
+
+        for(int i = 0; i < BUDGETS; i++)
+            budget = createBudget(user);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void givenUserIdBudgetId_whenFindDetailedById_loadBudgetAndEachCollectionInOneQuery() {
+        Budget result = budgetService.findDetailedById(user.getId(), budget.getId());
+
+        assertEquals(TRANSACTIONS, result.getIncomes().size());
+        assertEquals(TRANSACTIONS, result.getExpenses().size());
+        assertEquals(DAYS, result.getBudgetDays().size());
+        assertEquals(user.getId(), result.getUser().getId());
+        result.getIncomes().forEach(income -> assertEquals(result, income.getBudget()));
+        result.getExpenses().forEach(expense -> assertEquals(result, expense.getBudget()));
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void givenUser_whenWalkBudgets_loadEachCollectionInOneQuery() {
+        User result = entityManager.find(User.class, user.getId());
+
+        List<Budget> budgets = result.getBudgets();
+        assertEquals(BUDGETS, budgets.size());
+        for(Budget b : budgets) {
+            assertEquals(TRANSACTIONS, b.getIncomes().size());
+            assertEquals(TRANSACTIONS, b.getExpenses().size());
+            assertEquals(DAYS, b.getBudgetDays().size());
+        }
+
+        assertEquals(5, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void givenUserId_whenFindTotals_returnTotalsInOneQuery() {
+        List<BudgetTotals> result = budgetRepository.findTotalsByUserId(user.getId());
+
+        assertEquals(BUDGETS, result.size());
+        for(BudgetTotals totals : result) {
+            assertEquals(0, new BigDecimal(50).compareTo(totals.incomeTotal()));
+            assertEquals(0, new BigDecimal(25).compareTo(totals.expenseTotal()));
+        }
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void givenBudgetId_whenIncrementVersion_readVersionWithoutLoadingBudget() {
+        assertEquals(0L, budgetRepository.findVersionByIdAndUserId(budget.getId(), user.getId()).orElseThrow());
+
+        budgetRepository.incrementVersion(budget.getId());
+        budgetRepository.incrementVersion(budget.getId());
+
+        assertEquals(2L, budgetRepository.findVersionByIdAndUserId(budget.getId(), user.getId()).orElseThrow());
+        assertEquals(0L, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void givenUsernameEmail_whenFindUniqueFieldCollision_reportBothFieldsInOneQuery() {
+        assertEquals(new UniqueFieldCollision(true, true),
+                userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", -1L));
+        assertEquals(new UniqueFieldCollision(true, false),
+                userRepository.findUniqueFieldCollision("TestUser", "free@mail.com", -1L));
+        assertEquals(new UniqueFieldCollision(false, false),
+                userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", user.getId()));
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void givenBudgetId_whenInsertAll_insertRowsWithoutPersistenceContext() {
+        incomeRepository.insertAll(budget.getId(), List.of(
+                Income.builder().amount(new BigDecimal(7)).incomeDate(LocalDate.of(2024, 1, 2))
+                        .description("batch").incomeType(IncomeType.GIFTS).build()));
+        expenseRepository.insertAll(budget.getId(), List.of(
+                Expense.builder().amount(new BigDecimal(3)).expenseDate(LocalDate.of(2024, 1, 2))
+                        .description("batch").expenseType(ExpenseType.RENT).build(),
+                Expense.builder().amount(new BigDecimal(4)).expenseDate(LocalDate.of(2024, 1, 3))
+                        .description("batch").expenseType(ExpenseType.RENT).build()));
+
+        Budget result = budgetService.findDetailedById(user.getId(), budget.getId());
+
+        assertEquals(TRANSACTIONS + 1, result.getIncomes().size());
+        assertEquals(TRANSACTIONS + 2, result.getExpenses().size());
+        assertEquals(0L, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void givenBudgetId_whenSumExpensesByTypeAndDate_returnGroupedRows() {
+        List<CategoryTotal<ExpenseType>> result = expenseRepository.sumByTypeAndDate(budget.getId(),
+                budget.getStartDate(), budget.getEndDate());
+
+        assertEquals(TRANSACTIONS, result.size());
+        result.forEach(total -> {
+            assertEquals(ExpenseType.GROCERIES, total.category());
+            assertEquals(0, new BigDecimal(5).compareTo(total.amount()));
+        });
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void givenBudgetId_whenSumIncomesByType_returnOneRowPerType() {
+        List<CategoryTotal<IncomeType>> result = incomeRepository.sumByType(budget.getId(),
+                budget.getStartDate(), budget.getEndDate());
+
+        assertEquals(1, result.size());
+        assertEquals(IncomeType.SALARY, result.get(0).category());
+        assertEquals(0, new BigDecimal(50).compareTo(result.get(0).amount()));
+    }
+
+    private Budget createBudget(User user) {
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        Budget b = Budget.builder()
+                .user(user)
+                .name("budget")
+                .amount(new BigDecimal(100))
+                .startDate(startDate)
+                .endDate(startDate.plusDays(DAYS - 1))
+                .description("budgetDescription")
+                .build();
+        entityManager.persist(b);
+
+        for(int i = 0; i < TRANSACTIONS; i++) {
+            entityManager.persist(Income.builder()
+                    .budget(b)
+                    .amount(new BigDecimal(10))
+                    .incomeDate(startDate.plusDays(i))
+                    .incomeType(IncomeType.SALARY)
+                    .description("income")
+                    .build());
+            entityManager.persist(Expense.builder()
+                    .budget(b)
+                    .amount(new BigDecimal(5))
+                    .expenseDate(startDate.plusDays(i))
+                    .expenseType(ExpenseType.GROCERIES)
+                    .description("expense")
+                    .build());
+        }
+
+        for(int i = 0; i < DAYS; i++)
+            entityManager.persist(BudgetDay.builder()
+                    .budget(b)
+                    .dayDate(startDate.plusDays(i))
+                    .amount(new BigDecimal(100))
+                    .description("Balance on " + startDate.plusDays(i))
+                    .build());
+
+        return b;
+    }
+}
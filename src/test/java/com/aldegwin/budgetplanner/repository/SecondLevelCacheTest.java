@@ -0,0 +1,136 @@
+package com.aldegwin.budgetplanner.repository;
+
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.Income;
+import com.aldegwin.budgetplanner.model.User;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
+import com.aldegwin.budgetplanner.service.UserService;
+import com.aldegwin.budgetplanner.service.implementations.BudgetServiceImpl;
+import com.aldegwin.budgetplanner.util.cache.EntityCacheEvictor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Hibernate never caches rows inserted by the reading transaction,
+ * so the fixtures are committed and every step runs in its own transaction.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BudgetServiceImpl.class, EntityCacheEvictor.class})
+class SecondLevelCacheTest {
+    private static final int INCOMES = 5;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private BudgetServiceImpl budgetService;
+    @Autowired
+    private EntityCacheEvictor entityCacheEvictor;
+    @MockBean
+    private UserService userService;
+    @MockBean
+    private BudgetCalculatingService budgetCalculatingService;
+
+    private Statistics statistics;
+    private User user;
+    private Budget budget;
+
+    @BeforeEach
+    public void initialize() {
+        transactionTemplate.executeWithoutResult(status -> {
+            user = User.builder()
+                    .email("cache@mail.com")
+                    .username("CacheUser")
+                    .password("123456789")
+                    .lastLoginDate(LocalDateTime.now())
+                    .build();
+            entityManager.persist(user);
+
+            budget = Budget.builder()
+                    .user(user)
+                    .name("budget")
+                    .amount(new BigDecimal(100))
+                    .startDate(LocalDate.of(2024, 1, 1))
+                    .endDate(LocalDate.of(2024, 1, 31))
+                    .build();
+            entityManager.persist(budget);
+
+            for(int i = 0; i < INCOMES; i++)
+                entityManager.persist(Income.builder()
+                        .budget(budget)
+                        .amount(new BigDecimal(10))
+                        .incomeDate(budget.getStartDate().plusDays(i))
+                        .incomeType(IncomeType.SALARY)
+                        .build());
+        });
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM Income").executeUpdate();
+            entityManager.createQuery("DELETE FROM Budget").executeUpdate();
+            entityManager.createQuery("DELETE FROM User").executeUpdate();
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void givenUserIdBudgetId_whenFindByIdAgain_serveBudgetAndUserFromCache() {
+        budgetService.findById(user.getId(), budget.getId());
+        statistics.clear();
+
+        Budget result = budgetService.findById(user.getId(), budget.getId());
+
+        assertEquals(user.getId(), result.getUser().getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void givenBudgetId_whenEvictBudgetIncomes_reloadCollectionOnce() {
+        assertEquals(INCOMES, countIncomes());
+        statistics.clear();
+
+        assertEquals(INCOMES, countIncomes());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        entityCacheEvictor.evictBudgetIncomes(budget.getId());
+
+        assertEquals(INCOMES, countIncomes());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private int countIncomes() {
+        return transactionTemplate.execute(status ->
+                entityManager.find(Budget.class, budget.getId()).getIncomes().size());
+    }
+}
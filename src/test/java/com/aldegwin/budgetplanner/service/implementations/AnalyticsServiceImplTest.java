@@ -0,0 +1,116 @@
+package com.aldegwin.budgetplanner.service.implementations;
+
+import com.aldegwin.budgetplanner.communication.dto.CategoryAggregateDTO;
+import com.aldegwin.budgetplanner.communication.request.AnalyticsRequest;
+import com.aldegwin.budgetplanner.exception.DatabaseEntityNotFoundException;
+import com.aldegwin.budgetplanner.exception.IncorrectDateException;
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+import com.aldegwin.budgetplanner.repository.ExpenseRepository;
+import com.aldegwin.budgetplanner.repository.IncomeRepository;
+import com.aldegwin.budgetplanner.repository.projection.CategoryTotal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsServiceImplTest {
+    @Mock
+    private BudgetServiceImpl budgetService;
+    @Mock
+    private ExpenseRepository expenseRepository;
+    @Mock
+    private IncomeRepository incomeRepository;
+    @InjectMocks
+    private AnalyticsServiceImpl analyticsService;
+
+    private Budget budget;
+
+    @BeforeEach
+    public void initialize() {
+        budget = Budget.builder()
+                .id(1L)
+                .name("budget")
+                .amount(new BigDecimal(100))
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 31))
+                .build();
+    }
+
+    @Test
+    void givenUserIdBudgetIdMonthRequest_whenAggregateExpenses_returnMonthTotals() {
+        when(budgetService.findById(1L, 1L)).thenReturn(budget);
+        when(expenseRepository.sumByTypeAndDate(1L, budget.getStartDate(), budget.getEndDate()))
+                .thenReturn(List.of(
+                        new CategoryTotal<>(ExpenseType.RENT, LocalDate.of(2024, 1, 1), new BigDecimal(500)),
+                        new CategoryTotal<>(ExpenseType.TRAVEL, LocalDate.of(2024, 1, 20), new BigDecimal(80))));
+
+        List<CategoryAggregateDTO<ExpenseType>> result =
+                analyticsService.aggregateExpenses(1L, 1L, new AnalyticsRequest());
+
+        assertEquals(1, result.size());
+        assertEquals(Map.of(ExpenseType.RENT, new BigDecimal(500), ExpenseType.TRAVEL, new BigDecimal(80)),
+                result.get(0).getTotals());
+        assertEquals(new BigDecimal(580), result.get(0).getTotal());
+        verify(expenseRepository, never()).sumByType(any(Long.class), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    void givenUserIdBudgetIdBudgetRequest_whenAggregateIncomes_returnBudgetTotals() {
+        AnalyticsRequest analyticsRequest = new AnalyticsRequest();
+        analyticsRequest.setGroupBy("budget");
+        analyticsRequest.setFrom(LocalDate.of(2024, 1, 10));
+
+        when(budgetService.findById(1L, 1L)).thenReturn(budget);
+        when(incomeRepository.sumByType(1L, LocalDate.of(2024, 1, 10), budget.getEndDate()))
+                .thenReturn(List.of(new CategoryTotal<>(IncomeType.SALARY, new BigDecimal(1000))));
+
+        List<CategoryAggregateDTO<IncomeType>> result =
+                analyticsService.aggregateIncomes(1L, 1L, analyticsRequest);
+
+        assertEquals(1, result.size());
+        assertEquals(LocalDate.of(2024, 1, 10), result.get(0).getPeriodStart());
+        assertEquals(budget.getEndDate(), result.get(0).getPeriodEnd());
+        assertEquals(Map.of(IncomeType.SALARY, new BigDecimal(1000)), result.get(0).getTotals());
+        verify(incomeRepository, never())
+                .sumByTypeAndDate(any(Long.class), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    void givenUserIdBudgetIdRequest_whenAggregateExpenses_throwsIncorrectDate_toBeforeFrom() {
+        AnalyticsRequest analyticsRequest = new AnalyticsRequest();
+        analyticsRequest.setTo(LocalDate.of(2023, 12, 31));
+
+        when(budgetService.findById(1L, 1L)).thenReturn(budget);
+
+        IncorrectDateException e = assertThrows(IncorrectDateException.class,
+                () -> analyticsService.aggregateExpenses(1L, 1L, analyticsRequest));
+        String expectedExceptionMessage = "Incorrect analytics period";
+        assertEquals(expectedExceptionMessage, e.getMessage());
+        verifyNoInteractions(expenseRepository);
+    }
+
+    @Test
+    void givenUserIdBudgetIdRequest_whenAggregateIncomes_throwsDatabaseEntityNotFound_budgetNotFound() {
+        when(budgetService.findById(1L, 1L)).thenThrow(new DatabaseEntityNotFoundException("Budget not found"));
+
+        DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
+                () -> analyticsService.aggregateIncomes(1L, 1L, new AnalyticsRequest()));
+        String expectedExceptionMessage = "Budget not found";
+        assertEquals(expectedExceptionMessage, e.getMessage());
+        verifyNoInteractions(incomeRepository);
+    }
+}
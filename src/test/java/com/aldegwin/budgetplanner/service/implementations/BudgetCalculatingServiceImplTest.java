@@ -3,20 +3,32 @@ package com.aldegwin.budgetplanner.service.implementations;
 import com.aldegwin.budgetplanner.model.*;
 import com.aldegwin.budgetplanner.model.constant.ExpenseType;
 import com.aldegwin.budgetplanner.model.constant.IncomeType;
+import com.aldegwin.budgetplanner.repository.BudgetRepository;
 import com.aldegwin.budgetplanner.service.BudgetDayService;
+import com.aldegwin.budgetplanner.util.calculation.BalanceCurve;
+import com.aldegwin.budgetplanner.util.calculation.BudgetBalanceCurveCache;
+import com.aldegwin.budgetplanner.util.calculation.BudgetBalanceIndex;
+import com.aldegwin.budgetplanner.util.calculation.BudgetRecalculationQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,8 +38,22 @@ import static org.mockito.Mockito.*;
 class BudgetCalculatingServiceImplTest {
     @Mock
     private BudgetDayService budgetDayService;
+    @Mock
+    private BudgetRepository budgetRepository;
+    @Mock
+    private BudgetBalanceIndex budgetBalanceIndex;
+    @Mock
+    private BudgetBalanceCurveCache budgetBalanceCurveCache;
+    @Mock
+    private BudgetRecalculationQueue budgetRecalculationQueue;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
     @InjectMocks
     private BudgetCalculatingServiceImpl budgetCalculatingService;
+    @Captor
+    private ArgumentCaptor<Consumer<NavigableMap<LocalDate, BigDecimal>>> shift;
 
     private Budget budget;
     @BeforeEach
@@ -69,43 +95,15 @@ class BudgetCalculatingServiceImplTest {
         List<BudgetDay> expected =
                 List.of(expectedBudgetDay1, expectedBudgetDay2, expectedBudgetDay3);
 
-        BudgetDay budgetDay1 = createBudgetDay(budget, null,
-                new BigDecimal(100), firstBudgetDayDate);
-        BudgetDay budgetDay2 = createBudgetDay(budget, null,
-                new BigDecimal(100), firstBudgetDayDate.plusDays(1));
-        BudgetDay budgetDay3 = createBudgetDay(budget, null,
-                new BigDecimal(100), firstBudgetDayDate.plusDays(2));
-
-        when(budgetDayService.save(eq(budgetDay1))).thenAnswer(invocation -> {
-            BudgetDay bd = invocation.getArgument(0, BudgetDay.class);
-            bd.setId(1L);
-            return bd;
-        });
-
-        when(budgetDayService.save(eq(budgetDay2))).thenAnswer(invocation -> {
-            BudgetDay bd = invocation.getArgument(0, BudgetDay.class);
-            bd.setId(2L);
-            return bd;
-        });
-
-        when(budgetDayService.save(eq(budgetDay3))).thenAnswer(invocation -> {
-            BudgetDay bd = invocation.getArgument(0, BudgetDay.class);
-            bd.setId(3L);
-            return bd;
-        });
+        when(budgetDayService.saveRange(same(budget), eq(budget.getStartDate()), eq(budget.getEndDate())))
+                .thenReturn(List.of(expectedBudgetDay1, expectedBudgetDay2, expectedBudgetDay3));
 
         List<BudgetDay> result = budgetCalculatingService.createBudgetDays(budget);
 
         assertEquals(expected, result);
-        verify(budgetDayService, times(3)).save(any(BudgetDay.class));
-        verify(budgetDayService, times(1))
-                .save(argThat(bd -> bd.getDayDate().isEqual(firstBudgetDayDate)));
-        verify(budgetDayService, times(1))
-                .save(argThat(bd -> bd.getDayDate().isEqual(firstBudgetDayDate
-                        .plusDays(1))));
         verify(budgetDayService, times(1))
-                .save(argThat(bd -> bd.getDayDate().isEqual(firstBudgetDayDate
-                        .plusDays(2))));
+                .saveRange(same(budget), eq(budget.getStartDate()), eq(budget.getEndDate()));
+        verify(budgetDayService, never()).save(any(BudgetDay.class));
     }
 
     @Test
@@ -137,6 +135,8 @@ class BudgetCalculatingServiceImplTest {
 
         budgetCalculatingService.calculateBudget(budget);
         assertEquals(expectedBudgetDays, budget.getBudgetDays());
+        verify(budgetDayService, times(1)).updateAmounts(1L, Collections.emptyList());
+        verify(budgetRepository, never()).incrementVersion(any(Long.class));
     }
 
     @Test
@@ -215,8 +215,18 @@ class BudgetCalculatingServiceImplTest {
 
         List<BudgetDay> expectedBudgetDays = List.of(expectedBudgetDay1, expectedBudgetDay2, expectedBudgetDay3);
 
+        when(budgetDayService.updateAmounts(1L, expectedBudgetDays)).thenReturn(3);
+
         budgetCalculatingService.calculateBudget(budget);
-        assertEquals(expectedBudgetDays, budget.getBudgetDays());
+        assertEquals(List.of(budgetDay1, budgetDay2, budgetDay3), budget.getBudgetDays());
+        assertEquals(new BigDecimal(100), budgetDay2.getAmount());
+        verify(budgetDayService, times(1)).updateAmounts(1L, expectedBudgetDays);
+        verify(budgetRepository, times(1)).incrementVersion(1L);
+        assertEquals(3, meterRegistry.summary("budget.calculation.updated.days").totalAmount());
+
+        ArgumentCaptor<BalanceCurve> curve = ArgumentCaptor.forClass(BalanceCurve.class);
+        verify(budgetBalanceCurveCache, times(1)).put(eq(1L), curve.capture());
+        assertArrayEquals(new long[]{0, -3000, 1500}, curve.getValue().balances());
     }
 
     @Test
@@ -240,13 +250,12 @@ class BudgetCalculatingServiceImplTest {
 
         List<BudgetDay> expectedBudgetDays = List.of(expectedBudgetDay1, expectedBudgetDay2, expectedBudgetDay3);
 
-        doNothing().when(budgetDayService).deleteById(any(Long.class));
-
         budgetCalculatingService.reformatBudgetDays(budget);
 
         assertEquals(expectedBudgetDays, budget.getBudgetDays());
-        verify(budgetDayService, times(9)).deleteById(any(Long.class));
-        verify(budgetDayService, never()).save(any(BudgetDay.class));
+        verify(budgetDayService, times(1)).deleteOutsideRange(1L,
+                budget.getStartDate(), budget.getEndDate());
+        verify(budgetDayService, never()).saveRange(any(Budget.class), any(LocalDate.class), any(LocalDate.class));
     }
     @Test
     void givenBudget_whenReformatBudgetDays_returnNothing_missingBudgetDaysAndExtraBudgetDays(){
@@ -269,57 +278,244 @@ class BudgetCalculatingServiceImplTest {
 
         List<BudgetDay> expectedBudgetDays = List.of(expectedBudgetDay1, expectedBudgetDay2, expectedBudgetDay3);
 
-        doNothing().when(budgetDayService).deleteById(any(Long.class));
+        when(budgetDayService.saveRange(budget, firstBudgetDayDate.plusDays(1), firstBudgetDayDate.plusDays(2)))
+                .thenReturn(List.of(expectedBudgetDay2, expectedBudgetDay3));
 
-        BudgetDay budgetDayArg1 = BudgetDay.builder()
-                .id(null)
-                .budget(budget)
-                .dayDate(firstBudgetDayDate.plusDays(1))
-                .amount(new BigDecimal(100))
-                .description("Balance on " + firstBudgetDayDate.plusDays(1))
-                .build();
+        budgetCalculatingService.reformatBudgetDays(budget);
 
-        BudgetDay budgetDayArg2 = BudgetDay.builder()
-                .id(null)
-                .budget(budget)
-                .dayDate(firstBudgetDayDate.plusDays(2))
-                .amount(new BigDecimal(100))
-                .description("Balance on " + firstBudgetDayDate.plusDays(2))
-                .build();
+        assertEquals(expectedBudgetDays, budget.getBudgetDays());
 
-        when(budgetDayService.save(eq(budgetDayArg1))).thenAnswer(invocation -> {
-            BudgetDay bd = invocation.getArgument(0, BudgetDay.class);
-            bd.setId(8L);
-            return bd;
-        });
+        verify(budgetDayService, times(1)).deleteOutsideRange(1L,
+                budget.getStartDate(), budget.getEndDate());
+        verify(budgetDayService, times(1)).saveRange(any(Budget.class), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    void givenBudget_whenReformatBudgetDays_returnNothing_missingHeadAndTailBudgetDays() {
+        LocalDate firstBudgetDayDate = LocalDate.from(budget.getStartDate());
+        budget.setEndDate(firstBudgetDayDate.plusDays(4));
+
+        BudgetDay existingBudgetDay = createBudgetDay(budget, 1L,
+                new BigDecimal(100), firstBudgetDayDate.plusDays(2));
+        budget.setBudgetDays(new ArrayList<>(List.of(existingBudgetDay)));
+
+        List<BudgetDay> headBudgetDays = List.of(
+                createBudgetDay(budget, 2L, new BigDecimal(100), firstBudgetDayDate),
+                createBudgetDay(budget, 3L, new BigDecimal(100), firstBudgetDayDate.plusDays(1)));
+        List<BudgetDay> tailBudgetDays = List.of(
+                createBudgetDay(budget, 4L, new BigDecimal(100), firstBudgetDayDate.plusDays(3)),
+                createBudgetDay(budget, 5L, new BigDecimal(100), firstBudgetDayDate.plusDays(4)));
 
-        when(budgetDayService.save(eq(budgetDayArg2))).thenAnswer(invocation -> {
-            BudgetDay bd = invocation.getArgument(0, BudgetDay.class);
-            bd.setId(9L);
-            return bd;
-        });
+        when(budgetDayService.saveRange(budget, firstBudgetDayDate, firstBudgetDayDate.plusDays(1)))
+                .thenReturn(headBudgetDays);
+        when(budgetDayService.saveRange(budget, firstBudgetDayDate.plusDays(3), firstBudgetDayDate.plusDays(4)))
+                .thenReturn(tailBudgetDays);
 
         budgetCalculatingService.reformatBudgetDays(budget);
 
+        List<BudgetDay> expectedBudgetDays = List.of(headBudgetDays.get(0), headBudgetDays.get(1),
+                existingBudgetDay, tailBudgetDays.get(0), tailBudgetDays.get(1));
+
         assertEquals(expectedBudgetDays, budget.getBudgetDays());
+        verify(budgetDayService, never()).save(any(BudgetDay.class));
+    }
+
+    @Test
+    void givenBudget_whenReformatBudgetDays_returnNothing_noBudgetDaysInPeriod() {
+        budget.setBudgetDays(new ArrayList<>(List.of(
+                createBudgetDay(budget, 1L, new BigDecimal(100), LocalDate.of(2023, 12, 1)))));
+
+        List<BudgetDay> savedBudgetDays = List.of(
+                createBudgetDay(budget, 2L, new BigDecimal(100), budget.getStartDate()));
+        when(budgetDayService.saveRange(budget, budget.getStartDate(), budget.getEndDate()))
+                .thenReturn(savedBudgetDays);
 
-        verify(budgetDayService, times(6)).deleteById(any(Long.class));
-        verify(budgetDayService, times(2)).save(any(BudgetDay.class));
+        budgetCalculatingService.reformatBudgetDays(budget);
+
+        assertEquals(savedBudgetDays, budget.getBudgetDays());
+        verify(budgetDayService, times(1)).deleteOutsideRange(1L,
+                budget.getStartDate(), budget.getEndDate());
+    }
+
+    @Test
+    void givenBudgetDateDelta_whenShiftBudgetDays_returnNothing() {
+        LocalDate date = LocalDate.of(2024, 1, 2);
+
+        budgetCalculatingService.shiftBudgetDays(budget, date, new BigDecimal(-40));
+
+        verify(budgetBalanceIndex, times(1)).add(1L, date, new BigDecimal(-40));
+        verify(budgetBalanceCurveCache, times(1)).evict(1L);
+        verify(budgetRecalculationQueue, times(1)).enqueueShift(eq(1L), eq(date), eq(new BigDecimal(-40)), any());
+        verify(budgetRecalculationQueue, never()).enqueue(any(Long.class), any(Runnable.class));
+    }
+
+    @Test
+    void givenQueuedDeltas_whenShiftRuns_shiftBudgetDaysAndIncrementVersion() {
+        NavigableMap<LocalDate, BigDecimal> deltas = new TreeMap<>(Map.of(LocalDate.of(2024, 1, 2), new BigDecimal(-40)));
+        when(budgetDayService.shiftAmounts(1L, deltas)).thenReturn(2);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        budgetCalculatingService.shiftBudgetDays(budget, LocalDate.of(2024, 1, 2), new BigDecimal(-40));
+        verify(budgetRecalculationQueue).enqueueShift(eq(1L), any(LocalDate.class), any(BigDecimal.class),
+                shift.capture());
+        shift.getValue().accept(deltas);
+
+        verify(budgetDayService, times(1)).shiftAmounts(1L, deltas);
+        verify(budgetRepository, times(1)).incrementVersion(1L);
+        verify(budgetDayService, never()).updateAmounts(any(Long.class), anyList());
+        assertEquals(2, meterRegistry.summary("budget.calculation.updated.days").totalAmount());
     }
 
     @Test
-    void givenBudget_whenGetAllDates_returnBudgetDaysDates()
-            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        Method method = budgetCalculatingService.getClass()
-                .getDeclaredMethod("getAllDates", Budget.class);
-        method.setAccessible(true);
-
-        List<LocalDate> expectedDates = List.of(
-                LocalDate.of(2024, 1, 1),
-                LocalDate.of(2024, 1, 2),
-                LocalDate.of(2024, 1, 3));
-
-        assertEquals(expectedDates, method.invoke(budgetCalculatingService, budget));
+    void givenFailingShift_whenShiftRuns_recalculateBudget() {
+        NavigableMap<LocalDate, BigDecimal> deltas = new TreeMap<>(Map.of(LocalDate.of(2024, 1, 2), new BigDecimal(-40)));
+        when(budgetDayService.shiftAmounts(1L, deltas)).thenThrow(new IllegalStateException("failed"));
+        when(budgetRepository.findWithIncomesById(1L)).thenReturn(Optional.of(budget));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        budgetCalculatingService.shiftBudgetDays(budget, LocalDate.of(2024, 1, 2), new BigDecimal(-40));
+        verify(budgetRecalculationQueue).enqueueShift(eq(1L), any(LocalDate.class), any(BigDecimal.class),
+                shift.capture());
+        shift.getValue().accept(deltas);
+
+        verify(budgetRepository, times(1)).findWithExpensesById(1L);
+        verify(budgetDayService, times(1)).updateAmounts(1L, Collections.emptyList());
+    }
+
+    @Test
+    void givenBudgetDateDelta_whenShiftBudgetDays_returnNothing_dateOutOfBudgetPeriod() {
+        budgetCalculatingService.shiftBudgetDays(budget, LocalDate.of(2023, 12, 31), new BigDecimal(-40));
+        budgetCalculatingService.shiftBudgetDays(budget, LocalDate.of(2024, 1, 4), new BigDecimal(-40));
+
+        verifyNoInteractions(budgetRecalculationQueue);
+    }
+
+    @Test
+    void givenBudgetDateDelta_whenShiftBudgetDays_returnNothing_zeroDelta() {
+        budgetCalculatingService.shiftBudgetDays(budget, LocalDate.of(2024, 1, 2), BigDecimal.ZERO);
+
+        verifyNoInteractions(budgetRecalculationQueue);
+    }
+
+    @Test
+    void givenBudgetDatesDeltas_whenMoveBudgetDays_returnNothing_differentDates() {
+        LocalDate oldDate = LocalDate.of(2024, 1, 1);
+        LocalDate newDate = LocalDate.of(2024, 1, 3);
+
+        budgetCalculatingService.moveBudgetDays(budget, oldDate, new BigDecimal(-40), newDate, new BigDecimal(-25));
+
+        verify(budgetBalanceIndex, times(1)).add(1L, oldDate, new BigDecimal(40));
+        verify(budgetBalanceIndex, times(1)).add(1L, newDate, new BigDecimal(-25));
+        verify(budgetRecalculationQueue, times(1)).enqueueShift(eq(1L), eq(oldDate), eq(new BigDecimal(40)), any());
+        verify(budgetRecalculationQueue, times(1)).enqueueShift(eq(1L), eq(newDate), eq(new BigDecimal(-25)), any());
+    }
+
+    @Test
+    void givenBudgetDatesDeltas_whenMoveBudgetDays_returnNothing_sameDate() {
+        LocalDate date = LocalDate.of(2024, 1, 2);
+
+        budgetCalculatingService.moveBudgetDays(budget, date, new BigDecimal(-40), date, new BigDecimal(-25));
+
+        verify(budgetBalanceIndex, times(1)).add(1L, date, new BigDecimal(15));
+    }
+
+    @Test
+    void givenBudget_whenScheduleCalculation_calculateBudgetInQueue() {
+        budget.setBudgetDays(new ArrayList<>(List.of(
+                createBudgetDay(budget, 1L, new BigDecimal(90), budget.getStartDate()))));
+
+        ArgumentCaptor<Runnable> recalculation = ArgumentCaptor.forClass(Runnable.class);
+        when(budgetRepository.findWithIncomesById(1L)).thenReturn(Optional.of(budget));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        budgetCalculatingService.scheduleCalculation(budget);
+
+        verify(budgetBalanceIndex, times(1)).evict(1L);
+        verify(budgetBalanceCurveCache, times(1)).evict(1L);
+        verify(budgetRecalculationQueue, times(1)).enqueue(eq(1L), recalculation.capture());
+        verify(budgetDayService, never()).updateAmounts(any(Long.class), anyList());
+
+        recalculation.getValue().run();
+
+        verify(budgetDayService, times(1)).updateAmounts(1L, List.of(
+                createBudgetDay(budget, 1L, new BigDecimal(100), budget.getStartDate())));
+        assertEquals(new BigDecimal(90), budget.getBudgetDays().get(0).getAmount());
+    }
+
+    @Test
+    void givenBudgetId_whenScheduleFullCalculation_evictDerivedBalancesAndQueueCalculation() {
+        budgetCalculatingService.scheduleFullCalculation(1L);
+
+        verify(budgetBalanceIndex, times(1)).evict(1L);
+        verify(budgetBalanceCurveCache, times(1)).evict(1L);
+        verify(budgetRecalculationQueue, times(1)).enqueue(eq(1L), any(Runnable.class));
+        verify(budgetBalanceIndex, never()).add(any(Long.class), any(LocalDate.class), any(BigDecimal.class));
+    }
+
+    @Test
+    void givenBudgetId_whenIsCalculationPending_returnQueueState() {
+        when(budgetRecalculationQueue.isPending(1L)).thenReturn(true);
+
+        assertTrue(budgetCalculatingService.isCalculationPending(1L));
+    }
+
+    @Test
+    void givenBudget_whenGetBudgetDays_returnStoredBudgetDays() {
+        LocalDate firstBudgetDayDate = LocalDate.from(budget.getStartDate());
+        List<BudgetDay> budgetDays = List.of(
+                createBudgetDay(budget, 1L, new BigDecimal(100), firstBudgetDayDate),
+                createBudgetDay(budget, 2L, new BigDecimal(100), firstBudgetDayDate.plusDays(1)));
+        budget.setBudgetDays(budgetDays);
+
+        assertEquals(budgetDays, budgetCalculatingService.getBudgetDays(budget).toList());
+    }
+
+    @Test
+    void givenBudgetWithCachedCurve_whenGetBudgetDays_returnCachedBudgetDays() {
+        LocalDate firstBudgetDayDate = LocalDate.from(budget.getStartDate());
+        List<BudgetDay> expected = List.of(
+                createBudgetDay(budget, 4L, new BigDecimal("100.00"), firstBudgetDayDate),
+                createBudgetDay(budget, 5L, new BigDecimal("75.50"), firstBudgetDayDate.plusDays(1)),
+                createBudgetDay(budget, 6L, new BigDecimal("-20.00"), firstBudgetDayDate.plusDays(2)));
+        BalanceCurve curve = BalanceCurve.of(budget, expected).orElseThrow();
+        when(budgetBalanceCurveCache.get(1L)).thenReturn(Optional.of(curve));
+
+        assertEquals(expected, budgetCalculatingService.getBudgetDays(budget).toList());
+        verify(budgetDayService, never()).streamAllByBudgetId(any(Long.class));
+    }
+
+    @Test
+    void givenBudgetWithCurveOfOldPeriod_whenStreamBudgetDays_streamFromDatabase() {
+        List<BudgetDay> oldPeriodDays = List.of(
+                createBudgetDay(budget, 1L, new BigDecimal(100), budget.getStartDate()),
+                createBudgetDay(budget, 2L, new BigDecimal(100), budget.getStartDate().plusDays(1)),
+                createBudgetDay(budget, 3L, new BigDecimal(100), budget.getStartDate().plusDays(2)));
+        BalanceCurve curve = BalanceCurve.of(budget, oldPeriodDays).orElseThrow();
+        budget.setEndDate(budget.getEndDate().plusDays(1));
+        when(budgetBalanceCurveCache.get(1L)).thenReturn(Optional.of(curve));
+        when(budgetDayService.streamAllByBudgetId(1L)).thenReturn(Stream.empty());
+
+        assertEquals(0, budgetCalculatingService.streamBudgetDays(budget).count());
+        verify(budgetDayService, times(1)).streamAllByBudgetId(1L);
+    }
+
+    @Test
+    void givenBudgetIdDate_whenBalanceOn_returnBalance() {
+        LocalDate date = LocalDate.of(2024, 1, 2);
+        when(budgetBalanceIndex.balanceOn(eq(1L), eq(date), any())).thenReturn(new BigDecimal("60.00"));
+
+        BigDecimal result = budgetCalculatingService.balanceOn(1L, date);
+
+        assertEquals(new BigDecimal("60.00"), result);
     }
 
     private BudgetDay createBudgetDay(Budget budget, Long id, BigDecimal amount, LocalDate date) {
@@ -0,0 +1,145 @@
+package com.aldegwin.budgetplanner.service.implementations;
+
+import com.aldegwin.budgetplanner.communication.dto.BudgetDTO;
+import com.aldegwin.budgetplanner.communication.dto.BudgetSummaryDTO;
+import com.aldegwin.budgetplanner.communication.mapper.BudgetDayMapper;
+import com.aldegwin.budgetplanner.communication.mapper.BudgetMapper;
+import com.aldegwin.budgetplanner.communication.mapper.ExpenseMapper;
+import com.aldegwin.budgetplanner.communication.mapper.IncomeMapper;
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.BudgetDay;
+import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
+import com.aldegwin.budgetplanner.service.BudgetService;
+import com.aldegwin.budgetplanner.service.ExpenseService;
+import com.aldegwin.budgetplanner.service.IncomeService;
+import com.aldegwin.budgetplanner.util.calculation.BalanceCurveLoad;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetCommandServiceImplTest {
+    @Mock
+    private BudgetService budgetService;
+    @Mock
+    private BudgetCalculatingService budgetCalculatingService;
+    @Mock
+    private IncomeService incomeService;
+    @Mock
+    private ExpenseService expenseService;
+    @Mock
+    private BalanceCurveLoad balanceCurveLoad;
+    @Spy
+    private BudgetMapper budgetMapper = new BudgetMapper(new IncomeMapper(), new ExpenseMapper(), new BudgetDayMapper());
+    @InjectMocks
+    private BudgetCommandServiceImpl budgetCommandService;
+
+    private Budget budget;
+
+    @BeforeEach
+    public void initialize() {
+        budget = Budget.builder()
+                .id(1L)
+                .name("budget")
+                .amount(new BigDecimal(100))
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 2))
+                .description("budgetDescription")
+                .incomes(Collections.emptyList())
+                .expenses(Collections.emptyList())
+                .build();
+    }
+
+    @Test
+    void givenMatchingETag_whenFindById_returnEmptyWithoutLoadingBudget() {
+        when(budgetCalculatingService.openBudgetDaysLoad(1L)).thenReturn(balanceCurveLoad);
+        when(budgetService.getVersion(1L, 1L)).thenReturn(3L);
+        when(budgetCalculatingService.isCalculationPending(1L)).thenReturn(true);
+
+        Optional<BudgetDTO> result = budgetCommandService.findById(1L, 1L, true, "W/\"3-pending-columnar\""::equals);
+
+        assertTrue(result.isEmpty());
+        verify(budgetService, never()).findDetailedById(any(Long.class), any(Long.class));
+        verify(balanceCurveLoad, times(1)).close();
+    }
+
+    @Test
+    void givenStaleETag_whenFindById_returnBudgetDto() {
+        BudgetDay budgetDay = BudgetDay.builder()
+                .id(1L)
+                .dayDate(LocalDate.of(2024, 1, 1))
+                .amount(new BigDecimal(100))
+                .description("Balance on 2024-01-01")
+                .build();
+
+        when(budgetCalculatingService.openBudgetDaysLoad(1L)).thenReturn(balanceCurveLoad);
+        when(budgetService.getVersion(1L, 1L)).thenReturn(3L);
+        when(budgetService.findDetailedById(1L, 1L)).thenReturn(budget);
+        when(budgetCalculatingService.getBudgetDays(budget, balanceCurveLoad)).thenReturn(Stream.of(budgetDay));
+
+        Optional<BudgetDTO> result = budgetCommandService.findById(1L, 1L, false, "W/\"2\""::equals);
+
+        assertTrue(result.isPresent());
+        assertEquals(1L, result.get().getId());
+        assertEquals(1, result.get().getBudgetDays().size());
+        assertFalse(result.get().isRecalculationPending());
+        InOrder inOrder = inOrder(budgetCalculatingService, budgetService, balanceCurveLoad);
+        inOrder.verify(budgetCalculatingService).openBudgetDaysLoad(1L);
+        inOrder.verify(budgetService).getVersion(1L, 1L);
+        inOrder.verify(budgetCalculatingService).getBudgetDays(budget, balanceCurveLoad);
+        inOrder.verify(balanceCurveLoad).close();
+    }
+
+    @Test
+    void givenNoExpand_whenFindAll_returnSummaries() {
+        List<BudgetSummaryDTO> summaries = List.of(BudgetSummaryDTO.builder()
+                .id(1L)
+                .name("budget")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 2))
+                .amount(new BigDecimal(100))
+                .build());
+        when(budgetService.findAllSummaries(1L)).thenReturn(summaries);
+
+        assertEquals(summaries, budgetCommandService.findAll(1L, false, false));
+        verify(budgetService, never()).findAll(any(Long.class));
+    }
+
+    @Test
+    void givenBudgetDto_whenUpdate_deleteTransactionsOutsidePeriodAndReturnBudgetDto() {
+        BudgetDTO budgetDTO = BudgetDTO.builder()
+                .id(1L)
+                .name("budget")
+                .amount(new BigDecimal(100))
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 2))
+                .build();
+
+        when(budgetService.update(eq(1L), any(Budget.class))).thenReturn(budget);
+        when(budgetCalculatingService.getBudgetDays(budget)).thenReturn(Stream.empty());
+
+        BudgetDTO result = budgetCommandService.update(1L, budgetDTO);
+
+        assertEquals(1L, result.getId());
+        InOrder inOrder = inOrder(budgetService, incomeService, expenseService);
+        inOrder.verify(budgetService).update(eq(1L), any(Budget.class));
+        inOrder.verify(incomeService).deleteUnnecessaryIncomesForBudget(budget);
+        inOrder.verify(expenseService).deleteUnnecessaryExpensesForBudget(budget);
+    }
+}
@@ -18,7 +18,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -96,6 +100,48 @@ class BudgetDayServiceImplTest {
         assertEquals(expectedExceptionMessage, e.getMessage());
     }
 
+    @Test
+    void givenBudgetAndPeriod_whenSaveRange_returnBudgetDays() {
+        LocalDate fromDate = budget.getStartDate();
+        LocalDate toDate = budget.getEndDate();
+
+        List<BudgetDay> expected = List.of(
+                BudgetDay.builder()
+                        .id(1L)
+                        .budget(budget)
+                        .dayDate(fromDate)
+                        .amount(budget.getAmount())
+                        .description("Balance on " + fromDate)
+                        .build(),
+                BudgetDay.builder()
+                        .id(2L)
+                        .budget(budget)
+                        .dayDate(toDate)
+                        .amount(budget.getAmount())
+                        .description("Balance on " + toDate)
+                        .build());
+
+        when(budgetDayRepository.findAllByBudgetIdAndDayDateBetweenOrderByDayDateAsc(1L, fromDate, toDate))
+                .thenReturn(expected);
+
+        List<BudgetDay> result = budgetDayService.saveRange(budget, fromDate, toDate);
+
+        assertEquals(expected, result);
+        verify(budgetDayRepository, times(1)).insertRange(1L, fromDate, toDate, budget.getAmount());
+        verify(budgetDayRepository, times(1))
+                .findAllByBudgetIdAndDayDateBetweenOrderByDayDateAsc(1L, fromDate, toDate);
+        verify(budgetDayRepository, never()).save(any(BudgetDay.class));
+    }
+
+    @Test
+    void givenBudgetAndPeriod_whenSaveRange_throwsIdConflict_budgetIdIsNull() {
+        budget.setId(null);
+        IdConflictException e = assertThrows(IdConflictException.class,
+                () -> budgetDayService.saveRange(budget, budget.getStartDate(), budget.getEndDate()));
+        String expectedExceptionMessage = "Budget ID must be not null";
+        assertEquals(expectedExceptionMessage, e.getMessage());
+    }
+
     @Test
     void givenBudgetDay_whenUpdate_returnBudgetDay() {
         budgetDay.setId(1L);
@@ -130,6 +176,7 @@ class BudgetDayServiceImplTest {
 
         assertEquals(expected, result);
         verify(budgetDayRepository, times(1)).save(same(existingBudget));
+        verify(budgetDayRepository, never()).updateAmounts(any(Long.class), anyList());
         verify(budgetDayRepository, times(1)).findById(1L);
     }
 
@@ -150,6 +197,65 @@ class BudgetDayServiceImplTest {
         assertEquals(expectedExceptionMessage, e.getMessage());
         verify(budgetDayRepository, times(1)).findById(1L);
     }
+    @Test
+    void givenBudgetIdBudgetDays_whenUpdateAmounts_returnTouchedRows() {
+        budgetDay.setId(1L);
+        List<BudgetDay> budgetDays = List.of(budgetDay);
+        when(budgetDayRepository.updateAmounts(1L, budgetDays)).thenReturn(1);
+
+        int result = budgetDayService.updateAmounts(1L, budgetDays);
+
+        assertEquals(1, result);
+        verify(budgetDayRepository, times(1)).updateAmounts(1L, budgetDays);
+        verify(budgetDayRepository, never()).findById(any(Long.class));
+    }
+
+    @Test
+    void givenBudgetIdEmptyBudgetDays_whenUpdateAmounts_returnZero() {
+        int result = budgetDayService.updateAmounts(1L, Collections.emptyList());
+
+        assertEquals(0, result);
+        verifyNoInteractions(budgetDayRepository);
+    }
+
+    @Test
+    void givenBudgetIdBudgetDays_whenUpdateAmounts_throwsIdConflict_budgetDayIdIsNull() {
+        IdConflictException e = assertThrows(IdConflictException.class,
+                () -> budgetDayService.updateAmounts(1L, List.of(budgetDay)));
+        String expectedExceptionMessage = "Budget day ID must be not null";
+        assertEquals(expectedExceptionMessage, e.getMessage());
+        verifyNoInteractions(budgetDayRepository);
+    }
+
+    @Test
+    void givenBudgetIdDeltas_whenShiftAmounts_shiftDisjointRanges() {
+        NavigableMap<LocalDate, BigDecimal> deltas = new TreeMap<>(Map.of(
+                LocalDate.of(2024, 1, 2), new BigDecimal(-40),
+                LocalDate.of(2024, 1, 3), new BigDecimal(40),
+                LocalDate.of(2024, 1, 4), new BigDecimal(25)));
+        when(budgetDayRepository.shiftAmounts(1L, LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 2),
+                new BigDecimal(-40))).thenReturn(1);
+        when(budgetDayRepository.shiftAmounts(1L, LocalDate.of(2024, 1, 4), new BigDecimal(25))).thenReturn(2);
+
+        int result = budgetDayService.shiftAmounts(1L, deltas);
+
+        assertEquals(3, result);
+        verify(budgetDayRepository, never()).shiftAmounts(eq(1L), eq(LocalDate.of(2024, 1, 3)),
+                any(LocalDate.class), any(BigDecimal.class));
+    }
+
+    @Test
+    void givenBudgetIdDates_whenDeleteOutsideRange_returnDeletedRows() {
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 31);
+        when(budgetDayRepository.deleteOutsideRange(1L, startDate, endDate)).thenReturn(700);
+
+        int result = budgetDayService.deleteOutsideRange(1L, startDate, endDate);
+
+        assertEquals(700, result);
+        verify(budgetDayRepository, times(1)).deleteOutsideRange(1L, startDate, endDate);
+    }
+
     @Test
     void deleteById() {
         doNothing().when(budgetDayRepository).deleteById(any(Long.class));
@@ -1,5 +1,8 @@
 package com.aldegwin.budgetplanner.service.implementations;
 
+import com.aldegwin.budgetplanner.communication.dto.BalancePointDTO;
+import com.aldegwin.budgetplanner.communication.dto.BudgetSummaryDTO;
+import com.aldegwin.budgetplanner.communication.request.BalanceSeriesRequest;
 import com.aldegwin.budgetplanner.exception.DatabaseEntityNotFoundException;
 import com.aldegwin.budgetplanner.exception.IdConflictException;
 import com.aldegwin.budgetplanner.exception.IncorrectDateException;
@@ -7,7 +10,9 @@ import com.aldegwin.budgetplanner.model.Budget;
 import com.aldegwin.budgetplanner.model.BudgetDay;
 import com.aldegwin.budgetplanner.model.User;
 import com.aldegwin.budgetplanner.repository.BudgetRepository;
+import com.aldegwin.budgetplanner.repository.projection.BudgetTotals;
 import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
+import com.aldegwin.budgetplanner.util.cache.EntityCacheEvictor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,6 +28,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,6 +42,8 @@ class BudgetServiceImplTest {
     private BudgetRepository budgetRepository;
     @Mock
     private BudgetCalculatingService budgetCalculatingService;
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
     @InjectMocks
     private BudgetServiceImpl budgetService;
 
@@ -116,6 +124,7 @@ class BudgetServiceImplTest {
         verify(userService, times(1)).findById(1L);
         verify(budgetRepository, times(1)).save(same(budget));
         verify(budgetCalculatingService, times(1)).createBudgetDays(same(budget));
+        verify(entityCacheEvictor, times(1)).evictUserBudgets(1L);
     }
 
     @Test
@@ -167,27 +176,19 @@ class BudgetServiceImplTest {
         budget.setId(1L);
         budget.setUser(user);
 
-        List<Budget> userBudgets = createBudgets(2, 3, 4, 5, 6, 7, 8, 9, 10);
-        userBudgets.forEach(b -> b.setUser(user));
-        userBudgets.add(budget);
-
-        user.setBudgets(userBudgets);
-
-        when(userService.findById(1L)).thenReturn(user);
+        when(budgetRepository.findById(1L)).thenReturn(Optional.of(budget));
 
         Budget result = budgetService.findById(1L, 1L);
 
         assertThat(result).isNotNull();
         assertEquals(expected, result);
-        verify(userService, times(1)).findById(1L);
+        verify(budgetRepository, times(1)).findById(1L);
+        verify(userService, never()).findById(1L);
     }
 
     @Test
     void givenUserIdAndBudgetId_whenFindById_throwsDatabaseEntityFound_budgetNotFound() {
-        List<Budget> userBudgets = createBudgets(2,3,4,5,6,10,12,14);
-        userBudgets.forEach(b -> b.setUser(user));
-        user.setBudgets(userBudgets);
-
+        when(budgetRepository.findById(1L)).thenReturn(Optional.empty());
         when(userService.findById(1L)).thenReturn(user);
 
         DatabaseEntityNotFoundException e =
@@ -198,8 +199,25 @@ class BudgetServiceImplTest {
         verify(userService, times(1)).findById(1L);
     }
 
+    @Test
+    void givenUserIdAndBudgetId_whenFindById_throwsDatabaseEntityFound_budgetOfAnotherUser() {
+        User anotherUser = User.builder().id(2L).build();
+        budget.setId(1L);
+        budget.setUser(anotherUser);
+
+        when(budgetRepository.findById(1L)).thenReturn(Optional.of(budget));
+        when(userService.findById(1L)).thenReturn(user);
+
+        DatabaseEntityNotFoundException e =
+                assertThrows(DatabaseEntityNotFoundException.class,
+                        () -> budgetService.findById(1L, 1L));
+        String expectedExceptionMessage = "Budget not found";
+        assertEquals(expectedExceptionMessage, e.getMessage());
+    }
+
     @Test
     void givenUserIdAndBudgetId_whenFindById_throwsDatabaseEntityNotFound_userNotFound() {
+        when(budgetRepository.findById(1L)).thenReturn(Optional.empty());
         when(userService.findById(1L)).thenThrow(new DatabaseEntityNotFoundException("User not found"));
         DatabaseEntityNotFoundException e =
                 assertThrows(DatabaseEntityNotFoundException.class, () -> budgetService.findById(1L, 1L));
@@ -208,6 +226,42 @@ class BudgetServiceImplTest {
         verify(userService, times(1)).findById(1L);
     }
 
+    @Test
+    void givenUserIdAndBudgetId_whenFindDetailedById_throwsDatabaseEntityFound_budgetNotFound() {
+        when(budgetRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userService.findById(1L)).thenReturn(user);
+
+        DatabaseEntityNotFoundException e =
+                assertThrows(DatabaseEntityNotFoundException.class,
+                        () -> budgetService.findDetailedById(1L, 1L));
+        String expectedExceptionMessage = "Budget not found";
+        assertEquals(expectedExceptionMessage, e.getMessage());
+        verify(budgetRepository, never()).findWithIncomesById(any(Long.class));
+        verify(budgetRepository, never()).findWithExpensesById(any(Long.class));
+    }
+
+    @Test
+    void givenUserIdAndBudgetId_whenGetVersion_returnVersion() {
+        when(budgetRepository.findVersionByIdAndUserId(1L, 1L)).thenReturn(Optional.of(7L));
+
+        long result = budgetService.getVersion(1L, 1L);
+
+        assertEquals(7L, result);
+        verify(budgetRepository, never()).findById(any(Long.class));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void givenUserIdAndBudgetId_whenGetVersion_throwsDatabaseEntityNotFound_budgetNotFound() {
+        when(budgetRepository.findVersionByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+        when(userService.findById(1L)).thenReturn(user);
+
+        DatabaseEntityNotFoundException e =
+                assertThrows(DatabaseEntityNotFoundException.class, () -> budgetService.getVersion(1L, 1L));
+        String expectedExceptionMessage = "Budget not found";
+        assertEquals(expectedExceptionMessage, e.getMessage());
+    }
+
     @Test
     void givenUserId_whenFindAll_thenReturnBudgets() {
         List<Budget> userBudgets = createBudgets(1, 2, 3, 5, 6, 7, 8, 9, 10);
@@ -235,6 +289,92 @@ class BudgetServiceImplTest {
         verify(userService, times(1)).findById(1L);
     }
 
+    @Test
+    void givenUserId_whenFindAllSummaries_returnSummaries() {
+        when(budgetRepository.findTotalsByUserId(1L)).thenReturn(List.of(
+                new BudgetTotals(1L, "budget", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31),
+                        new BigDecimal(100), new BigDecimal(50), new BigDecimal(30))));
+        List<BudgetSummaryDTO> expected = List.of(BudgetSummaryDTO.builder()
+                .id(1L)
+                .name("budget")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 31))
+                .amount(new BigDecimal(100))
+                .currentBalance(new BigDecimal(120))
+                .incomeTotal(new BigDecimal(50))
+                .expenseTotal(new BigDecimal(30))
+                .build());
+
+        List<BudgetSummaryDTO> result = budgetService.findAllSummaries(1L);
+
+        assertEquals(expected, result);
+        verify(userService, never()).findById(any(Long.class));
+    }
+
+    @Test
+    void givenUserIdWithoutBudgets_whenFindAllSummaries_returnEmptyList() {
+        when(budgetRepository.findTotalsByUserId(1L)).thenReturn(Collections.emptyList());
+        when(userService.findById(1L)).thenReturn(user);
+
+        List<BudgetSummaryDTO> result = budgetService.findAllSummaries(1L);
+
+        assertEquals(Collections.emptyList(), result);
+        verify(userService, times(1)).findById(1L);
+    }
+
+    @Test
+    void givenUserId_whenFindAllSummaries_throwsDatabaseEntityNotFound_userNotFound() {
+        when(budgetRepository.findTotalsByUserId(1L)).thenReturn(Collections.emptyList());
+        when(userService.findById(1L)).thenThrow(new DatabaseEntityNotFoundException("User not found"));
+        DatabaseEntityNotFoundException e =
+                assertThrows(DatabaseEntityNotFoundException.class, () -> budgetService.findAllSummaries(1L));
+        String expectedExceptionMessage = "User not found";
+        assertEquals(expectedExceptionMessage, e.getMessage());
+    }
+
+    @Test
+    void givenUserIdBudgetIdSeriesRequest_whenGetBalanceSeries_returnBalancesInPeriod() {
+        budget.setId(1L);
+        budget.setUser(user);
+        List<BudgetDay> budgetDays = new ArrayList<>();
+        for(LocalDate date = budget.getStartDate(); !date.isAfter(budget.getEndDate()); date = date.plusDays(1))
+            budgetDays.add(BudgetDay.builder().budget(budget).dayDate(date).amount(budget.getAmount()).build());
+
+        BalanceSeriesRequest seriesRequest = new BalanceSeriesRequest();
+        seriesRequest.setFrom(LocalDate.of(2024, 1, 10));
+        seriesRequest.setResolution("week");
+
+        when(budgetRepository.findById(1L)).thenReturn(Optional.of(budget));
+        when(budgetCalculatingService.getBudgetDays(same(budget))).thenReturn(budgetDays.stream());
+
+        List<BalancePointDTO> result = budgetService.getBalanceSeries(1L, 1L, seriesRequest);
+
+        List<BalancePointDTO> expected = List.of(
+                new BalancePointDTO(LocalDate.of(2024, 1, 14), budget.getAmount()),
+                new BalancePointDTO(LocalDate.of(2024, 1, 21), budget.getAmount()),
+                new BalancePointDTO(LocalDate.of(2024, 1, 28), budget.getAmount()),
+                new BalancePointDTO(LocalDate.of(2024, 1, 31), budget.getAmount()));
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void givenUserIdBudgetIdSeriesRequest_whenGetBalanceSeries_throwsIncorrectDate_toBeforeFrom() {
+        budget.setId(1L);
+        budget.setUser(user);
+
+        BalanceSeriesRequest seriesRequest = new BalanceSeriesRequest();
+        seriesRequest.setFrom(LocalDate.of(2024, 1, 20));
+        seriesRequest.setTo(LocalDate.of(2024, 1, 10));
+
+        when(budgetRepository.findById(1L)).thenReturn(Optional.of(budget));
+
+        IncorrectDateException e = assertThrows(IncorrectDateException.class,
+                () -> budgetService.getBalanceSeries(1L, 1L, seriesRequest));
+        String expectedExceptionMessage = "Incorrect balance period";
+        assertEquals(expectedExceptionMessage, e.getMessage());
+        verify(budgetCalculatingService, never()).getBudgetDays(any(Budget.class));
+    }
+
     @Test
     void givenUserIdAndBudget_whenUpdate_returnBudget_oldBudgetPeriod() {
         budget.setId(1L);
@@ -252,8 +392,6 @@ class BudgetServiceImplTest {
                 .budgetDays(Collections.emptyList())
                 .build();
 
-        user.setBudgets(List.of(existingBudget));
-
         Budget expected = Budget.builder()
                 .id(1L)
                 .user(user)
@@ -268,7 +406,7 @@ class BudgetServiceImplTest {
                 .build();
 
 
-        when(userService.findById(1L)).thenReturn(user);
+        when(budgetRepository.findById(1L)).thenReturn(Optional.of(existingBudget));
         when(budgetRepository.save(same(existingBudget))).thenAnswer(invocation -> {
             Budget b = invocation.getArgument(0, Budget.class);
             Budget updated = Budget.builder().id(user.getId()).build();
@@ -283,15 +421,16 @@ class BudgetServiceImplTest {
             updated.setBudgetDays(b.getBudgetDays());
             return updated;
         });
-        doNothing().when(budgetCalculatingService).calculateBudget(any(Budget.class));
+        doNothing().when(budgetCalculatingService).scheduleCalculation(any(Budget.class));
 
         Budget result = budgetService.update(1L, budget);
 
         assertEquals(expected, result);
         verify(budgetCalculatingService, never()).reformatBudgetDays(any(Budget.class));
-        verify(budgetCalculatingService, times(1)).calculateBudget(any(Budget.class));
-        verify(userService, times(1)).findById(1L);
+        verify(budgetCalculatingService, times(1)).scheduleCalculation(any(Budget.class));
+        verify(budgetRepository, times(1)).findById(1L);
         verify(budgetRepository, times(1)).save(same(existingBudget));
+        verify(budgetRepository, times(1)).incrementVersion(1L);
     }
 
     @Test
@@ -311,8 +450,6 @@ class BudgetServiceImplTest {
                 .budgetDays(Collections.emptyList())
                 .build();
 
-        user.setBudgets(List.of(existingBudget));
-
         Budget expected = Budget.builder()
                 .id(1L)
                 .user(user)
@@ -327,7 +464,7 @@ class BudgetServiceImplTest {
                 .build();
 
 
-        when(userService.findById(1L)).thenReturn(user);
+        when(budgetRepository.findById(1L)).thenReturn(Optional.of(existingBudget));
         when(budgetRepository.save(same(existingBudget))).thenAnswer(invocation -> {
             Budget b = invocation.getArgument(0, Budget.class);
             Budget updated = Budget.builder().id(user.getId()).build();
@@ -343,14 +480,14 @@ class BudgetServiceImplTest {
             return updated;
         });
         doNothing().when(budgetCalculatingService).reformatBudgetDays(any(Budget.class));
-        doNothing().when(budgetCalculatingService).calculateBudget(any(Budget.class));
+        doNothing().when(budgetCalculatingService).scheduleCalculation(any(Budget.class));
 
         Budget result = budgetService.update(1L, budget);
 
         assertEquals(expected, result);
         verify(budgetCalculatingService, times(1)).reformatBudgetDays(any(Budget.class));
-        verify(budgetCalculatingService, times(1)).calculateBudget(any(Budget.class));
-        verify(userService, times(1)).findById(1L);
+        verify(budgetCalculatingService, times(1)).scheduleCalculation(any(Budget.class));
+        verify(budgetRepository, times(1)).findById(1L);
         verify(budgetRepository, times(1)).save(same(existingBudget));
     }
 
@@ -371,8 +508,6 @@ class BudgetServiceImplTest {
                 .budgetDays(Collections.emptyList())
                 .build();
 
-        user.setBudgets(List.of(existingBudget));
-
         Budget expected = Budget.builder()
                 .id(1L)
                 .user(user)
@@ -387,7 +522,7 @@ class BudgetServiceImplTest {
                 .build();
 
 
-        when(userService.findById(1L)).thenReturn(user);
+        when(budgetRepository.findById(1L)).thenReturn(Optional.of(existingBudget));
         when(budgetRepository.save(same(existingBudget))).thenAnswer(invocation -> {
             Budget b = invocation.getArgument(0, Budget.class);
             Budget updated = Budget.builder().id(user.getId()).build();
@@ -403,14 +538,14 @@ class BudgetServiceImplTest {
             return updated;
         });
         doNothing().when(budgetCalculatingService).reformatBudgetDays(any(Budget.class));
-        doNothing().when(budgetCalculatingService).calculateBudget(any(Budget.class));
+        doNothing().when(budgetCalculatingService).scheduleCalculation(any(Budget.class));
 
         Budget result = budgetService.update(1L, budget);
 
         assertEquals(expected, result);
         verify(budgetCalculatingService, times(1)).reformatBudgetDays(any(Budget.class));
-        verify(budgetCalculatingService, times(1)).calculateBudget(any(Budget.class));
-        verify(userService, times(1)).findById(1L);
+        verify(budgetCalculatingService, times(1)).scheduleCalculation(any(Budget.class));
+        verify(budgetRepository, times(1)).findById(1L);
         verify(budgetRepository, times(1)).save(same(existingBudget));
     }
 
@@ -439,23 +574,21 @@ class BudgetServiceImplTest {
         budget.setId(1L);
         budget.setUser(user);
 
-        List<Budget> userBudgets = createBudgets(2, 3, 4, 5, 6, 7, 8, 9, 10);
-        userBudgets.forEach(b -> b.setUser(user));
-        userBudgets.add(budget);
-
-        user.setBudgets(userBudgets);
-
-        when(userService.findById(1L)).thenReturn(user);
+        when(budgetRepository.existsByIdAndUserId(1L, 1L)).thenReturn(true);
         doNothing().when(budgetRepository).deleteById(1L);
 
         budgetService.deleteById(1L, 1L);
 
-        verify(userService, times(1)).findById(1L);
+        verify(budgetRepository, times(1)).existsByIdAndUserId(1L, 1L);
+        verify(userService, never()).findById(1L);
         verify(budgetRepository, times(1)).deleteById(1L);
+        verify(budgetCalculatingService, times(1)).evictBudget(1L);
+        verify(entityCacheEvictor, times(1)).evictUserBudgets(1L);
     }
 
     @Test
     void givenUserIdAndBudgetId_whenDeleteById_throwsDatabaseEntityNotFound_userNotFound() {
+        when(budgetRepository.existsByIdAndUserId(1L, 1L)).thenReturn(false);
         when(userService.findById(1L)).thenThrow(new DatabaseEntityNotFoundException("User not found"));
         DatabaseEntityNotFoundException e =  assertThrows(DatabaseEntityNotFoundException.class,
                 () -> budgetService.deleteById(1L, 1L));
@@ -468,10 +601,7 @@ class BudgetServiceImplTest {
     void givenUserIdAndBudgetId_whenDeleteById_throwsDatabaseEntityNotFound_budgetNotFound() {
         budget.setId(1L);
 
-        List<Budget> userBudgets = createBudgets(2, 3, 4, 5, 6, 7, 8, 9, 10);
-        userBudgets.forEach(b -> b.setUser(user));
-        user.setBudgets(userBudgets);
-
+        when(budgetRepository.existsByIdAndUserId(1L, 1L)).thenReturn(false);
         when(userService.findById(1L)).thenReturn(user);
 
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
@@ -479,6 +609,7 @@ class BudgetServiceImplTest {
         String expectedExceptionMessage = "Budget not found";
         assertEquals(expectedExceptionMessage, e.getMessage());
         verify(userService, times(1)).findById(1L);
+        verify(budgetRepository, never()).deleteById(1L);
     }
 
     @Test
@@ -0,0 +1,139 @@
+package com.aldegwin.budgetplanner.service.implementations;
+
+import com.aldegwin.budgetplanner.communication.mapper.BudgetDayMapper;
+import com.aldegwin.budgetplanner.communication.mapper.ExpenseMapper;
+import com.aldegwin.budgetplanner.communication.mapper.IncomeMapper;
+import com.aldegwin.budgetplanner.exception.DatabaseEntityNotFoundException;
+import com.aldegwin.budgetplanner.model.*;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
+import com.aldegwin.budgetplanner.service.BudgetService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({BudgetStreamServiceImpl.class, ExpenseMapper.class, IncomeMapper.class, BudgetDayMapper.class})
+class BudgetStreamServiceImplTest {
+    private static final int TRANSACTIONS = 1200;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private BudgetStreamServiceImpl budgetStreamService;
+    @MockBean
+    private BudgetService budgetService;
+    @MockBean
+    private BudgetCalculatingService budgetCalculatingService;
+
+    private User user;
+    private Budget budget;
+
+    @BeforeEach
+    public void initialize() {
+        user = User.builder()
+                .email("test@mail.com")
+                .username("TestUser")
+                .password("123456789")
+                .lastLoginDate(LocalDateTime.now())
+                .build();
+        entityManager.persist(user);
+
+        budget = Budget.builder()
+                .user(user)
+                .name("budget")
+                .amount(new BigDecimal(100))
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 12, 31))
+                .description("budgetDescription")
+                .build();
+        entityManager.persist(budget);
+
+        for(int i = 0; i < TRANSACTIONS; i++) {
+            LocalDate date = budget.getStartDate().plusDays(i % 366);
+            entityManager.persist(Income.builder().budget(budget).amount(new BigDecimal(10))
+                    .incomeDate(date).incomeType(IncomeType.SALARY).description("income").build());
+            entityManager.persist(Expense.builder().budget(budget).amount(new BigDecimal(5))
+                    .expenseDate(date).expenseType(ExpenseType.GROCERIES).description("expense").build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void givenUserIdBudgetId_whenWriteExpenses_writeOrderedArrayAndDetachRows() throws Exception {
+        when(budgetService.findById(user.getId(), budget.getId())).thenReturn(budget);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        budgetStreamService.writeExpenses(user.getId(), budget.getId(), outputStream);
+
+        JsonNode result = objectMapper.readTree(outputStream.toByteArray());
+        assertEquals(TRANSACTIONS, result.size());
+        assertEquals("2024-01-01", result.get(0).get("expenseDate").asText());
+        assertEquals("GROCERIES", result.get(0).get("expenseType").asText());
+        assertTrue(result.get(1).get("id").asLong() > result.get(0).get("id").asLong());
+        assertTrue(entityManager.unwrap(SessionImplementor.class).getPersistenceContext()
+                .getEntitiesByKey().keySet().stream()
+                .noneMatch(key -> key.getEntityName().equals(Expense.class.getName())));
+    }
+
+    @Test
+    void givenUserIdBudgetId_whenWriteBudget_writeBudgetDtoShape() throws Exception {
+        when(budgetService.findById(user.getId(), budget.getId())).thenReturn(budget);
+        when(budgetCalculatingService.streamBudgetDays(any(Budget.class))).thenReturn(Stream.of(
+                BudgetDay.builder().id(1L).dayDate(LocalDate.of(2024, 1, 1)).amount(new BigDecimal(100))
+                        .description("Balance on 2024-01-01").build()));
+        when(budgetCalculatingService.isCalculationPending(budget.getId())).thenReturn(true);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        budgetStreamService.writeBudget(user.getId(), budget.getId(), outputStream);
+
+        JsonNode result = objectMapper.readTree(outputStream.toByteArray());
+        assertEquals(budget.getId(), result.get("id").asLong());
+        assertEquals("budget", result.get("name").asText());
+        assertEquals("2024-12-31", result.get("endDate").asText());
+        assertEquals(TRANSACTIONS, result.get("incomes").size());
+        assertEquals(TRANSACTIONS, result.get("expenses").size());
+        assertEquals("2024-01-01", result.get("budgetDays").get(0).get("localDate").asText());
+        assertTrue(result.get("recalculationPending").asBoolean());
+    }
+
+    @Test
+    void givenUserIdBudgetId_whenWriteIncomes_throwsDatabaseEntityNotFound_budgetNotFound() {
+        when(budgetService.findById(user.getId(), 100L))
+                .thenThrow(new DatabaseEntityNotFoundException("Budget not found"));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
+                () -> budgetStreamService.writeIncomes(user.getId(), 100L, outputStream));
+        String expectedExceptionMessage = "Budget not found";
+        assertEquals(expectedExceptionMessage, e.getMessage());
+        assertEquals(0, outputStream.size());
+    }
+}
@@ -0,0 +1,93 @@
+package com.aldegwin.budgetplanner.service.implementations;
+
+import com.aldegwin.budgetplanner.communication.dto.ExpenseDTO;
+import com.aldegwin.budgetplanner.communication.mapper.ExpenseMapper;
+import com.aldegwin.budgetplanner.communication.request.TransactionPageRequest;
+import com.aldegwin.budgetplanner.model.Expense;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+import com.aldegwin.budgetplanner.service.BudgetService;
+import com.aldegwin.budgetplanner.service.ExpenseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseCommandServiceImplTest {
+    @Mock
+    private ExpenseService expenseService;
+    @Mock
+    private BudgetService budgetService;
+    @Spy
+    private ExpenseMapper expenseMapper = new ExpenseMapper();
+    @InjectMocks
+    private ExpenseCommandServiceImpl expenseCommandService;
+
+    private Expense expense;
+    private TransactionPageRequest pageRequest;
+
+    @BeforeEach
+    public void initialize() {
+        expense = Expense.builder()
+                .id(1L)
+                .amount(new BigDecimal(10))
+                .expenseDate(LocalDate.of(2024, 1, 3))
+                .description("Expense description")
+                .expenseType(ExpenseType.TRAVEL)
+                .build();
+        pageRequest = new TransactionPageRequest();
+    }
+
+    @Test
+    void givenMatchingETag_whenFindAll_returnEmptyWithoutLoadingExpenses() {
+        when(budgetService.getVersion(1L, 1L)).thenReturn(5L);
+
+        Optional<List<ExpenseDTO>> result =
+                expenseCommandService.findAll(1L, 1L, null, pageRequest, "W/\"5\""::equals);
+
+        assertTrue(result.isEmpty());
+        verify(expenseService, never()).findAll(any(Long.class), any(Long.class), any(), any());
+    }
+
+    @Test
+    void givenStaleETag_whenFindAll_returnExpenseDtos() {
+        when(budgetService.getVersion(1L, 1L)).thenReturn(5L);
+        when(expenseService.findAll(1L, 1L, null, pageRequest)).thenReturn(List.of(expense));
+
+        Optional<List<ExpenseDTO>> result =
+                expenseCommandService.findAll(1L, 1L, null, pageRequest, "W/\"4\""::equals);
+
+        assertEquals(Optional.of(List.of(new ExpenseDTO(1L, new BigDecimal(10), LocalDate.of(2024, 1, 3),
+                "Expense description", "TRAVEL"))), result);
+    }
+
+    @Test
+    void givenExpenseDto_whenSave_returnSavedExpenseDto() {
+        ExpenseDTO expenseDTO = new ExpenseDTO(null, new BigDecimal(10), LocalDate.of(2024, 1, 3),
+                "Expense description", "TRAVEL");
+
+        when(expenseService.save(eq(1L), eq(1L), any(Expense.class))).thenAnswer(invocation -> {
+            Expense e = invocation.getArgument(2, Expense.class);
+            e.setId(1L);
+            return e;
+        });
+
+        ExpenseDTO result = expenseCommandService.save(1L, 1L, expenseDTO);
+
+        assertEquals(1L, result.getId());
+        assertEquals(expenseDTO.getExpenseDate(), result.getExpenseDate());
+        assertEquals("TRAVEL", result.getExpenseType());
+    }
+}
@@ -1,5 +1,6 @@
 package com.aldegwin.budgetplanner.service.implementations;
 
+import com.aldegwin.budgetplanner.communication.request.TransactionPageRequest;
 import com.aldegwin.budgetplanner.exception.DatabaseEntityNotFoundException;
 import com.aldegwin.budgetplanner.exception.IdConflictException;
 import com.aldegwin.budgetplanner.exception.IncorrectDateException;
@@ -8,12 +9,15 @@ import com.aldegwin.budgetplanner.model.Expense;
 import com.aldegwin.budgetplanner.model.User;
 import com.aldegwin.budgetplanner.model.constant.ExpenseType;
 import com.aldegwin.budgetplanner.repository.ExpenseRepository;
+import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
+import com.aldegwin.budgetplanner.util.cache.EntityCacheEvictor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -23,6 +27,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -35,6 +40,10 @@ class ExpenseServiceImplTest {
     private BudgetServiceImpl budgetService;
     @Mock
     private ExpenseRepository expenseRepository;
+    @Mock
+    private BudgetCalculatingService budgetCalculatingService;
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
     @InjectMocks
     private ExpenseServiceImpl expenseService;
 
@@ -103,6 +112,10 @@ class ExpenseServiceImplTest {
         assertEquals(expected, result);
         verify(budgetService, times(1)).findById(1L, 1L);
         verify(expenseRepository, times(1)).save(same(expense));
+        verify(budgetCalculatingService, times(1))
+                .shiftBudgetDays(budget, LocalDate.of(2024, 1, 3), new BigDecimal(-100));
+        verify(budgetService, times(1)).incrementVersion(1L);
+        verify(entityCacheEvictor, times(1)).evictBudgetExpenses(1L);
     }
 
     @Test
@@ -180,16 +193,18 @@ class ExpenseServiceImplTest {
 
         budget.setExpenses(expenses);
 
-        when(budgetService.findById(1L, 1L)).thenReturn(budget);
+        when(expenseRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.of(expense));
 
         Expense result = expenseService.findById(1L, 1L, 1L);
 
         assertEquals(expected, result);
-        verify(budgetService, times(1)).findById(1L, 1L);
+        verify(expenseRepository, times(1)).findByIdAndBudgetIdAndUserId(1L, 1L, 1L);
+        verify(budgetService, never()).findById(1L, 1L);
     }
 
     @Test
     void givenUserIdBudgetIdExpenseId_whenFindById_throwsDataBaseEntityNotFound_budgetNotFound() {
+        when(expenseRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.empty());
         when(budgetService.findById(1L, 1L))
                 .thenThrow(new DatabaseEntityNotFoundException("Budget not found"));
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
@@ -201,6 +216,7 @@ class ExpenseServiceImplTest {
 
     @Test
     void givenUserIdBudgetIdExpenseId_whenFindById_throwsDataBaseEntityNotFound_userNotFound() {
+        when(expenseRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.empty());
         when(budgetService.findById(1L, 1L))
                 .thenThrow(new DatabaseEntityNotFoundException("User not found"));
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
@@ -217,6 +233,7 @@ class ExpenseServiceImplTest {
 
         budget.setExpenses(expenses);
 
+        when(expenseRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.empty());
         when(budgetService.findById(1L, 1L)).thenReturn(budget);
 
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
@@ -227,30 +244,52 @@ class ExpenseServiceImplTest {
     }
 
     @Test
-    void givenUserIdBudgetId_whenFindAll_returnExpenses() {
+    void givenUserIdBudgetIdPageRequest_whenFindAll_returnExpenses() {
         List<Expense> expenses = createExpenses(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
         expenses.forEach(i -> i.setBudget(budget));
 
         List<Expense> expected = createExpenses(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
         expected.forEach(i -> i.setBudget(budget));
 
-        budget.setExpenses(expenses);
-
         when(budgetService.findById(1L, 1L)).thenReturn(budget);
+        when(expenseRepository.findPage(1L, budget.getStartDate(), budget.getEndDate(), null,
+                budget.getStartDate().minusDays(1), 0L, Limit.of(TransactionPageRequest.DEFAULT_LIMIT)))
+                .thenReturn(expenses);
 
-        List<Expense> result = (List<Expense>) expenseService.findAll(1L, 1L);
+        List<Expense> result = expenseService.findAll(1L, 1L, null, new TransactionPageRequest());
 
         assertEquals(expected, result);
         verify(budgetService, times(1)).findById(1L, 1L);
     }
 
+    @Test
+    void givenUserIdBudgetIdTypeCursor_whenFindAll_returnExpensesAfterCursor() {
+        List<Expense> expenses = createExpenses(6, 7);
+        expenses.forEach(i -> i.setBudget(budget));
+
+        TransactionPageRequest pageRequest = new TransactionPageRequest();
+        pageRequest.setFrom(LocalDate.of(2024, 1, 10));
+        pageRequest.setAfterDate(LocalDate.of(2024, 1, 12));
+        pageRequest.setAfterId(5L);
+        pageRequest.setLimit(2);
+
+        when(budgetService.findById(1L, 1L)).thenReturn(budget);
+        when(expenseRepository.findPage(1L, LocalDate.of(2024, 1, 10), budget.getEndDate(), ExpenseType.TRAVEL,
+                LocalDate.of(2024, 1, 12), 5L, Limit.of(2)))
+                .thenReturn(expenses);
+
+        List<Expense> result = expenseService.findAll(1L, 1L, ExpenseType.TRAVEL, pageRequest);
+
+        assertEquals(expenses, result);
+    }
+
     @Test
     void givenUserIdBudgetId_whenFindAll_throwsDataBaseEntityNotFound_userNotFound() {
         when(budgetService.findById(1L, 1L))
                 .thenThrow(new DatabaseEntityNotFoundException("User not found"));
 
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
-                () -> expenseService.findAll(1L, 1L));
+                () -> expenseService.findAll(1L, 1L, null, new TransactionPageRequest()));
         String expectedExceptionMessage = "User not found";
         assertEquals(expectedExceptionMessage, e.getMessage());
         verify(budgetService, times(1)).findById(1L, 1L);
@@ -262,7 +301,7 @@ class ExpenseServiceImplTest {
                 .thenThrow(new DatabaseEntityNotFoundException("Budget not found"));
 
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
-                () -> expenseService.findAll(1L, 1L));
+                () -> expenseService.findAll(1L, 1L, null, new TransactionPageRequest()));
         String expectedExceptionMessage = "Budget not found";
         assertEquals(expectedExceptionMessage, e.getMessage());
         verify(budgetService, times(1)).findById(1L, 1L);
@@ -292,7 +331,7 @@ class ExpenseServiceImplTest {
                 .description("Expense description")
                 .build();
 
-        when(budgetService.findById(1L, 1L)).thenReturn(budget);
+        when(expenseRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.of(existingExpense));
         when(expenseRepository.save(same(existingExpense))).thenAnswer(invocation -> {
             Expense e = invocation.getArgument(0, Expense.class);
             Expense updated = Expense.builder().id(e.getId()).build();
@@ -309,8 +348,12 @@ class ExpenseServiceImplTest {
         Expense result = expenseService.update(1L, 1L, expense);
 
         assertEquals(expected, result);
-        verify(budgetService,times(1)).findById(1L, 1L);
+        verify(expenseRepository, times(1)).findByIdAndBudgetIdAndUserId(1L, 1L, 1L);
+        verify(budgetService, never()).findById(1L, 1L);
         verify(expenseRepository, times(1)).save(same(existingExpense));
+        verify(budgetCalculatingService, times(1)).moveBudgetDays(budget,
+                LocalDate.of(2024, 1, 15), new BigDecimal(-300),
+                LocalDate.of(2024, 1, 3), new BigDecimal(-100));
     }
 
     @Test
@@ -326,6 +369,7 @@ class ExpenseServiceImplTest {
     void givenUserIdBudgetIdExpenseId_whenUpdate_throwsDatabaseEntityNotFound_userNotFound() {
         expense.setId(1L);
         expense.setBudget(budget);
+        when(expenseRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.empty());
         when(budgetService.findById(1L, 1L))
                 .thenThrow(new DatabaseEntityNotFoundException("User not found"));
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
@@ -339,6 +383,7 @@ class ExpenseServiceImplTest {
     void givenUserIdBudgetIdExpenseId_whenUpdate_throwsDatabaseEntityNotFound_budgetNotFound() {
         expense.setId(1L);
         expense.setBudget(budget);
+        when(expenseRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.empty());
         when(budgetService.findById(1L, 1L))
                 .thenThrow(new DatabaseEntityNotFoundException("Budget not found"));
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
@@ -364,13 +409,14 @@ class ExpenseServiceImplTest {
 
         budget.setExpenses(List.of(existingExpense));
 
-        when(budgetService.findById(1L,1L)).thenReturn(budget);
+        when(expenseRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.of(existingExpense));
 
         IncorrectDateException e = assertThrows(IncorrectDateException.class,
                 () -> expenseService.update(1L, 1L, expense));
         String expectedExceptionMessage = "The entered date is not included in the budget deadline";
         assertEquals(expectedExceptionMessage, e.getMessage());
-        verify(budgetService, times(1)).findById(1L, 1L);
+        verify(expenseRepository, times(1)).findByIdAndBudgetIdAndUserId(1L, 1L, 1L);
+        verify(budgetService, never()).findById(1L, 1L);
     }
 
     @Test
@@ -389,13 +435,14 @@ class ExpenseServiceImplTest {
 
         budget.setExpenses(List.of(existingExpense));
 
-        when(budgetService.findById(1L,1L)).thenReturn(budget);
+        when(expenseRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.of(existingExpense));
 
         IncorrectDateException e = assertThrows(IncorrectDateException.class,
                 () -> expenseService.update(1L, 1L, expense));
         String expectedExceptionMessage = "The entered date is not included in the budget deadline";
         assertEquals(expectedExceptionMessage, e.getMessage());
-        verify(budgetService, times(1)).findById(1L, 1L);
+        verify(expenseRepository, times(1)).findByIdAndBudgetIdAndUserId(1L, 1L, 1L);
+        verify(budgetService, never()).findById(1L, 1L);
     }
 
     @Test
@@ -405,17 +452,21 @@ class ExpenseServiceImplTest {
 
         budget.setExpenses(List.of(expense));
 
-        when(budgetService.findById(1L, 1L)).thenReturn(budget);
+        when(expenseRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.of(expense));
         doNothing().when(expenseRepository).deleteById(1L);
 
         expenseService.deleteById(1L, 1L, 1L);
 
-        verify(budgetService, times(1)).findById(1L, 1L);
+        verify(expenseRepository, times(1)).findByIdAndBudgetIdAndUserId(1L, 1L, 1L);
+        verify(budgetService, never()).findById(1L, 1L);
         verify(expenseRepository, times(1)).deleteById(1L);
+        verify(budgetCalculatingService, times(1))
+                .shiftBudgetDays(budget, LocalDate.of(2024, 1, 3), new BigDecimal(100));
     }
 
     @Test
     void givenUserIdBudgetIdExpenseId_whenDeleteById_throwsDatabaseEntityNotFound_userNotFound() {
+        when(expenseRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.empty());
         when(budgetService.findById(1L, 1L))
                 .thenThrow(new DatabaseEntityNotFoundException("User not found"));
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
@@ -427,6 +478,7 @@ class ExpenseServiceImplTest {
 
     @Test
     void givenUserIdBudgetIdExpenseId_whenDeleteById_throwsDatabaseEntityNotFound_budgetNotFound() {
+        when(expenseRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.empty());
         when(budgetService.findById(1L, 1L))
                 .thenThrow(new DatabaseEntityNotFoundException("Budget not found"));
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
@@ -441,6 +493,7 @@ class ExpenseServiceImplTest {
         List<Expense> expenses = createExpenses(2, 3, 4, 5, 6, 7, 8, 9, 10);
         budget.setExpenses(expenses);
 
+        when(expenseRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.empty());
         when(budgetService.findById(1L, 1L)).thenReturn(budget);
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
                 () -> expenseService.deleteById(1L, 1L, 1L));
@@ -489,7 +542,6 @@ class ExpenseServiceImplTest {
 
         budget.setExpenses(List.of(expenseAfterBudgetPeriod, expenseBeforeBudgetPeriod, expenseInBudgetPeriod));
 
-        when(budgetService.findById(1L, 1L)).thenReturn(budget);
         doNothing().when(expenseRepository).deleteById(any(Long.class));
 
         expenseService.deleteUnnecessaryExpensesForBudget(budget);
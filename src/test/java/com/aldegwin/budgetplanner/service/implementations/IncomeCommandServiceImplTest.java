@@ -0,0 +1,93 @@
+package com.aldegwin.budgetplanner.service.implementations;
+
+import com.aldegwin.budgetplanner.communication.dto.IncomeDTO;
+import com.aldegwin.budgetplanner.communication.mapper.IncomeMapper;
+import com.aldegwin.budgetplanner.communication.request.TransactionPageRequest;
+import com.aldegwin.budgetplanner.model.Income;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+import com.aldegwin.budgetplanner.service.BudgetService;
+import com.aldegwin.budgetplanner.service.IncomeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IncomeCommandServiceImplTest {
+    @Mock
+    private IncomeService incomeService;
+    @Mock
+    private BudgetService budgetService;
+    @Spy
+    private IncomeMapper incomeMapper = new IncomeMapper();
+    @InjectMocks
+    private IncomeCommandServiceImpl incomeCommandService;
+
+    private Income income;
+    private TransactionPageRequest pageRequest;
+
+    @BeforeEach
+    public void initialize() {
+        income = Income.builder()
+                .id(1L)
+                .amount(new BigDecimal(10))
+                .incomeDate(LocalDate.of(2024, 1, 3))
+                .description("Income description")
+                .incomeType(IncomeType.SALARY)
+                .build();
+        pageRequest = new TransactionPageRequest();
+    }
+
+    @Test
+    void givenMatchingETag_whenFindAll_returnEmptyWithoutLoadingIncomes() {
+        when(budgetService.getVersion(1L, 1L)).thenReturn(5L);
+
+        Optional<List<IncomeDTO>> result =
+                incomeCommandService.findAll(1L, 1L, null, pageRequest, "W/\"5\""::equals);
+
+        assertTrue(result.isEmpty());
+        verify(incomeService, never()).findAll(any(Long.class), any(Long.class), any(), any());
+    }
+
+    @Test
+    void givenStaleETag_whenFindAll_returnIncomeDtos() {
+        when(budgetService.getVersion(1L, 1L)).thenReturn(5L);
+        when(incomeService.findAll(1L, 1L, null, pageRequest)).thenReturn(List.of(income));
+
+        Optional<List<IncomeDTO>> result =
+                incomeCommandService.findAll(1L, 1L, null, pageRequest, "W/\"4\""::equals);
+
+        assertEquals(Optional.of(List.of(new IncomeDTO(1L, new BigDecimal(10), LocalDate.of(2024, 1, 3),
+                "Income description", "SALARY"))), result);
+    }
+
+    @Test
+    void givenIncomeDto_whenSave_returnSavedIncomeDto() {
+        IncomeDTO incomeDTO = new IncomeDTO(null, new BigDecimal(10), LocalDate.of(2024, 1, 3),
+                "Income description", "SALARY");
+
+        when(incomeService.save(eq(1L), eq(1L), any(Income.class))).thenAnswer(invocation -> {
+            Income e = invocation.getArgument(2, Income.class);
+            e.setId(1L);
+            return e;
+        });
+
+        IncomeDTO result = incomeCommandService.save(1L, 1L, incomeDTO);
+
+        assertEquals(1L, result.getId());
+        assertEquals(incomeDTO.getIncomeDate(), result.getIncomeDate());
+        assertEquals("SALARY", result.getIncomeType());
+    }
+}
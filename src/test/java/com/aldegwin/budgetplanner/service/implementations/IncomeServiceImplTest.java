@@ -1,5 +1,6 @@
 package com.aldegwin.budgetplanner.service.implementations;
 
+import com.aldegwin.budgetplanner.communication.request.TransactionPageRequest;
 import com.aldegwin.budgetplanner.exception.DatabaseEntityNotFoundException;
 import com.aldegwin.budgetplanner.exception.IdConflictException;
 import com.aldegwin.budgetplanner.exception.IncorrectDateException;
@@ -8,12 +9,15 @@ import com.aldegwin.budgetplanner.model.Income;
 import com.aldegwin.budgetplanner.model.User;
 import com.aldegwin.budgetplanner.model.constant.IncomeType;
 import com.aldegwin.budgetplanner.repository.IncomeRepository;
+import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
+import com.aldegwin.budgetplanner.util.cache.EntityCacheEvictor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -23,6 +27,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -35,6 +40,10 @@ class IncomeServiceImplTest {
     private BudgetServiceImpl budgetService;
     @Mock
     private IncomeRepository incomeRepository;
+    @Mock
+    private BudgetCalculatingService budgetCalculatingService;
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
     @InjectMocks
     private IncomeServiceImpl incomeService;
 
@@ -101,6 +110,10 @@ class IncomeServiceImplTest {
         assertEquals(expected, result);
         verify(budgetService, times(1)).findById(1L, 1L);
         verify(incomeRepository, times(1)).save(same(income));
+        verify(budgetCalculatingService, times(1))
+                .shiftBudgetDays(budget, LocalDate.of(2024, 1, 3), new BigDecimal(100));
+        verify(budgetService, times(1)).incrementVersion(1L);
+        verify(entityCacheEvictor, times(1)).evictBudgetIncomes(1L);
     }
 
     @Test
@@ -178,16 +191,18 @@ class IncomeServiceImplTest {
 
         budget.setIncomes(incomes);
 
-        when(budgetService.findById(1L, 1L)).thenReturn(budget);
+        when(incomeRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.of(income));
 
         Income result = incomeService.findById(1L, 1L, 1L);
 
         assertEquals(expected, result);
-        verify(budgetService, times(1)).findById(1L, 1L);
+        verify(incomeRepository, times(1)).findByIdAndBudgetIdAndUserId(1L, 1L, 1L);
+        verify(budgetService, never()).findById(1L, 1L);
     }
 
     @Test
     void givenUserIdBudgetIdIncomeId_whenFindById_throwsDataBaseEntityNotFound_budgetNotFound() {
+        when(incomeRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.empty());
         when(budgetService.findById(1L, 1L))
                 .thenThrow(new DatabaseEntityNotFoundException("Budget not found"));
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
@@ -199,6 +214,7 @@ class IncomeServiceImplTest {
 
     @Test
     void givenUserIdBudgetIdIncomeId_whenFindById_throwsDataBaseEntityNotFound_userNotFound() {
+        when(incomeRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.empty());
         when(budgetService.findById(1L, 1L))
                 .thenThrow(new DatabaseEntityNotFoundException("User not found"));
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
@@ -215,6 +231,7 @@ class IncomeServiceImplTest {
 
         budget.setIncomes(incomes);
 
+        when(incomeRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.empty());
         when(budgetService.findById(1L, 1L)).thenReturn(budget);
 
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
@@ -225,30 +242,52 @@ class IncomeServiceImplTest {
     }
 
     @Test
-    void givenUserIdBudgetId_whenFindAll_returnIncomes() {
+    void givenUserIdBudgetIdPageRequest_whenFindAll_returnIncomes() {
         List<Income> incomes = createIncomes(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
         incomes.forEach(i -> i.setBudget(budget));
 
         List<Income> expected = createIncomes(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
         expected.forEach(i -> i.setBudget(budget));
 
-        budget.setIncomes(incomes);
-
         when(budgetService.findById(1L, 1L)).thenReturn(budget);
+        when(incomeRepository.findPage(1L, budget.getStartDate(), budget.getEndDate(), null,
+                budget.getStartDate().minusDays(1), 0L, Limit.of(TransactionPageRequest.DEFAULT_LIMIT)))
+                .thenReturn(incomes);
 
-        List<Income> result = (List<Income>) incomeService.findAll(1L, 1L);
+        List<Income> result = incomeService.findAll(1L, 1L, null, new TransactionPageRequest());
 
         assertEquals(expected, result);
         verify(budgetService, times(1)).findById(1L, 1L);
     }
 
+    @Test
+    void givenUserIdBudgetIdTypeCursor_whenFindAll_returnIncomesAfterCursor() {
+        List<Income> incomes = createIncomes(6, 7);
+        incomes.forEach(i -> i.setBudget(budget));
+
+        TransactionPageRequest pageRequest = new TransactionPageRequest();
+        pageRequest.setFrom(LocalDate.of(2024, 1, 10));
+        pageRequest.setAfterDate(LocalDate.of(2024, 1, 12));
+        pageRequest.setAfterId(5L);
+        pageRequest.setLimit(2);
+
+        when(budgetService.findById(1L, 1L)).thenReturn(budget);
+        when(incomeRepository.findPage(1L, LocalDate.of(2024, 1, 10), budget.getEndDate(), IncomeType.SALARY,
+                LocalDate.of(2024, 1, 12), 5L, Limit.of(2)))
+                .thenReturn(incomes);
+
+        List<Income> result = incomeService.findAll(1L, 1L, IncomeType.SALARY, pageRequest);
+
+        assertEquals(incomes, result);
+    }
+
     @Test
     void givenUserIdBudgetId_whenFindAll_throwsDataBaseEntityNotFound_userNotFound() {
         when(budgetService.findById(1L, 1L))
                 .thenThrow(new DatabaseEntityNotFoundException("User not found"));
 
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
-                () -> incomeService.findAll(1L, 1L));
+                () -> incomeService.findAll(1L, 1L, null, new TransactionPageRequest()));
         String expectedExceptionMessage = "User not found";
         assertEquals(expectedExceptionMessage, e.getMessage());
         verify(budgetService, times(1)).findById(1L, 1L);
@@ -260,7 +299,7 @@ class IncomeServiceImplTest {
                 .thenThrow(new DatabaseEntityNotFoundException("Budget not found"));
 
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
-                () -> incomeService.findAll(1L, 1L));
+                () -> incomeService.findAll(1L, 1L, null, new TransactionPageRequest()));
         String expectedExceptionMessage = "Budget not found";
         assertEquals(expectedExceptionMessage, e.getMessage());
         verify(budgetService, times(1)).findById(1L, 1L);
@@ -290,7 +329,7 @@ class IncomeServiceImplTest {
                 .description("Income description")
                 .build();
 
-        when(budgetService.findById(1L, 1L)).thenReturn(budget);
+        when(incomeRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.of(existingIncome));
         when(incomeRepository.save(same(existingIncome))).thenAnswer(invocation -> {
             Income i = invocation.getArgument(0, Income.class);
             Income updated = Income.builder().id(i.getId()).build();
@@ -307,8 +346,12 @@ class IncomeServiceImplTest {
         Income result = incomeService.update(1L, 1L, income);
 
         assertEquals(expected, result);
-        verify(budgetService,times(1)).findById(1L, 1L);
+        verify(incomeRepository, times(1)).findByIdAndBudgetIdAndUserId(1L, 1L, 1L);
+        verify(budgetService, never()).findById(1L, 1L);
         verify(incomeRepository, times(1)).save(same(existingIncome));
+        verify(budgetCalculatingService, times(1)).moveBudgetDays(budget,
+                LocalDate.of(2024, 1, 15), new BigDecimal(300),
+                LocalDate.of(2024, 1, 3), new BigDecimal(100));
     }
 
     @Test
@@ -324,6 +367,7 @@ class IncomeServiceImplTest {
     void givenUserIdBudgetIdIncomeId_whenUpdate_throwsDatabaseEntityNotFound_userNotFound() {
         income.setId(1L);
         income.setBudget(budget);
+        when(incomeRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.empty());
         when(budgetService.findById(1L, 1L))
                 .thenThrow(new DatabaseEntityNotFoundException("User not found"));
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
@@ -337,6 +381,7 @@ class IncomeServiceImplTest {
     void givenUserIdBudgetIdIncomeId_whenUpdate_throwsDatabaseEntityNotFound_budgetNotFound() {
         income.setId(1L);
         income.setBudget(budget);
+        when(incomeRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.empty());
         when(budgetService.findById(1L, 1L))
                 .thenThrow(new DatabaseEntityNotFoundException("Budget not found"));
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
@@ -362,13 +407,14 @@ class IncomeServiceImplTest {
 
         budget.setIncomes(List.of(existingIncome));
 
-        when(budgetService.findById(1L,1L)).thenReturn(budget);
+        when(incomeRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.of(existingIncome));
 
         IncorrectDateException e = assertThrows(IncorrectDateException.class,
                 () -> incomeService.update(1L, 1L, income));
         String expectedExceptionMessage = "The entered date is not included in the budget deadline";
         assertEquals(expectedExceptionMessage, e.getMessage());
-        verify(budgetService, times(1)).findById(1L, 1L);
+        verify(incomeRepository, times(1)).findByIdAndBudgetIdAndUserId(1L, 1L, 1L);
+        verify(budgetService, never()).findById(1L, 1L);
     }
 
     @Test
@@ -387,13 +433,14 @@ class IncomeServiceImplTest {
 
         budget.setIncomes(List.of(existingIncome));
 
-        when(budgetService.findById(1L,1L)).thenReturn(budget);
+        when(incomeRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.of(existingIncome));
 
         IncorrectDateException e = assertThrows(IncorrectDateException.class,
                 () -> incomeService.update(1L, 1L, income));
         String expectedExceptionMessage = "The entered date is not included in the budget deadline";
         assertEquals(expectedExceptionMessage, e.getMessage());
-        verify(budgetService, times(1)).findById(1L, 1L);
+        verify(incomeRepository, times(1)).findByIdAndBudgetIdAndUserId(1L, 1L, 1L);
+        verify(budgetService, never()).findById(1L, 1L);
     }
 
     @Test
@@ -403,17 +450,21 @@ class IncomeServiceImplTest {
 
         budget.setIncomes(List.of(income));
 
-        when(budgetService.findById(1L, 1L)).thenReturn(budget);
+        when(incomeRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.of(income));
         doNothing().when(incomeRepository).deleteById(1L);
 
         incomeService.deleteById(1L, 1L, 1L);
 
-        verify(budgetService, times(1)).findById(1L, 1L);
+        verify(incomeRepository, times(1)).findByIdAndBudgetIdAndUserId(1L, 1L, 1L);
+        verify(budgetService, never()).findById(1L, 1L);
         verify(incomeRepository, times(1)).deleteById(1L);
+        verify(budgetCalculatingService, times(1))
+                .shiftBudgetDays(budget, LocalDate.of(2024, 1, 3), new BigDecimal(-100));
     }
 
     @Test
     void givenUserIdBudgetIdIncomeId_whenDeleteById_throwsDatabaseEntityNotFound_userNotFound() {
+        when(incomeRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.empty());
         when(budgetService.findById(1L, 1L))
                 .thenThrow(new DatabaseEntityNotFoundException("User not found"));
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
@@ -425,6 +476,7 @@ class IncomeServiceImplTest {
 
     @Test
     void givenUserIdBudgetIdIncomeId_whenDeleteById_throwsDatabaseEntityNotFound_budgetNotFound() {
+        when(incomeRepository.findByIdAndBudgetIdAndUserId(1L, 1L, 1L)).thenReturn(Optional.empty());
         when(budgetService.findById(1L, 1L))
                 .thenThrow(new DatabaseEntityNotFoundException("Budget not found"));
         DatabaseEntityNotFoundException e = assertThrows(DatabaseEntityNotFoundException.class,
@@ -487,7 +539,6 @@ class IncomeServiceImplTest {
 
         budget.setIncomes(List.of(incomeAfterBudgetPeriod, incomeBeforeBudgetPeriod, incomeInBudgetPeriod));
 
-        when(budgetService.findById(1L, 1L)).thenReturn(budget);
         doNothing().when(incomeRepository).deleteById(any(Long.class));
 
         incomeService.deleteUnnecessaryIncomesForBudget(budget);
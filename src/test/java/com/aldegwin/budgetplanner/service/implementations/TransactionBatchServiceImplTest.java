@@ -0,0 +1,128 @@
+package com.aldegwin.budgetplanner.service.implementations;
+
+import com.aldegwin.budgetplanner.communication.dto.TransactionBatchItemDTO;
+import com.aldegwin.budgetplanner.communication.dto.TransactionBatchResultDTO;
+import com.aldegwin.budgetplanner.exception.InvalidBatchException;
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.Expense;
+import com.aldegwin.budgetplanner.model.Income;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+import com.aldegwin.budgetplanner.repository.ExpenseRepository;
+import com.aldegwin.budgetplanner.repository.IncomeRepository;
+import com.aldegwin.budgetplanner.service.BudgetCalculatingService;
+import com.aldegwin.budgetplanner.service.BudgetService;
+import com.aldegwin.budgetplanner.util.cache.EntityCacheEvictor;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchServiceImplTest {
+    @Mock
+    private BudgetService budgetService;
+    @Mock
+    private BudgetCalculatingService budgetCalculatingService;
+    @Mock
+    private IncomeRepository incomeRepository;
+    @Mock
+    private ExpenseRepository expenseRepository;
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
+    @Captor
+    private ArgumentCaptor<List<Income>> incomes;
+    @Captor
+    private ArgumentCaptor<List<Expense>> expenses;
+
+    private TransactionBatchServiceImpl transactionBatchService;
+    private Budget budget;
+
+    @BeforeEach
+    public void initialize() {
+        transactionBatchService = new TransactionBatchServiceImpl(budgetService, budgetCalculatingService,
+                incomeRepository, expenseRepository, entityCacheEvictor,
+                Validation.buildDefaultValidatorFactory().getValidator());
+
+        budget = Budget.builder()
+                .id(1L)
+                .name("budget")
+                .amount(new BigDecimal(100))
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 31))
+                .build();
+    }
+
+    @Test
+    void givenValidBatch_whenSaveAll_insertOnceAndScheduleOneCalculation() {
+        List<TransactionBatchItemDTO> items = List.of(
+                new TransactionBatchItemDTO("INCOME", new BigDecimal(1000), LocalDate.of(2024, 1, 1),
+                        "Salary", "SALARY"),
+                new TransactionBatchItemDTO("EXPENSE", new BigDecimal(40), LocalDate.of(2024, 1, 3),
+                        "Coffee", "GROCERIES"),
+                new TransactionBatchItemDTO("EXPENSE", new BigDecimal(60), LocalDate.of(2024, 1, 31),
+                        "Train", "TRAVEL"));
+        when(budgetService.findById(1L, 1L)).thenReturn(budget);
+
+        TransactionBatchResultDTO result = transactionBatchService.saveAll(1L, 1L, items);
+
+        assertEquals(new TransactionBatchResultDTO(1, 2), result);
+
+        verify(incomeRepository, times(1)).insertAll(eq(1L), incomes.capture());
+        verify(expenseRepository, times(1)).insertAll(eq(1L), expenses.capture());
+        assertEquals(IncomeType.SALARY, incomes.getValue().get(0).getIncomeType());
+        assertEquals(List.of(ExpenseType.GROCERIES, ExpenseType.TRAVEL),
+                expenses.getValue().stream().map(Expense::getExpenseType).toList());
+
+        verify(entityCacheEvictor, times(1)).evictBudgetIncomes(1L);
+        verify(entityCacheEvictor, times(1)).evictBudgetExpenses(1L);
+        verify(budgetService, times(1)).incrementVersion(1L);
+        verify(budgetCalculatingService, times(1)).scheduleFullCalculation(1L);
+        verify(budgetCalculatingService, never()).shiftBudgetDays(any(), any(), any());
+    }
+
+    @Test
+    void givenInvalidItems_whenSaveAll_throwsInvalidBatch_reportEveryItem() {
+        List<TransactionBatchItemDTO> items = List.of(
+                new TransactionBatchItemDTO("INCOME", new BigDecimal(1000), LocalDate.of(2024, 2, 1),
+                        "Salary", "SALARY"),
+                new TransactionBatchItemDTO("EXPENSE", new BigDecimal(40), LocalDate.of(2024, 1, 3),
+                        "Coffee", "SALARY"),
+                new TransactionBatchItemDTO("TRANSFER", new BigDecimal(60), LocalDate.of(2024, 1, 5),
+                        "Train", "TRAVEL"));
+        when(budgetService.findById(1L, 1L)).thenReturn(budget);
+
+        InvalidBatchException e = assertThrows(InvalidBatchException.class,
+                () -> transactionBatchService.saveAll(1L, 1L, items));
+
+        assertEquals("Invalid transaction batch", e.getMessage());
+        assertEquals(List.of(
+                "Transaction 1: The entered date is not included in the budget deadline",
+                "Transaction 2: Incorrect expense type",
+                "Transaction 3: Incorrect transaction kind"), e.getErrors());
+        verifyNoInteractions(incomeRepository, expenseRepository, entityCacheEvictor, budgetCalculatingService);
+        verify(budgetService, never()).incrementVersion(any(Long.class));
+    }
+
+    @Test
+    void givenEmptyBatch_whenSaveAll_throwsInvalidBatch() {
+        InvalidBatchException e = assertThrows(InvalidBatchException.class,
+                () -> transactionBatchService.saveAll(1L, 1L, Collections.emptyList()));
+
+        assertEquals(List.of("The batch cannot be empty"), e.getErrors());
+        verifyNoInteractions(budgetService);
+    }
+}
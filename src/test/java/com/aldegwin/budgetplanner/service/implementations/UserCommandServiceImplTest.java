@@ -0,0 +1,81 @@
+package com.aldegwin.budgetplanner.service.implementations;
+
+import com.aldegwin.budgetplanner.communication.dto.BudgetSummaryDTO;
+import com.aldegwin.budgetplanner.communication.dto.UserDTO;
+import com.aldegwin.budgetplanner.communication.mapper.UserMapper;
+import com.aldegwin.budgetplanner.communication.request.UserRegistrationRequest;
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.User;
+import com.aldegwin.budgetplanner.service.BudgetService;
+import com.aldegwin.budgetplanner.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCommandServiceImplTest {
+    @Mock
+    private UserService userService;
+    @Mock
+    private BudgetService budgetService;
+    @Spy
+    private UserMapper userMapper = new UserMapper();
+    @InjectMocks
+    private UserCommandServiceImpl userCommandService;
+
+    private User user;
+
+    @BeforeEach
+    public void initialize() {
+        user = User.builder()
+                .id(1L)
+                .email("test@mail.com")
+                .username("TestUser")
+                .password("123456789")
+                .budgets(new ArrayList<>(List.of(Budget.builder().id(1L).build())))
+                .lastLoginDate(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void givenId_whenFindById_returnUserDtoWithBudgetSummaries() {
+        List<BudgetSummaryDTO> summaries = List.of(BudgetSummaryDTO.builder().id(1L).build());
+        when(userService.findById(1L)).thenReturn(user);
+        when(budgetService.findAllSummaries(1L)).thenReturn(summaries);
+
+        UserDTO result = userCommandService.findById(1L);
+
+        assertEquals(new UserDTO(1L, "TestUser", "test@mail.com", summaries), result);
+    }
+
+    @Test
+    void givenRegistrationRequest_whenSave_returnSavedUserDto() {
+        UserRegistrationRequest req = new UserRegistrationRequest();
+        req.setUsername("TestUser");
+        req.setEmail("test@mail.com");
+        req.setPassword("123456789");
+
+        when(userService.save(any(User.class))).thenAnswer(invocation -> {
+            User u = invocation.getArgument(0, User.class);
+            u.setId(1L);
+            return u;
+        });
+
+        UserDTO result = userCommandService.save(req);
+
+        assertEquals(new UserDTO(1L, "TestUser", "test@mail.com", null), result);
+        verifyNoInteractions(budgetService);
+    }
+}
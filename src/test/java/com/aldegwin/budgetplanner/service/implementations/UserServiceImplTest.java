@@ -6,12 +6,15 @@ import com.aldegwin.budgetplanner.exception.IdConflictException;
 import com.aldegwin.budgetplanner.exception.NotUniqueFieldException;
 import com.aldegwin.budgetplanner.model.User;
 import com.aldegwin.budgetplanner.repository.UserRepository;
+import com.aldegwin.budgetplanner.repository.projection.UniqueFieldCollision;
+import com.aldegwin.budgetplanner.util.filter.UserUniquenessFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -25,6 +28,8 @@ import static org.mockito.Mockito.*;
 class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private UserUniquenessFilter userUniquenessFilter;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -53,13 +58,11 @@ class UserServiceImplTest {
                 .lastLoginDate(user.getLastLoginDate())
                 .build();
 
-        when(userRepository.findUserByUsername("TestUser", -1L))
-                .thenReturn(Optional.empty());
-
-        when(userRepository.findUserByEmail("test@mail.com",  -1L))
-                .thenReturn(Optional.empty());
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", -1L))
+                .thenReturn(new UniqueFieldCollision(false, false));
 
-        when(userRepository.save(user)).thenAnswer(invocation -> {
+        when(userRepository.saveAndFlush(user)).thenAnswer(invocation -> {
            User u = invocation.getArgument(0, User.class);
            u.setId(1L);
            return u;
@@ -69,27 +72,56 @@ class UserServiceImplTest {
 
         assertNotNull(result);
         assertEquals(expected, result);
-        verify(userRepository, times(1)).save(same(user));
-        verify(userRepository, times(1)).findUserByUsername("TestUser", -1L);
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", -1L);
+        verify(userRepository, times(1)).saveAndFlush(same(user));
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", -1L);
     }
 
     @Test
-    void givenUser_whenSave_throwsNotUniqueFiled_usernameNotUnique() {
-        User existingUser = User.builder()
-                .id(2L)
-                .email("test2@mail.com")
-                .username("TestUser")
-                .password("987654321")
-                .budgets(Collections.emptyList())
-                .lastLoginDate(LocalDateTime.now().minusDays(1))
-                .build();
+    void givenUserNotInFilter_whenSave_returnSavedUserWithoutUniquenessQuery() {
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(false);
+        when(userRepository.saveAndFlush(user)).thenAnswer(invocation -> {
+            User u = invocation.getArgument(0, User.class);
+            u.setId(1L);
+            return u;
+        });
+
+        User result = userService.save(user);
+
+        assertEquals(1L, result.getId());
+        verify(userRepository, never()).findUniqueFieldCollision(any(), any(), any());
+        verify(userUniquenessFilter, times(1)).add("TestUser", "test@mail.com");
+    }
 
-        when(userRepository.findUserByUsername("TestUser", -1L))
-                .thenReturn(Optional.of(existingUser));
+    @Test
+    void givenUsernameTakenOnAnotherInstance_whenSave_throwsNotUniqueField_usernameNotUnique() {
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(false);
+        when(userRepository.saveAndFlush(user)).thenThrow(new DataIntegrityViolationException("username"));
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", -1L))
+                .thenReturn(new UniqueFieldCollision(true, false));
+
+        NotUniqueFieldException e = assertThrows(NotUniqueFieldException.class, () -> userService.save(user));
 
-        when(userRepository.findUserByEmail("test@mail.com",  -1L))
-                .thenReturn(Optional.empty());
+        assertEquals(Map.of(ErrorCode.USERNAME_BUSY, "Username TestUser is already in use"), e.getErrors());
+        verify(userUniquenessFilter, times(1)).add("TestUser", "test@mail.com");
+    }
+
+    @Test
+    void givenOtherConstraintViolation_whenSave_throwsDataIntegrityViolation() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("other");
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(false);
+        when(userRepository.saveAndFlush(user)).thenThrow(violation);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", -1L))
+                .thenReturn(new UniqueFieldCollision(false, false));
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class, () -> userService.save(user)));
+        verify(userUniquenessFilter, never()).add(any(), any());
+    }
+
+    @Test
+    void givenUser_whenSave_throwsNotUniqueFiled_usernameNotUnique() {
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", -1L))
+                .thenReturn(new UniqueFieldCollision(true, false));
 
         NotUniqueFieldException e = assertThrows(NotUniqueFieldException.class, () -> userService.save(user));
 
@@ -100,26 +132,14 @@ class UserServiceImplTest {
         assertEquals(expectedExceptionErrors, e.getErrors());
         assertEquals(expectedExceptionMessage, e.getMessage());
 
-        verify(userRepository, times(1)).findUserByUsername("TestUser", -1L);
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", -1L);
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", -1L);
     }
 
     @Test
     void givenUser_whenSave_throwsNotUniqueFiled_emailNotUnique() {
-        User existingUser = User.builder()
-                .id(2L)
-                .email("test@mail.com")
-                .username("TestUser2")
-                .password("987654321")
-                .budgets(Collections.emptyList())
-                .lastLoginDate(LocalDateTime.now().minusDays(1))
-                .build();
-
-        when(userRepository.findUserByUsername(user.getUsername(), -1L))
-                .thenReturn(Optional.empty());
-
-        when(userRepository.findUserByEmail(user.getEmail(),  -1L))
-                .thenReturn(Optional.of(existingUser));
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", -1L))
+                .thenReturn(new UniqueFieldCollision(false, true));
 
         NotUniqueFieldException e = assertThrows(NotUniqueFieldException.class, () -> userService.save(user));
 
@@ -130,26 +150,14 @@ class UserServiceImplTest {
         assertEquals(expectedExceptionErrors, e.getErrors());
         assertEquals(expectedExceptionMessage, e.getMessage());
 
-        verify(userRepository, times(1)).findUserByUsername("TestUser", -1L);
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", -1L);
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", -1L);
     }
 
     @Test
     void givenUser_whenSave_throwsNotUniqueFiled_usernameAndEmailNotUnique() {
-        User existingUser = User.builder()
-                .id(2L)
-                .email("test@mail.com")
-                .username("TestUser")
-                .password("987654321")
-                .budgets(Collections.emptyList())
-                .lastLoginDate(LocalDateTime.now().minusDays(1))
-                .build();
-
-        when(userRepository.findUserByUsername(user.getUsername(), -1L))
-                .thenReturn(Optional.of(existingUser));
-
-        when(userRepository.findUserByEmail(user.getEmail(),  -1L))
-                .thenReturn(Optional.of(existingUser));
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", -1L))
+                .thenReturn(new UniqueFieldCollision(true, true));
 
         NotUniqueFieldException e = assertThrows(NotUniqueFieldException.class, () -> userService.save(user));
 
@@ -161,8 +169,7 @@ class UserServiceImplTest {
         assertEquals(expectedExceptionErrors, e.getErrors());
         assertEquals(expectedExceptionMessage, e.getMessage());
 
-        verify(userRepository, times(1)).findUserByUsername("TestUser", -1L);
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", -1L);
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", -1L);
     }
 
     @Test
@@ -229,10 +236,11 @@ class UserServiceImplTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
 
-        when(userRepository.findUserByEmail("test@mail.com", 1L)).thenReturn(Optional.empty());
-        when(userRepository.findUserByUsername("TestUser", 1L)).thenReturn(Optional.empty());
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", 1L))
+                .thenReturn(new UniqueFieldCollision(false, false));
 
-        when(userRepository.save(same(existingUser))).thenAnswer(invocation -> {
+        when(userRepository.saveAndFlush(same(existingUser))).thenAnswer(invocation -> {
             User u = invocation.getArgument(0, User.class);
             User updated = User.builder().id(u.getId()).build();
 
@@ -249,9 +257,8 @@ class UserServiceImplTest {
         assertNotNull(result);
         assertEquals(expected, result);
         verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", 1L);
-        verify(userRepository, times(1)).findUserByUsername("TestUser", 1L);
-        verify(userRepository, times(1)).save(same(existingUser));
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", 1L);
+        verify(userRepository, times(1)).saveAndFlush(same(existingUser));
     }
 
     @Test
@@ -277,10 +284,11 @@ class UserServiceImplTest {
                 .build();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.findUserByEmail("test@mail.com", 1L)).thenReturn(Optional.empty());
-        when(userRepository.findUserByUsername("TestUser", 1L)).thenReturn(Optional.empty());
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", 1L))
+                .thenReturn(new UniqueFieldCollision(false, false));
 
-        when(userRepository.save(same(existingUser))).thenAnswer(invocation -> {
+        when(userRepository.saveAndFlush(same(existingUser))).thenAnswer(invocation -> {
             User u = invocation.getArgument(0, User.class);
             existingUser.setEmail(u.getEmail());
             existingUser.setUsername(u.getUsername());
@@ -295,9 +303,8 @@ class UserServiceImplTest {
         assertNotNull(result);
         assertEquals(expected, result);
         verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", 1L);
-        verify(userRepository, times(1)).findUserByUsername("TestUser", 1L);
-        verify(userRepository, times(1)).save(same(existingUser));
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", 1L);
+        verify(userRepository, times(1)).saveAndFlush(same(existingUser));
     }
 
     @Test
@@ -323,10 +330,11 @@ class UserServiceImplTest {
                 .build();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.findUserByEmail("test@mail.com", 1L)).thenReturn(Optional.empty());
-        when(userRepository.findUserByUsername("TestUser", 1L)).thenReturn(Optional.empty());
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", 1L))
+                .thenReturn(new UniqueFieldCollision(false, false));
 
-        when(userRepository.save(same(existingUser))).thenAnswer(invocation -> {
+        when(userRepository.saveAndFlush(same(existingUser))).thenAnswer(invocation -> {
             User u = invocation.getArgument(0, User.class);
             existingUser.setEmail(u.getEmail());
             existingUser.setUsername(u.getUsername());
@@ -341,9 +349,8 @@ class UserServiceImplTest {
         assertNotNull(result);
         assertEquals(expected, result);
         verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", 1L);
-        verify(userRepository, times(1)).findUserByUsername("TestUser", 1L);
-        verify(userRepository, times(1)).save(same(existingUser));
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", 1L);
+        verify(userRepository, times(1)).saveAndFlush(same(existingUser));
     }
 
     @Test
@@ -354,30 +361,46 @@ class UserServiceImplTest {
     }
 
     @Test
-    void givenUserWithNewUserName_whenUpdate_throwsNotUniqueField_usernameNotUnique() {
+    void givenEmailTakenOnAnotherInstance_whenUpdate_throwsNotUniqueField_emailNotUnique() {
         user.setId(1L);
 
         User existingUser = User.builder()
                 .id(1L)
-                .email("test@mail.com")
-                .username("old_TestUser")
+                .email("old_test@mail.com")
+                .username("TestUser")
                 .password("123456789")
                 .lastLoginDate(user.getLastLoginDate())
                 .budgets(user.getBudgets())
                 .build();
 
-        User anotherUser =  User.builder()
-                .id(2L)
-                .email("another_test@mail.com")
-                .username("TestUser")
+        when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(false);
+        when(userRepository.saveAndFlush(same(existingUser))).thenThrow(new DataIntegrityViolationException("email"));
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", 1L))
+                .thenReturn(new UniqueFieldCollision(false, true));
+
+        NotUniqueFieldException e = assertThrows(NotUniqueFieldException.class, () -> userService.update(user));
+
+        assertEquals(Map.of(ErrorCode.EMAIL_BUSY, "Email test@mail.com is already in use"), e.getErrors());
+    }
+
+    @Test
+    void givenUserWithNewUserName_whenUpdate_throwsNotUniqueField_usernameNotUnique() {
+        user.setId(1L);
+
+        User existingUser = User.builder()
+                .id(1L)
+                .email("test@mail.com")
+                .username("old_TestUser")
                 .password("123456789")
-                .lastLoginDate(LocalDateTime.now().minusDays(1))
-                .budgets(Collections.emptyList())
+                .lastLoginDate(user.getLastLoginDate())
+                .budgets(user.getBudgets())
                 .build();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.findUserByEmail("test@mail.com", 1L)).thenReturn(Optional.empty());
-        when(userRepository.findUserByUsername("TestUser", 1L)).thenReturn(Optional.of(anotherUser));
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", 1L))
+                .thenReturn(new UniqueFieldCollision(true, false));
 
         Map<ErrorCode, String> expectedExceptionErrors =
                 Map.of(ErrorCode.USERNAME_BUSY, "Username TestUser is already in use");
@@ -387,8 +410,7 @@ class UserServiceImplTest {
         assertEquals(expectedExceptionErrors, e.getErrors());
         assertEquals(expectedExceptionMessage, e.getMessage());
         verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", 1L);
-        verify(userRepository, times(1)).findUserByUsername("TestUser", 1L);
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", 1L);
     }
 
     @Test
@@ -404,18 +426,10 @@ class UserServiceImplTest {
                 .budgets(user.getBudgets())
                 .build();
 
-        User anotherUser =  User.builder()
-                .id(2L)
-                .email("test@mail.com")
-                .username("another_TestUser")
-                .password("123456789")
-                .lastLoginDate(LocalDateTime.now().minusDays(1))
-                .budgets(Collections.emptyList())
-                .build();
-
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.findUserByEmail("test@mail.com", 1L)).thenReturn(Optional.of(anotherUser));
-        when(userRepository.findUserByUsername("TestUser", 1L)).thenReturn(Optional.empty());
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", 1L))
+                .thenReturn(new UniqueFieldCollision(false, true));
 
         Map<ErrorCode, String> expectedExceptionErrors =
                 Map.of(ErrorCode.EMAIL_BUSY, "Email test@mail.com is already in use");
@@ -425,8 +439,7 @@ class UserServiceImplTest {
         assertEquals(expectedExceptionErrors, e.getErrors());
         assertEquals(expectedExceptionMessage, e.getMessage());
         verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", 1L);
-        verify(userRepository, times(1)).findUserByUsername("TestUser", 1L);
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", 1L);
     }
 
     @Test
@@ -442,18 +455,10 @@ class UserServiceImplTest {
                 .budgets(user.getBudgets())
                 .build();
 
-        User anotherUser =  User.builder()
-                .id(2L)
-                .email("test@mail.com")
-                .username("TestUser")
-                .password("123456789")
-                .lastLoginDate(LocalDateTime.now().minusDays(1))
-                .budgets(Collections.emptyList())
-                .build();
-
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.findUserByEmail("test@mail.com", 1L)).thenReturn(Optional.of(anotherUser));
-        when(userRepository.findUserByUsername("TestUser", 1L)).thenReturn(Optional.of(anotherUser));
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", 1L))
+                .thenReturn(new UniqueFieldCollision(true, true));
 
         Map<ErrorCode, String> expectedExceptionErrors =
                 Map.of(ErrorCode.EMAIL_BUSY, "Email test@mail.com is already in use",
@@ -465,8 +470,7 @@ class UserServiceImplTest {
         assertEquals(expectedExceptionMessage, e.getMessage());
 
         verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", 1L);
-        verify(userRepository, times(1)).findUserByUsername("TestUser", 1L);
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", 1L);
     }
 
     @Test
@@ -515,16 +519,14 @@ class UserServiceImplTest {
         Method method = userService.getClass().getDeclaredMethod("validateUniqueFields", User.class);
         method.setAccessible(true);
 
-        when(userRepository.findUserByEmail("test@mail.com", 1L))
-                .thenReturn(Optional.empty());
-        when(userRepository.findUserByUsername("TestUser", 1L))
-                .thenReturn(Optional.empty());
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", 1L))
+                .thenReturn(new UniqueFieldCollision(false, false));
 
         Map<ErrorCode, String> expectedErrors = new HashMap<>();
 
         assertEquals(expectedErrors, method.invoke(userService, user));
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", 1L);
-        verify(userRepository, times(1)).findUserByUsername("TestUser", 1L);
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", 1L);
     }
 
     @Test
@@ -532,29 +534,18 @@ class UserServiceImplTest {
             throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
         user.setId(1L);
 
-        User anotherUser = User.builder()
-                .id(2L)
-                .email("another_test@mail.com")
-                .username("TestUser")
-                .password("123456789")
-                .budgets(Collections.emptyList())
-                .lastLoginDate(LocalDateTime.now().minusDays(1))
-                .build();
-
         Method method = userService.getClass().getDeclaredMethod("validateUniqueFields", User.class);
         method.setAccessible(true);
 
-        when(userRepository.findUserByEmail("test@mail.com", 1L))
-                .thenReturn(Optional.empty());
-        when(userRepository.findUserByUsername("TestUser", 1L))
-                .thenReturn(Optional.of(anotherUser));
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", 1L))
+                .thenReturn(new UniqueFieldCollision(true, false));
 
         Map<ErrorCode, String> expectedErrors = Map.of(ErrorCode.USERNAME_BUSY,
                 "Username TestUser is already in use");
 
         assertEquals(expectedErrors, method.invoke(userService, user));
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", 1L);
-        verify(userRepository, times(1)).findUserByUsername("TestUser", 1L);
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", 1L);
     }
 
     @Test
@@ -562,29 +553,18 @@ class UserServiceImplTest {
             throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
         user.setId(1L);
 
-        User anotherUser = User.builder()
-                .id(2L)
-                .email("test@mail.com")
-                .username("another_TestUser")
-                .password("123456789")
-                .budgets(Collections.emptyList())
-                .lastLoginDate(LocalDateTime.now().minusDays(1))
-                .build();
-
         Method method = userService.getClass().getDeclaredMethod("validateUniqueFields", User.class);
         method.setAccessible(true);
 
-        when(userRepository.findUserByEmail("test@mail.com", 1L))
-                .thenReturn(Optional.of(anotherUser));
-        when(userRepository.findUserByUsername("TestUser", 1L))
-                .thenReturn(Optional.empty());
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", 1L))
+                .thenReturn(new UniqueFieldCollision(false, true));
 
         Map<ErrorCode, String> expectedErrors = Map.of(ErrorCode.EMAIL_BUSY,
                 "Email test@mail.com is already in use");
 
         assertEquals(expectedErrors, method.invoke(userService, user));
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", 1L);
-        verify(userRepository, times(1)).findUserByUsername("TestUser", 1L);
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", 1L);
     }
 
     @Test
@@ -592,30 +572,19 @@ class UserServiceImplTest {
             throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
         user.setId(1L);
 
-        User anotherUser = User.builder()
-                .id(2L)
-                .email("test@mail.com")
-                .username("TestUser")
-                .password("123456789")
-                .budgets(Collections.emptyList())
-                .lastLoginDate(LocalDateTime.now().minusDays(1))
-                .build();
-
         Method method = userService.getClass().getDeclaredMethod("validateUniqueFields", User.class);
         method.setAccessible(true);
 
-        when(userRepository.findUserByEmail("test@mail.com", 1L))
-                .thenReturn(Optional.of(anotherUser));
-        when(userRepository.findUserByUsername("TestUser", 1L))
-                .thenReturn(Optional.of(anotherUser));
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", 1L))
+                .thenReturn(new UniqueFieldCollision(true, true));
 
         Map<ErrorCode, String> expectedErrors = Map.of(
                 ErrorCode.EMAIL_BUSY, "Email test@mail.com is already in use",
                 ErrorCode.USERNAME_BUSY, "Username TestUser is already in use");
 
         assertEquals(expectedErrors, method.invoke(userService, user));
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", 1L);
-        verify(userRepository, times(1)).findUserByUsername("TestUser", 1L);
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", 1L);
     }
 
     @Test
@@ -624,100 +593,65 @@ class UserServiceImplTest {
         Method method = userService.getClass().getDeclaredMethod("validateUniqueFields", User.class);
         method.setAccessible(true);
 
-        when(userRepository.findUserByEmail("test@mail.com", -1L))
-                .thenReturn(Optional.empty());
-        when(userRepository.findUserByUsername("TestUser", -1L))
-                .thenReturn(Optional.empty());
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", -1L))
+                .thenReturn(new UniqueFieldCollision(false, false));
 
         Map<ErrorCode, String> expectedErrors = new HashMap<>();
 
         assertEquals(expectedErrors, method.invoke(userService, user));
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", -1L);
-        verify(userRepository, times(1)).findUserByUsername("TestUser", -1L);
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", -1L);
     }
 
     @Test
     void givenUserWithoutID_whenValidateUniqueFields_returnUsernameBusyErrorCodeAndMessage()
             throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        User anotherUser = User.builder()
-                .id(2L)
-                .email("another_test@mail.com")
-                .username("TestUser")
-                .password("123456789")
-                .budgets(Collections.emptyList())
-                .lastLoginDate(LocalDateTime.now().minusDays(1))
-                .build();
-
         Method method = userService.getClass().getDeclaredMethod("validateUniqueFields", User.class);
         method.setAccessible(true);
 
-        when(userRepository.findUserByEmail("test@mail.com", -1L))
-                .thenReturn(Optional.empty());
-        when(userRepository.findUserByUsername("TestUser", -1L))
-                .thenReturn(Optional.of(anotherUser));
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", -1L))
+                .thenReturn(new UniqueFieldCollision(true, false));
 
         Map<ErrorCode, String> expectedErrors = Map.of(ErrorCode.USERNAME_BUSY,
                 "Username TestUser is already in use");
 
         assertEquals(expectedErrors, method.invoke(userService, user));
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", -1L);
-        verify(userRepository, times(1)).findUserByUsername("TestUser", -1L);
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", -1L);
     }
 
     @Test
     void givenUserWithoutID_whenValidateUniqueFields_returnEmailBusyErrorCodeAndMessage()
             throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        User anotherUser = User.builder()
-                .id(2L)
-                .email("test@mail.com")
-                .username("another_TestUser")
-                .password("123456789")
-                .budgets(Collections.emptyList())
-                .lastLoginDate(LocalDateTime.now().minusDays(1))
-                .build();
-
         Method method = userService.getClass().getDeclaredMethod("validateUniqueFields", User.class);
         method.setAccessible(true);
 
-        when(userRepository.findUserByEmail("test@mail.com", -1L))
-                .thenReturn(Optional.of(anotherUser));
-        when(userRepository.findUserByUsername("TestUser", -1L))
-                .thenReturn(Optional.empty());
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", -1L))
+                .thenReturn(new UniqueFieldCollision(false, true));
 
         Map<ErrorCode, String> expectedErrors = Map.of(ErrorCode.EMAIL_BUSY,
                 "Email test@mail.com is already in use");
 
         assertEquals(expectedErrors, method.invoke(userService, user));
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", -1L);
-        verify(userRepository, times(1)).findUserByUsername("TestUser", -1L);
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", -1L);
     }
 
     @Test
     void givenUserWithoutID_whenValidateUniqueFields_returnEmailBusyAndUsernameBusyErrorCodeAndMessage()
             throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        User existingUser = User.builder()
-                .id(2L)
-                .email("test@mail.com")
-                .username("TestUser")
-                .password("123456789")
-                .budgets(Collections.emptyList())
-                .lastLoginDate(LocalDateTime.now().minusDays(1))
-                .build();
-
         Method method = userService.getClass().getDeclaredMethod("validateUniqueFields", User.class);
         method.setAccessible(true);
 
-        when(userRepository.findUserByEmail("test@mail.com", -1L))
-                .thenReturn(Optional.of(existingUser));
-        when(userRepository.findUserByUsername("TestUser", -1L))
-                .thenReturn(Optional.of(existingUser));
+        when(userUniquenessFilter.mightBeTaken("TestUser", "test@mail.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldCollision("TestUser", "test@mail.com", -1L))
+                .thenReturn(new UniqueFieldCollision(true, true));
 
         Map<ErrorCode, String> expectedErrors = Map.of(
                 ErrorCode.EMAIL_BUSY, "Email test@mail.com is already in use",
                 ErrorCode.USERNAME_BUSY, "Username TestUser is already in use");
 
         assertEquals(expectedErrors, method.invoke(userService, user));
-        verify(userRepository, times(1)).findUserByEmail("test@mail.com", -1L);
-        verify(userRepository, times(1)).findUserByUsername("TestUser", -1L);
+        verify(userRepository, times(1)).findUniqueFieldCollision("TestUser", "test@mail.com", -1L);
     }
 }
\ No newline at end of file
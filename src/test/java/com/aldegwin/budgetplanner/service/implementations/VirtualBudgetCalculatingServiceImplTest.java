@@ -0,0 +1,173 @@
+package com.aldegwin.budgetplanner.service.implementations;
+
+import com.aldegwin.budgetplanner.model.*;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+import com.aldegwin.budgetplanner.repository.BudgetRepository;
+import com.aldegwin.budgetplanner.util.calculation.BudgetBalanceIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VirtualBudgetCalculatingServiceImplTest {
+    @Mock
+    private BudgetRepository budgetRepository;
+    @Mock
+    private BudgetBalanceIndex budgetBalanceIndex;
+    @InjectMocks
+    private VirtualBudgetCalculatingServiceImpl budgetCalculatingService;
+
+    private Budget budget;
+
+    @BeforeEach
+    public void initialize() {
+        User user = User.builder()
+                .id(1L)
+                .email("test@mail.com")
+                .username("TestUser")
+                .password("123456789")
+                .budgets(Collections.emptyList())
+                .lastLoginDate(LocalDateTime.now())
+                .build();
+
+        budget = Budget.builder()
+                .id(1L)
+                .user(user)
+                .name("budget")
+                .amount(new BigDecimal(100))
+                .startDate(LocalDate.of(2024,1,1))
+                .endDate(LocalDate.of(2024, 1, 3))
+                .description("budgetDescription")
+                .incomes(Collections.emptyList())
+                .expenses(Collections.emptyList())
+                .budgetDays(Collections.emptyList())
+                .build();
+    }
+
+    @Test
+    void givenBudget_whenCreateBudgetDays_returnEmptyList() {
+        assertEquals(Collections.emptyList(), budgetCalculatingService.createBudgetDays(budget));
+    }
+
+    @Test
+    void givenBudget_whenGetBudgetDays_returnBudgetDays_withoutIncomesAndExpenses() {
+        LocalDate firstBudgetDayDate = LocalDate.from(budget.getStartDate());
+
+        List<BudgetDay> expected = List.of(
+                createBudgetDay(budget, new BigDecimal(100), firstBudgetDayDate),
+                createBudgetDay(budget, new BigDecimal(100), firstBudgetDayDate.plusDays(1)),
+                createBudgetDay(budget, new BigDecimal(100), firstBudgetDayDate.plusDays(2)));
+
+        assertEquals(expected, budgetCalculatingService.getBudgetDays(budget).toList());
+    }
+
+    @Test
+    void givenBudget_whenGetBudgetDays_returnBudgetDays_withIncomesAndExpenses() {
+        budget.setIncomes(List.of(
+                createIncome(1L, new BigDecimal(130), LocalDate.of(2024, 1, 3)),
+                createIncome(2L, new BigDecimal(40), LocalDate.of(2024, 1, 1)),
+                createIncome(3L, new BigDecimal(500), LocalDate.of(2023, 12, 31))));
+
+        budget.setExpenses(List.of(
+                createExpense(1L, new BigDecimal(140), LocalDate.of(2024, 1, 1)),
+                createExpense(2L, new BigDecimal(30), LocalDate.of(2024, 1, 2)),
+                createExpense(3L, new BigDecimal(85), LocalDate.of(2024, 1, 3)),
+                createExpense(4L, new BigDecimal(85), LocalDate.of(2024, 1, 4))));
+
+        LocalDate firstBudgetDayDate = LocalDate.from(budget.getStartDate());
+
+        List<BudgetDay> expected = List.of(
+                createBudgetDay(budget, BigDecimal.ZERO, firstBudgetDayDate),
+                createBudgetDay(budget, new BigDecimal(-30), firstBudgetDayDate.plusDays(1)),
+                createBudgetDay(budget, new BigDecimal(15), firstBudgetDayDate.plusDays(2)));
+
+        assertEquals(expected, budgetCalculatingService.getBudgetDays(budget).toList());
+    }
+
+    @Test
+    void givenBudget_whenReformatBudgetDays_returnNothing() {
+        budgetCalculatingService.reformatBudgetDays(budget);
+
+        assertEquals(Collections.emptyList(), budget.getBudgetDays());
+        verifyNoInteractions(budgetRepository);
+    }
+
+    @Test
+    void givenBudget_whenCalculateBudget_seedBalanceIndex() {
+        budgetCalculatingService.calculateBudget(budget);
+
+        verify(budgetBalanceIndex, times(1)).seed(same(budget));
+    }
+
+    @Test
+    void givenBudget_whenScheduleCalculation_seedBalanceIndexWithoutQueue() {
+        budgetCalculatingService.scheduleCalculation(budget);
+
+        verify(budgetBalanceIndex, times(1)).seed(same(budget));
+        assertFalse(budgetCalculatingService.isCalculationPending(1L));
+    }
+
+    @Test
+    void givenBudgetDatesDeltas_whenMoveBudgetDays_updateBalanceIndex() {
+        LocalDate oldDate = LocalDate.of(2024, 1, 1);
+        LocalDate newDate = LocalDate.of(2024, 1, 3);
+
+        budgetCalculatingService.moveBudgetDays(budget, oldDate, new BigDecimal(-40), newDate, new BigDecimal(-25));
+
+        verify(budgetBalanceIndex, times(1)).add(1L, oldDate, new BigDecimal(40));
+        verify(budgetBalanceIndex, times(1)).add(1L, newDate, new BigDecimal(-25));
+    }
+
+    @Test
+    void givenBudgetDateDelta_whenShiftBudgetDays_returnNothing_dateOutOfBudgetPeriod() {
+        budgetCalculatingService.shiftBudgetDays(budget, LocalDate.of(2024, 1, 4), new BigDecimal(-40));
+
+        verify(budgetBalanceIndex, never()).add(any(Long.class), any(LocalDate.class), any(BigDecimal.class));
+    }
+
+    private Income createIncome(Long id, BigDecimal amount, LocalDate date) {
+        return Income.builder()
+                .id(id)
+                .budget(budget)
+                .amount(amount)
+                .incomeType(IncomeType.SALARY)
+                .incomeDate(date)
+                .description("Income " + id)
+                .build();
+    }
+
+    private Expense createExpense(Long id, BigDecimal amount, LocalDate date) {
+        return Expense.builder()
+                .id(id)
+                .budget(budget)
+                .amount(amount)
+                .expenseType(ExpenseType.GROCERIES)
+                .expenseDate(date)
+                .description("Expense " + id)
+                .build();
+    }
+
+    private BudgetDay createBudgetDay(Budget budget, BigDecimal amount, LocalDate date) {
+        return BudgetDay.builder()
+                .id(null)
+                .amount(amount)
+                .budget(budget)
+                .description("Balance on " + date)
+                .dayDate(date)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.aldegwin.budgetplanner.util.calculation;
+
+import com.aldegwin.budgetplanner.communication.dto.BalancePointDTO;
+import com.aldegwin.budgetplanner.model.constant.BalanceResolution;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceSeriesTest {
+    private static final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void givenDailyBalances_whenDownsampleByDay_returnAllPoints() {
+        List<BalancePointDTO> balances = createBalances(10);
+
+        List<BalancePointDTO> result = BalanceSeries.downsample(balances.stream(), BalanceResolution.DAY, 3);
+
+        assertEquals(balances, result);
+    }
+
+    @Test
+    void givenDailyBalances_whenDownsampleByWeek_returnClosingBalanceOfEveryWeek() {
+        List<BalancePointDTO> balances = createBalances(15);
+
+        List<BalancePointDTO> result = BalanceSeries.downsample(balances.stream(), BalanceResolution.WEEK, 3);
+
+        List<BalancePointDTO> expected = List.of(balances.get(6), balances.get(13), balances.get(14));
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void givenDailyBalances_whenDownsampleByMonth_returnClosingBalanceOfEveryMonth() {
+        List<BalancePointDTO> balances = createBalances(70);
+
+        List<BalancePointDTO> result = BalanceSeries.downsample(balances.stream(), BalanceResolution.MONTH, 3);
+
+        List<BalancePointDTO> expected = List.of(balances.get(30), balances.get(59), balances.get(69));
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void givenDailyBalances_whenDownsampleByLttb_returnEndpointsAndPeak() {
+        List<BalancePointDTO> balances = createBalances(1000);
+        balances.set(500, new BalancePointDTO(START_DATE.plusDays(500), new BigDecimal(100000)));
+
+        List<BalancePointDTO> result = BalanceSeries.downsample(balances.stream(), BalanceResolution.LTTB, 50);
+
+        assertEquals(50, result.size());
+        assertEquals(balances.get(0), result.get(0));
+        assertEquals(balances.get(999), result.get(49));
+        assertTrue(result.contains(balances.get(500)));
+        for(int i = 1; i < result.size(); i++)
+            assertTrue(result.get(i).getDate().isAfter(result.get(i - 1).getDate()));
+    }
+
+    @Test
+    void givenFewerBalancesThanPoints_whenDownsampleByLttb_returnAllPoints() {
+        List<BalancePointDTO> balances = createBalances(10);
+
+        List<BalancePointDTO> result = BalanceSeries.downsample(balances.stream(), BalanceResolution.LTTB, 50);
+
+        assertEquals(balances, result);
+    }
+
+    private List<BalancePointDTO> createBalances(int days) {
+        List<BalancePointDTO> balances = new ArrayList<>();
+        for(int i = 0; i < days; i++)
+            balances.add(new BalancePointDTO(START_DATE.plusDays(i), new BigDecimal(100 + i % 7)));
+        return balances;
+    }
+}
@@ -0,0 +1,156 @@
+package com.aldegwin.budgetplanner.util.calculation;
+
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.BudgetDay;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BudgetBalanceCurveCacheTest {
+    private static final long MAX_DAYS = 1000;
+
+    private BudgetBalanceCurveCache budgetBalanceCurveCache;
+
+    @BeforeEach
+    public void initialize() {
+        budgetBalanceCurveCache = new BudgetBalanceCurveCache(MAX_DAYS,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    void givenCurve_whenEndLoad_rejectCurveReadBeforeWrite() {
+        BalanceCurve curve = createCurve(1L, 10);
+        long loadToken = budgetBalanceCurveCache.beginLoad(1L);
+
+        budgetBalanceCurveCache.evict(1L);
+        budgetBalanceCurveCache.endLoad(1L, loadToken, curve);
+        assertTrue(budgetBalanceCurveCache.get(1L).isEmpty());
+
+        budgetBalanceCurveCache.endLoad(1L, budgetBalanceCurveCache.beginLoad(1L), curve);
+        assertSame(curve, budgetBalanceCurveCache.get(1L).orElseThrow());
+        assertEquals(0, budgetBalanceCurveCache.pendingLoads());
+    }
+
+    @Test
+    void givenWriteAfterLoadOpened_whenCloseLoad_skipCurve() {
+        BalanceCurveLoad balanceCurveLoad = budgetBalanceCurveCache.openLoad(1L);
+        budgetBalanceCurveCache.evict(1L);
+
+        balanceCurveLoad.loaded(createCurve(1L, 10));
+        balanceCurveLoad.close();
+
+        assertTrue(budgetBalanceCurveCache.get(1L).isEmpty());
+        assertEquals(0, budgetBalanceCurveCache.pendingLoads());
+    }
+
+    @Test
+    void givenUnreadDays_whenCloseLoad_dropGuard() {
+        BalanceCurveLoad balanceCurveLoad = budgetBalanceCurveCache.openLoad(1L);
+        assertEquals(1, budgetBalanceCurveCache.pendingLoads());
+
+        balanceCurveLoad.close();
+
+        assertTrue(budgetBalanceCurveCache.get(1L).isEmpty());
+        assertEquals(0, budgetBalanceCurveCache.pendingLoads());
+    }
+
+    @Test
+    void givenOverlappingLoads_whenEndLoad_keepGuardUntilLastLoadEnds() {
+        long firstLoadToken = budgetBalanceCurveCache.beginLoad(1L);
+        long secondLoadToken = budgetBalanceCurveCache.beginLoad(1L);
+        budgetBalanceCurveCache.evict(1L);
+
+        budgetBalanceCurveCache.endLoad(1L, firstLoadToken, null);
+        assertEquals(1, budgetBalanceCurveCache.pendingLoads());
+
+        budgetBalanceCurveCache.endLoad(1L, secondLoadToken, createCurve(1L, 10));
+        assertTrue(budgetBalanceCurveCache.get(1L).isEmpty());
+        assertEquals(0, budgetBalanceCurveCache.pendingLoads());
+    }
+
+    @Test
+    void givenWritesWithoutLoads_whenEvict_keepNoGuardState() {
+        for(long budgetId = 1; budgetId <= 50; budgetId++) {
+            budgetBalanceCurveCache.put(budgetId, createCurve(budgetId, 10));
+            budgetBalanceCurveCache.evict(budgetId);
+        }
+
+        assertEquals(0, budgetBalanceCurveCache.pendingLoads());
+    }
+
+    @Test
+    void givenCurve_whenPut_replaceCurveAndRejectEarlierReads() {
+        long loadToken = budgetBalanceCurveCache.beginLoad(1L);
+        BalanceCurve calculated = createCurve(1L, 10);
+
+        budgetBalanceCurveCache.put(1L, calculated);
+        budgetBalanceCurveCache.endLoad(1L, loadToken, createCurve(1L, 10));
+
+        assertSame(calculated, budgetBalanceCurveCache.get(1L).orElseThrow());
+    }
+
+    @Test
+    void givenHotSmallCurves_whenPutHugeCurve_keepSmallCurves() {
+        for(long budgetId = 1; budgetId <= 50; budgetId++)
+            budgetBalanceCurveCache.put(budgetId, createCurve(budgetId, 10));
+        for(int i = 0; i < 5; i++)
+            for(long budgetId = 1; budgetId <= 50; budgetId++)
+                budgetBalanceCurveCache.get(budgetId);
+
+        budgetBalanceCurveCache.put(100L, createCurve(100L, (int) MAX_DAYS + 1));
+
+        assertTrue(budgetBalanceCurveCache.get(100L).isEmpty());
+        for(long budgetId = 1; budgetId <= 50; budgetId++)
+            assertTrue(budgetBalanceCurveCache.get(budgetId).isPresent());
+    }
+
+    @Test
+    void givenBudgetDays_whenCreateCurve_rebuildEqualBudgetDays() {
+        Budget budget = createBudget(1L, 3);
+        List<BudgetDay> budgetDays = createBudgetDays(budget, 3);
+        budgetDays.get(1).setDescription("Salary day");
+
+        BalanceCurve curve = BalanceCurve.of(budget, budgetDays).orElseThrow();
+
+        assertEquals(budgetDays, curve.budgetDays(budget).toList());
+        assertTrue(curve.matches(budget));
+        assertTrue(BalanceCurve.of(budget, budgetDays.subList(0, 2)).isEmpty());
+    }
+
+    private BalanceCurve createCurve(Long budgetId, int days) {
+        Budget budget = createBudget(budgetId, days);
+        return BalanceCurve.of(budget, createBudgetDays(budget, days)).orElseThrow();
+    }
+
+    private Budget createBudget(Long budgetId, int days) {
+        return Budget.builder()
+                .id(budgetId)
+                .amount(new BigDecimal(100))
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 1).plusDays(days - 1))
+                .build();
+    }
+
+    private List<BudgetDay> createBudgetDays(Budget budget, int days) {
+        List<BudgetDay> budgetDays = new ArrayList<>();
+        for(int i = 0; i < days; i++) {
+            LocalDate dayDate = budget.getStartDate().plusDays(i);
+            budgetDays.add(BudgetDay.builder()
+                    .id((long) i + 1)
+                    .budget(budget)
+                    .dayDate(dayDate)
+                    .amount(new BigDecimal("100.00").subtract(BigDecimal.valueOf(i)))
+                    .description(BudgetDay.getDefaultDescription(dayDate))
+                    .build());
+        }
+        return budgetDays;
+    }
+}
@@ -0,0 +1,180 @@
+package com.aldegwin.budgetplanner.util.calculation;
+
+import com.aldegwin.budgetplanner.exception.IncorrectDateException;
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.Expense;
+import com.aldegwin.budgetplanner.model.Income;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+import com.aldegwin.budgetplanner.model.constant.IncomeType;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BudgetBalanceIndexTest {
+    private static final long MAX_DAYS = 15;
+
+    private BudgetBalanceIndex budgetBalanceIndex;
+    private Budget budget;
+
+    @BeforeEach
+    public void initialize() {
+        budgetBalanceIndex = new BudgetBalanceIndex(MAX_DAYS,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
+        budget = Budget.builder()
+                .id(1L)
+                .name("budget")
+                .amount(new BigDecimal(100))
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 10))
+                .budgetDays(Collections.emptyList())
+                .build();
+
+        budget.setIncomes(List.of(
+                Income.builder()
+                        .id(1L)
+                        .amount(new BigDecimal("40.50"))
+                        .incomeType(IncomeType.SALARY)
+                        .incomeDate(LocalDate.of(2024, 1, 3))
+                        .build(),
+                Income.builder()
+                        .id(2L)
+                        .amount(new BigDecimal(500))
+                        .incomeType(IncomeType.BONUS)
+                        .incomeDate(LocalDate.of(2023, 12, 31))
+                        .build()));
+
+        budget.setExpenses(List.of(
+                Expense.builder()
+                        .id(1L)
+                        .amount(new BigDecimal("15.25"))
+                        .expenseType(ExpenseType.GROCERIES)
+                        .expenseDate(LocalDate.of(2024, 1, 5))
+                        .build()));
+    }
+
+    @Test
+    void givenSeededBudget_whenBalanceOn_returnBalance() {
+        budgetBalanceIndex.seed(budget);
+
+        assertEquals(Optional.of(new BigDecimal("100.00")),
+                budgetBalanceIndex.balanceOn(1L, LocalDate.of(2024, 1, 2)));
+        assertEquals(Optional.of(new BigDecimal("140.50")),
+                budgetBalanceIndex.balanceOn(1L, LocalDate.of(2024, 1, 4)));
+        assertEquals(Optional.of(new BigDecimal("125.25")),
+                budgetBalanceIndex.balanceOn(1L, LocalDate.of(2024, 1, 10)));
+    }
+
+    @Test
+    void givenSeededBudget_whenAdd_returnShiftedBalance() {
+        budgetBalanceIndex.seed(budget);
+
+        budgetBalanceIndex.add(1L, LocalDate.of(2024, 1, 4), new BigDecimal(-20));
+
+        assertEquals(Optional.of(new BigDecimal("140.50")),
+                budgetBalanceIndex.balanceOn(1L, LocalDate.of(2024, 1, 3)));
+        assertEquals(Optional.of(new BigDecimal("120.50")),
+                budgetBalanceIndex.balanceOn(1L, LocalDate.of(2024, 1, 4)));
+    }
+
+    @Test
+    void givenSeededBudget_whenAdd_evictEntry_dateOutOfIndexedPeriod() {
+        budgetBalanceIndex.seed(budget);
+
+        budgetBalanceIndex.add(1L, LocalDate.of(2024, 1, 11), new BigDecimal(-20));
+
+        assertEquals(Optional.empty(), budgetBalanceIndex.balanceOn(1L, LocalDate.of(2024, 1, 4)));
+    }
+
+    @Test
+    void givenNotSeededBudget_whenBalanceOn_returnEmpty() {
+        assertEquals(Optional.empty(), budgetBalanceIndex.balanceOn(1L, LocalDate.of(2024, 1, 4)));
+    }
+
+    @Test
+    void givenEvictedBudget_whenBalanceOn_returnEmpty() {
+        budgetBalanceIndex.seed(budget);
+        budgetBalanceIndex.evict(1L);
+
+        assertEquals(Optional.empty(), budgetBalanceIndex.balanceOn(1L, LocalDate.of(2024, 1, 4)));
+    }
+
+    @Test
+    void givenModifiedBudget_whenEndLoad_skipSeed() {
+        long loadToken = budgetBalanceIndex.beginLoad(1L);
+        budgetBalanceIndex.add(1L, LocalDate.of(2024, 1, 4), new BigDecimal(-20));
+
+        budgetBalanceIndex.endLoad(1L, loadToken, budget);
+
+        assertEquals(Optional.empty(), budgetBalanceIndex.balanceOn(1L, LocalDate.of(2024, 1, 4)));
+        assertEquals(0, budgetBalanceIndex.pendingLoads());
+    }
+
+    @Test
+    void givenUnmodifiedBudget_whenEndLoad_seed() {
+        budgetBalanceIndex.endLoad(1L, budgetBalanceIndex.beginLoad(1L), budget);
+
+        assertEquals(Optional.of(new BigDecimal("140.50")),
+                budgetBalanceIndex.balanceOn(1L, LocalDate.of(2024, 1, 4)));
+        assertEquals(0, budgetBalanceIndex.pendingLoads());
+    }
+
+    @Test
+    void givenFailingLoader_whenBalanceOnWithLoader_dropLoad() {
+        assertThrows(IllegalStateException.class,
+                () -> budgetBalanceIndex.balanceOn(1L, LocalDate.of(2024, 1, 4), () -> {
+                    throw new IllegalStateException();
+                }));
+
+        assertEquals(0, budgetBalanceIndex.pendingLoads());
+    }
+
+    @Test
+    void givenBudgetLongerThanMaxDays_whenSeed_returnEmpty() {
+        budget.setEndDate(budget.getStartDate().plusDays(MAX_DAYS));
+
+        budgetBalanceIndex.seed(budget);
+
+        assertEquals(Optional.empty(), budgetBalanceIndex.balanceOn(1L, LocalDate.of(2024, 1, 4)));
+    }
+
+    @Test
+    void givenNotSeededBudget_whenBalanceOnWithLoader_seedAndReturnBalance() {
+        BigDecimal result = budgetBalanceIndex.balanceOn(1L, LocalDate.of(2024, 1, 4), () -> budget);
+
+        assertEquals(new BigDecimal("140.50"), result);
+        assertEquals(Optional.of(new BigDecimal("125.25")),
+                budgetBalanceIndex.balanceOn(1L, LocalDate.of(2024, 1, 5)));
+    }
+
+    @Test
+    void givenConcurrentlyModifiedBudget_whenBalanceOnWithLoader_returnBalanceWithoutSeed() {
+        BigDecimal result = budgetBalanceIndex.balanceOn(1L, LocalDate.of(2024, 1, 4), () -> {
+            budgetBalanceIndex.add(1L, LocalDate.of(2024, 1, 1), BigDecimal.ONE);
+            return budget;
+        });
+
+        assertEquals(new BigDecimal("140.50"), result);
+        assertEquals(Optional.empty(), budgetBalanceIndex.balanceOn(1L, LocalDate.of(2024, 1, 5)));
+    }
+
+    @Test
+    void givenSeededBudget_whenBalanceOn_throwsIncorrectDate_dateOutOfBudgetPeriod() {
+        budgetBalanceIndex.seed(budget);
+
+        IncorrectDateException e = assertThrows(IncorrectDateException.class,
+                () -> budgetBalanceIndex.balanceOn(1L, LocalDate.of(2024, 1, 11)));
+        String expectedExceptionMessage = "The entered date is not included in the budget deadline";
+        assertEquals(expectedExceptionMessage, e.getMessage());
+    }
+}
@@ -0,0 +1,52 @@
+package com.aldegwin.budgetplanner.util.calculation;
+
+import com.aldegwin.budgetplanner.model.Budget;
+import com.aldegwin.budgetplanner.model.Expense;
+import com.aldegwin.budgetplanner.model.Income;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BudgetBalanceKernelTest {
+    private Budget budget;
+
+    @BeforeEach
+    public void initialize() {
+        budget = Budget.builder()
+                .id(1L)
+                .amount(new BigDecimal(100))
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 4))
+                .incomes(List.of(
+                        Income.builder().amount(new BigDecimal("40.5")).incomeDate(LocalDate.of(2024, 1, 2)).build(),
+                        Income.builder().amount(new BigDecimal(500)).incomeDate(LocalDate.of(2023, 12, 31)).build()))
+                .expenses(List.of(
+                        Expense.builder().amount(new BigDecimal("15.25")).expenseDate(LocalDate.of(2024, 1, 2)).build(),
+                        Expense.builder().amount(new BigDecimal(30)).expenseDate(LocalDate.of(2024, 1, 4)).build(),
+                        Expense.builder().amount(new BigDecimal(85)).expenseDate(LocalDate.of(2024, 1, 5)).build()))
+                .build();
+    }
+
+    @Test
+    void givenBudget_whenScaleOf_returnMaxAmountScale() {
+        assertEquals(2, BudgetBalanceKernel.scaleOf(budget));
+    }
+
+    @Test
+    void givenBudget_whenDailyDeltas_returnDeltas_ignoringDatesOutOfBudgetPeriod() {
+        assertArrayEquals(new long[] {0, 2525, 0, -3000}, BudgetBalanceKernel.dailyDeltas(budget, 2));
+    }
+
+    @Test
+    void givenBudget_whenDailyBalances_returnRunningBalances() {
+        long[] balances = BudgetBalanceKernel.dailyBalances(budget, 2);
+
+        assertArrayEquals(new long[] {10000, 12525, 12525, 9525}, balances);
+        assertEquals(new BigDecimal("95.25"), BudgetBalanceKernel.fromMinorUnits(balances[3], 2));
+    }
+}
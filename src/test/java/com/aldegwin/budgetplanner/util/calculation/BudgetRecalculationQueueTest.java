@@ -0,0 +1,153 @@
+package com.aldegwin.budgetplanner.util.calculation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BudgetRecalculationQueueTest {
+    private BudgetRecalculationQueue budgetRecalculationQueue;
+
+    @BeforeEach
+    public void initialize() {
+        budgetRecalculationQueue = new BudgetRecalculationQueue(Duration.ofMillis(50), 2);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        budgetRecalculationQueue.shutdown();
+    }
+
+    @Test
+    void givenManyRequests_whenEnqueue_runOneRecalculation() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(1);
+
+        for (int i = 0; i < 10; i++)
+            budgetRecalculationQueue.enqueue(1L, () -> {
+                runs.incrementAndGet();
+                finished.countDown();
+            });
+
+        assertTrue(budgetRecalculationQueue.isPending(1L));
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        awaitNotPending(1L);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void givenRequestDuringRecalculation_whenEnqueue_runAgainAfterRecalculation() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Runnable recalculation = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            runs.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+        };
+
+        budgetRecalculationQueue.enqueue(1L, recalculation);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        budgetRecalculationQueue.enqueue(1L, recalculation);
+        budgetRecalculationQueue.enqueue(1L, recalculation);
+        release.countDown();
+
+        awaitNotPending(1L);
+        assertEquals(2, runs.get());
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    void givenFailingRecalculation_whenEnqueue_clearPendingState() throws InterruptedException {
+        budgetRecalculationQueue.enqueue(1L, () -> {
+            throw new IllegalStateException("failed");
+        });
+
+        awaitNotPending(1L);
+        assertFalse(budgetRecalculationQueue.isPending(1L));
+    }
+
+    @Test
+    void givenManyShifts_whenEnqueueShift_runOneShiftWithSummedDeltas() throws InterruptedException {
+        List<NavigableMap<LocalDate, BigDecimal>> shifts = new CopyOnWriteArrayList<>();
+        LocalDate date = LocalDate.of(2024, 1, 2);
+
+        budgetRecalculationQueue.enqueueShift(1L, date, new BigDecimal(-40), shifts::add);
+        budgetRecalculationQueue.enqueueShift(1L, date, new BigDecimal(15), shifts::add);
+        budgetRecalculationQueue.enqueueShift(1L, date.plusDays(1), BigDecimal.TEN, shifts::add);
+
+        awaitNotPending(1L);
+        assertEquals(List.of(new TreeMap<>(Map.of(date, new BigDecimal(-25), date.plusDays(1), BigDecimal.TEN))),
+                shifts);
+    }
+
+    @Test
+    void givenShiftsAndRecalculation_whenEnqueue_runOnlyRecalculation() throws InterruptedException {
+        List<NavigableMap<LocalDate, BigDecimal>> shifts = new CopyOnWriteArrayList<>();
+        AtomicInteger runs = new AtomicInteger();
+
+        budgetRecalculationQueue.enqueueShift(1L, LocalDate.of(2024, 1, 2), BigDecimal.TEN, shifts::add);
+        budgetRecalculationQueue.enqueue(1L, runs::incrementAndGet);
+        budgetRecalculationQueue.enqueueShift(1L, LocalDate.of(2024, 1, 3), BigDecimal.TEN, shifts::add);
+
+        awaitNotPending(1L);
+        assertEquals(1, runs.get());
+        assertTrue(shifts.isEmpty());
+    }
+
+    @Test
+    void givenShiftDuringRecalculation_whenEnqueueShift_runRecalculationAgain() throws InterruptedException {
+        List<NavigableMap<LocalDate, BigDecimal>> shifts = new CopyOnWriteArrayList<>();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        budgetRecalculationQueue.enqueue(1L, () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        budgetRecalculationQueue.enqueueShift(1L, LocalDate.of(2024, 1, 2), BigDecimal.TEN, shifts::add);
+        release.countDown();
+
+        awaitNotPending(1L);
+        assertEquals(2, runs.get());
+        assertTrue(shifts.isEmpty());
+    }
+
+    private void awaitNotPending(Long budgetId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (budgetRecalculationQueue.isPending(budgetId) && System.nanoTime() < deadline)
+            Thread.sleep(10);
+        assertFalse(budgetRecalculationQueue.isPending(budgetId));
+    }
+}
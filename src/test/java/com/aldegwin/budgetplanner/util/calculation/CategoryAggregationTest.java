@@ -0,0 +1,69 @@
+package com.aldegwin.budgetplanner.util.calculation;
+
+import com.aldegwin.budgetplanner.communication.dto.CategoryAggregateDTO;
+import com.aldegwin.budgetplanner.model.constant.AggregationPeriod;
+import com.aldegwin.budgetplanner.model.constant.ExpenseType;
+import com.aldegwin.budgetplanner.repository.projection.CategoryTotal;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CategoryAggregationTest {
+    private static final LocalDate FROM_DATE = LocalDate.of(2024, 1, 3);
+    private static final LocalDate TO_DATE = LocalDate.of(2024, 2, 20);
+
+    private final List<CategoryTotal<ExpenseType>> totals = List.of(
+            new CategoryTotal<>(ExpenseType.GROCERIES, LocalDate.of(2024, 1, 3), new BigDecimal(10)),
+            new CategoryTotal<>(ExpenseType.RENT, LocalDate.of(2024, 1, 3), new BigDecimal(500)),
+            new CategoryTotal<>(ExpenseType.GROCERIES, LocalDate.of(2024, 1, 7), new BigDecimal(15)),
+            new CategoryTotal<>(ExpenseType.GROCERIES, LocalDate.of(2024, 1, 8), new BigDecimal(20)),
+            new CategoryTotal<>(ExpenseType.RENT, LocalDate.of(2024, 2, 3), new BigDecimal(500)));
+
+    @Test
+    void givenDailyTotals_whenAggregateByWeek_returnClampedWeeks() {
+        List<CategoryAggregateDTO<ExpenseType>> result = CategoryAggregation.aggregate(totals, ExpenseType.class,
+                AggregationPeriod.WEEK, FROM_DATE, TO_DATE);
+
+        assertEquals(3, result.size());
+        assertEquals(LocalDate.of(2024, 1, 3), result.get(0).getPeriodStart());
+        assertEquals(LocalDate.of(2024, 1, 7), result.get(0).getPeriodEnd());
+        assertEquals(Map.of(ExpenseType.GROCERIES, new BigDecimal(25), ExpenseType.RENT, new BigDecimal(500)),
+                result.get(0).getTotals());
+        assertEquals(new BigDecimal(525), result.get(0).getTotal());
+        assertEquals(LocalDate.of(2024, 1, 8), result.get(1).getPeriodStart());
+        assertEquals(new BigDecimal(20), result.get(1).getTotal());
+        assertEquals(LocalDate.of(2024, 1, 29), result.get(2).getPeriodStart());
+        assertInstanceOf(EnumMap.class, result.get(2).getTotals());
+    }
+
+    @Test
+    void givenDailyTotals_whenAggregateByMonth_returnMonths() {
+        List<CategoryAggregateDTO<ExpenseType>> result = CategoryAggregation.aggregate(totals, ExpenseType.class,
+                AggregationPeriod.MONTH, FROM_DATE, TO_DATE);
+
+        assertEquals(2, result.size());
+        assertEquals(LocalDate.of(2024, 1, 31), result.get(0).getPeriodEnd());
+        assertEquals(new BigDecimal(545), result.get(0).getTotal());
+        assertEquals(LocalDate.of(2024, 2, 1), result.get(1).getPeriodStart());
+        assertEquals(TO_DATE, result.get(1).getPeriodEnd());
+        assertEquals(new BigDecimal(500), result.get(1).getTotal());
+    }
+
+    @Test
+    void givenNoTotals_whenAggregateByBudget_returnSingleEmptyPeriod() {
+        List<CategoryAggregateDTO<ExpenseType>> result = CategoryAggregation.aggregate(List.of(), ExpenseType.class,
+                AggregationPeriod.BUDGET, FROM_DATE, TO_DATE);
+
+        assertEquals(1, result.size());
+        assertEquals(FROM_DATE, result.get(0).getPeriodStart());
+        assertEquals(TO_DATE, result.get(0).getPeriodEnd());
+        assertTrue(result.get(0).getTotals().isEmpty());
+        assertEquals(BigDecimal.ZERO, result.get(0).getTotal());
+    }
+}
@@ -0,0 +1,33 @@
+package com.aldegwin.budgetplanner.util.calculation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FenwickTreeTest {
+    @Test
+    void givenValues_whenPrefixSum_returnRunningSums() {
+        long[] values = {5, -3, 0, 7, 2, -10, 4};
+        FenwickTree tree = new FenwickTree(values);
+
+        long expected = 0;
+        for (int i = 0; i < values.length; i++) {
+            expected += values[i];
+            assertEquals(expected, tree.prefixSum(i));
+        }
+        assertEquals(values.length, tree.size());
+    }
+
+    @Test
+    void givenValues_whenAdd_returnUpdatedPrefixSums() {
+        FenwickTree tree = new FenwickTree(new long[]{1, 1, 1, 1, 1});
+
+        tree.add(2, 10);
+        tree.add(4, -3);
+
+        assertEquals(2, tree.prefixSum(1));
+        assertEquals(13, tree.prefixSum(2));
+        assertEquals(14, tree.prefixSum(3));
+        assertEquals(12, tree.prefixSum(4));
+    }
+}
@@ -0,0 +1,39 @@
+package com.aldegwin.budgetplanner.util.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+    @Test
+    void givenAddedKeys_whenMightContain_returnTrue() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++)
+            filter.add("user" + i);
+
+        for (int i = 0; i < 1000; i++)
+            assertTrue(filter.mightContain("user" + i));
+    }
+
+    @Test
+    void givenFullFilter_whenMightContainAbsentKeys_returnFalsePositivesNearConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++)
+            filter.add("taken" + i);
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++)
+            if (filter.mightContain("free" + i))
+                falsePositives++;
+
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+        assertEquals(7, filter.getHashCount());
+    }
+
+    @Test
+    void givenInvalidArguments_whenCreate_throwsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+}
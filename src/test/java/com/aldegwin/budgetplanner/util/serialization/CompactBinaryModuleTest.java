@@ -0,0 +1,99 @@
+package com.aldegwin.budgetplanner.util.serialization;
+
+import com.aldegwin.budgetplanner.communication.dto.BudgetDTO;
+import com.aldegwin.budgetplanner.communication.dto.BudgetDayDTO;
+import com.aldegwin.budgetplanner.communication.dto.ExpenseDTO;
+import com.aldegwin.budgetplanner.config.BinaryMessageConvertersConfiguration;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactBinaryModuleTest {
+    private ObjectMapper cborMapper;
+    private ObjectMapper smileMapper;
+    private BudgetDTO budgetDTO;
+
+    @BeforeEach
+    public void initialize() {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        converters.add(new MappingJackson2CborHttpMessageConverter());
+        new BinaryMessageConvertersConfiguration(new Jackson2ObjectMapperBuilder()
+                .serializationInclusion(JsonInclude.Include.NON_NULL))
+                .extendMessageConverters(converters);
+
+        assertEquals(2, converters.size());
+        assertInstanceOf(MappingJackson2CborHttpMessageConverter.class, converters.get(0));
+        assertInstanceOf(MappingJackson2SmileHttpMessageConverter.class, converters.get(1));
+        cborMapper = ((AbstractJackson2HttpMessageConverter) converters.get(0)).getObjectMapper();
+        smileMapper = ((AbstractJackson2HttpMessageConverter) converters.get(1)).getObjectMapper();
+
+        budgetDTO = BudgetDTO.builder()
+                .id(1L)
+                .name("budget")
+                .amount(new BigDecimal("100.50"))
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 31))
+                .expenses(List.of(new ExpenseDTO(2L, new BigDecimal("30.25"), LocalDate.of(2024, 1, 2),
+                        "expense", "TRAVEL")))
+                .budgetDays(List.of(new BudgetDayDTO(3L, LocalDate.of(2024, 1, 1), new BigDecimal("100.50"),
+                        "Balance on 2024-01-01")))
+                .build();
+    }
+
+    @Test
+    void givenBudgetDto_whenWriteCbor_writeEpochDaysAndScaledLongs() throws Exception {
+        JsonNode result = cborMapper.readTree(cborMapper.writeValueAsBytes(budgetDTO));
+
+        assertTrue(result.get("startDate").isIntegralNumber());
+        assertEquals(LocalDate.of(2024, 1, 1).toEpochDay(), result.get("startDate").asLong());
+        assertTrue(result.get("amount").isIntegralNumber());
+        assertEquals(10050, result.get("amount").asLong());
+        assertEquals(3025, result.get("expenses").get(0).get("amount").asLong());
+    }
+
+    @Test
+    void givenConfiguredBuilder_whenWriteCbor_applyBuilderSettings() throws Exception {
+        JsonNode result = cborMapper.readTree(cborMapper.writeValueAsBytes(budgetDTO));
+
+        assertFalse(result.has("description"));
+    }
+
+    @Test
+    void givenAmountWithMoreDecimalPlaces_whenWriteCbor_throwsJsonMapping() {
+        budgetDTO.setAmount(new BigDecimal("100.505"));
+
+        JsonMappingException e = assertThrows(JsonMappingException.class,
+                () -> cborMapper.writeValueAsBytes(budgetDTO));
+        assertTrue(e.getMessage().startsWith("Amount 100.505 has more than 2 decimal places"));
+    }
+
+    @Test
+    void givenAmountOverflowingLong_whenWriteSmile_throwsJsonMapping() {
+        budgetDTO.setAmount(BigDecimal.valueOf(Long.MAX_VALUE));
+
+        JsonMappingException e = assertThrows(JsonMappingException.class,
+                () -> smileMapper.writeValueAsBytes(budgetDTO));
+        assertTrue(e.getMessage().startsWith("Amount " + Long.MAX_VALUE + " does not fit a long in minor units"));
+    }
+
+    @Test
+    void givenBudgetDto_whenRoundTripCborAndSmile_returnEqualBudgetDto() throws Exception {
+        assertEquals(budgetDTO, cborMapper.readValue(cborMapper.writeValueAsBytes(budgetDTO), BudgetDTO.class));
+        assertEquals(budgetDTO, smileMapper.readValue(smileMapper.writeValueAsBytes(budgetDTO), BudgetDTO.class));
+    }
+}
@@ -0,0 +1,46 @@
+package com.aldegwin.budgetplanner.util.serialization;
+
+import com.aldegwin.budgetplanner.communication.dto.TransactionBatchItemDTO;
+import com.aldegwin.budgetplanner.communication.dto.TransactionBatchResultDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvHttpMessageConverterTest {
+    private final CsvHttpMessageConverter converter = new CsvHttpMessageConverter();
+
+    @Test
+    void givenCsvWithHeader_whenRead_returnItemsMatchedByColumnName() throws IOException {
+        String csv = """
+                date,kind,amount,type,description
+                2024-01-01,INCOME,1000.00,SALARY,January salary
+                2024-01-03, EXPENSE ,12.50,GROCERIES,"Milk, bread"
+
+                """;
+        MockHttpInputMessage inputMessage = new MockHttpInputMessage(csv.getBytes(StandardCharsets.UTF_8));
+        inputMessage.getHeaders().setContentType(CsvHttpMessageConverter.TEXT_CSV);
+
+        Object result = converter.read(new ParameterizedTypeReference<List<TransactionBatchItemDTO>>() {}.getType(),
+                null, inputMessage);
+
+        assertEquals(List.of(
+                new TransactionBatchItemDTO("INCOME", new BigDecimal("1000.00"), LocalDate.of(2024, 1, 1),
+                        "January salary", "SALARY"),
+                new TransactionBatchItemDTO("EXPENSE", new BigDecimal("12.50"), LocalDate.of(2024, 1, 3),
+                        "Milk, bread", "GROCERIES")), result);
+    }
+
+    @Test
+    void givenCsvMediaType_whenCanReadAndCanWrite_onlyRead() {
+        assertTrue(converter.canRead(TransactionBatchItemDTO.class, CsvHttpMessageConverter.TEXT_CSV));
+        assertFalse(converter.canWrite(TransactionBatchResultDTO.class, CsvHttpMessageConverter.TEXT_CSV));
+    }
+}